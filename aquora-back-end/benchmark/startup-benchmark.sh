@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Mede o tempo de inicialização (até a porta responder) e a latência da primeira
+# requisição em GET /api/contacts para cada modo de execução disponível.
+#
+# Uso:
+#   mvn clean package -DskipTests && cp target/contacts-0.0.1-SNAPSHOT.jar target/default.jar
+#   mvn clean package -Paot-cds -DskipTests     (gera jar + lib/ + application.jsa)
+#   mvn -Pnative native:compile -DskipTests     (opcional, requer GraalVM)
+#   ./benchmark/startup-benchmark.sh [repetições]
+#
+# O banco é o configurado em SPRING_DATASOURCE_URL (padrão: Postgres local).
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+TARGET_DIR="$(cd "$(dirname "$0")/../target" && pwd)"
+URL="http://localhost:${PORT}/api/contacts?page=0&size=10"
+
+now_ms() {
+  date +%s%3N
+}
+
+wait_for_port() {
+  until (echo > "/dev/tcp/127.0.0.1/${PORT}") 2>/dev/null; do
+    sleep 0.01
+  done
+}
+
+measure() {
+  local label="$1"
+  shift
+  local total_startup=0
+  local total_first_request=0
+
+  for ((run = 1; run <= RUNS; run++)); do
+    local start
+    start=$(now_ms)
+    "$@" --server.port="${PORT}" > /dev/null 2>&1 &
+    local pid=$!
+
+    wait_for_port
+    local startup=$(( $(now_ms) - start ))
+
+    local first_request
+    first_request=$(curl -s -o /dev/null -w '%{time_total}' "${URL}")
+    first_request=$(awk -v t="${first_request}" 'BEGIN { printf "%d", t * 1000 }')
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+
+    total_startup=$(( total_startup + startup ))
+    total_first_request=$(( total_first_request + first_request ))
+  done
+
+  printf '%-10s startup médio: %6d ms | primeira requisição média: %6d ms\n' \
+    "${label}" $(( total_startup / RUNS )) $(( total_first_request / RUNS ))
+}
+
+if [[ -f "${TARGET_DIR}/default.jar" ]]; then
+  measure "jar" java -jar "${TARGET_DIR}/default.jar" --spring.profiles.active=prod
+fi
+
+if [[ -f "${TARGET_DIR}/application.jsa" ]]; then
+  measure "aot-cds" java -XX:SharedArchiveFile="${TARGET_DIR}/application.jsa" -Xlog:cds=off \
+    -Dspring.aot.enabled=true -jar "${TARGET_DIR}/contacts-0.0.1-SNAPSHOT.jar" --spring.profiles.active=prod
+fi
+
+if [[ -x "${TARGET_DIR}/contacts" ]]; then
+  measure "native" "${TARGET_DIR}/contacts" --spring.profiles.active=prod
+fi
@@ -0,0 +1,210 @@
+package com.aquora.contacts.cache;
+
+import com.aquora.contacts.event.ChangeType;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.event.RemoteChangeListener;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Propaga as alterações de contato confirmadas nesta instância para os caches locais das demais.
+ * Cada mensagem leva a origem, a versão (sequência da origem) e as alterações do lote:
+ * {@code origem:versão:id/agenda/operação/campo+campo,...}, ou {@code *} no lugar delas para limpar
+ * tudo. Um salto de versão indica mensagem perdida e, assim como a reconexão da escuta, limpa os
+ * caches por inteiro. Além dos caches, as alterações remotas vão para os {@link RemoteChangeListener}.
+ */
+@Slf4j
+public class ContactInvalidationBus {
+
+    static final String FLUSH_ALL = "*";
+
+    private static final String SEPARATOR = ":";
+    private static final String FIELD_SEPARATOR = "/";
+    // O payload do NOTIFY é limitado a 8000 bytes
+    private static final int MAX_CHANGES_LENGTH = 7_900;
+
+    private final InvalidationTransport transport;
+    private final List<InvalidatableCache> caches;
+    private final List<RemoteChangeListener> listeners;
+    private final InvalidationProperties properties;
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Long> lastVersionByOrigin = new ConcurrentHashMap<>();
+    private final BlockingQueue<ContactChangedEvent> pending;
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final Thread publisher;
+    private volatile boolean running;
+
+    public ContactInvalidationBus(InvalidationTransport transport, List<InvalidatableCache> caches,
+                                  List<RemoteChangeListener> listeners, InvalidationProperties properties) {
+        this.transport = transport;
+        this.caches = List.copyOf(caches);
+        this.listeners = List.copyOf(listeners);
+        this.properties = properties;
+        this.pending = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.publisher = new Thread(this::runPublisher, "contact-invalidation");
+        this.publisher.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        transport.start(this::onMessage, this::onReconnect);
+        publisher.start();
+        log.info("Invalidação entre instâncias ativa (origem {})", origin);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContactChanged(ContactChangedEvent event) {
+        if (!pending.offer(event)) {
+            overflowed.set(true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        transport.stop();
+        publisher.interrupt();
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    void onMessage(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            log.warn("Mensagem de invalidação inválida: {}", payload);
+            return;
+        }
+        String messageOrigin = parts[0];
+        if (origin.equals(messageOrigin)) {
+            return;
+        }
+
+        long messageVersion = Long.parseLong(parts[1]);
+        Long previous = lastVersionByOrigin.put(messageOrigin, messageVersion);
+        if (previous != null && messageVersion != previous + 1) {
+            log.warn("Invalidações perdidas da instância {} (versão {} após {}), limpando os caches",
+                    messageOrigin, messageVersion, previous);
+            invalidateAll();
+        } else if (FLUSH_ALL.equals(parts[2])) {
+            invalidateAll();
+        } else {
+            List<ContactChangedEvent> changes;
+            try {
+                changes = Arrays.stream(parts[2].split(",")).map(this::parseChange).toList();
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                // Ex.: lista só de ids, publicada por uma instância de versão anterior
+                log.warn("Alterações ilegíveis da instância {}, limpando os caches: {}", messageOrigin, parts[2]);
+                invalidateAll();
+                return;
+            }
+            List<Long> contactIds = changes.stream().map(ContactChangedEvent::contactId).distinct().toList();
+            log.debug("Invalidando {} contatos alterados na instância {}", contactIds.size(), messageOrigin);
+            caches.forEach(cache -> cache.invalidate(contactIds));
+            listeners.forEach(listener -> listener.onRemoteChanges(changes));
+        }
+    }
+
+    void onReconnect() {
+        // As versões recebidas durante a queda são desconhecidas: recomeça a contagem por origem
+        lastVersionByOrigin.clear();
+        invalidateAll();
+    }
+
+    String origin() {
+        return origin;
+    }
+
+    private void invalidateAll() {
+        caches.forEach(InvalidatableCache::invalidateAll);
+        listeners.forEach(RemoteChangeListener::onRemoteChangesLost);
+    }
+
+    private ContactChangedEvent parseChange(String entry) {
+        String[] fields = entry.split(FIELD_SEPARATOR, 4);
+        Set<String> changedFields = fields[3].isEmpty() ? Set.of() : Set.of(fields[3].split("\\+"));
+        return new ContactChangedEvent(fields[1], Long.valueOf(fields[0]), ChangeType.valueOf(fields[2]),
+                changedFields, null, null);
+    }
+
+    private String formatChange(ContactChangedEvent change) {
+        return change.contactId() + FIELD_SEPARATOR + change.tenantId() + FIELD_SEPARATOR + change.type().name()
+                + FIELD_SEPARATOR + String.join("+", change.changedFields());
+    }
+
+    private void runPublisher() {
+        List<ContactChangedEvent> batch = new ArrayList<>();
+        try {
+            while (running) {
+                batch.add(pending.take());
+                collectBatch(batch);
+                publish(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            log.debug("Encerrando a publicação de invalidações");
+        }
+    }
+
+    private void collectBatch(List<ContactChangedEvent> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+        while (true) {
+            pending.drainTo(batch);
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            ContactChangedEvent next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void publish(List<ContactChangedEvent> changes) {
+        if (overflowed.getAndSet(false)) {
+            send(FLUSH_ALL);
+            return;
+        }
+        StringBuilder entries = new StringBuilder();
+        for (ContactChangedEvent change : changes) {
+            String entry = formatChange(change);
+            if (entries.length() > 0 && entries.length() + entry.length() + 1 > MAX_CHANGES_LENGTH) {
+                send(entries.toString());
+                entries.setLength(0);
+            }
+            if (entries.length() > 0) {
+                entries.append(',');
+            }
+            entries.append(entry);
+        }
+        send(entries.toString());
+    }
+
+    // Uma falha de envio deixa um salto de versão, que faz as outras instâncias limparem tudo
+    private void send(String changes) {
+        String payload = origin + SEPARATOR + version.incrementAndGet() + SEPARATOR + changes;
+        try {
+            transport.send(payload);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar invalidação: {}", e.getMessage());
+        }
+    }
+}
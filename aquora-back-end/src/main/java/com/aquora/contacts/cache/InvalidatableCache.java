@@ -0,0 +1,13 @@
+package com.aquora.contacts.cache;
+
+import java.util.Collection;
+
+/**
+ * Cache local que deve ser invalidado quando outra instância altera contatos.
+ */
+public interface InvalidatableCache {
+
+    void invalidate(Collection<Long> contactIds);
+
+    void invalidateAll();
+}
@@ -0,0 +1,28 @@
+package com.aquora.contacts.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.cache-invalidation")
+public class InvalidationProperties {
+
+    private boolean enabled = false;
+
+    // Canal do LISTEN/NOTIFY: identificador simples do Postgres (letras minúsculas, dígitos e _)
+    private String channel = "aquora_contact_changes";
+
+    /**
+     * Tempo que a primeira alteração espera por outras antes de publicar, agrupando rajadas de escrita.
+     */
+    private Duration maxDelay = Duration.ofMillis(20);
+
+    /**
+     * Alterações aguardando publicação; se a fila encher, a próxima mensagem pede limpeza completa.
+     */
+    private int queueCapacity = 4_096;
+
+    private Duration reconnectDelay = Duration.ofSeconds(2);
+}
@@ -0,0 +1,20 @@
+package com.aquora.contacts.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal entre instâncias usado pelo ContactInvalidationBus. Cada mensagem publicada é entregue a
+ * todas as instâncias conectadas, inclusive a que publicou.
+ */
+public interface InvalidationTransport {
+
+    void send(String payload);
+
+    /**
+     * Começa a receber mensagens. {@code onReconnect} é chamado quando a escuta volta depois de uma
+     * queda, período em que mensagens podem ter sido perdidas.
+     */
+    void start(Consumer<String> onMessage, Runnable onReconnect);
+
+    void stop();
+}
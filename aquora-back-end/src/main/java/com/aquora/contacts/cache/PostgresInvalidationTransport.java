@@ -0,0 +1,116 @@
+package com.aquora.contacts.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Transporte sobre LISTEN/NOTIFY do Postgres. O NOTIFY sai por uma conexão qualquer do pool; o LISTEN
+ * fica numa conexão própria, fora do pool, lida por uma thread dedicada que reconecta após falhas.
+ */
+@Slf4j
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationTransport(JdbcTemplate jdbcTemplate, String url, String username, String password,
+                                         String channel, Duration reconnectDelay) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalStateException("Canal de invalidação inválido: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void send(String payload) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+    }
+
+    @Override
+    public void start(Consumer<String> onMessage, Runnable onReconnect) {
+        running = true;
+        listener = new Thread(() -> listen(onMessage, onReconnect), "contact-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen(Consumer<String> onMessage, Runnable onReconnect) {
+        boolean listenedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Só depois do LISTEN: o que foi publicado durante a queda não chega mais
+                if (listenedBefore) {
+                    log.info("Escuta de invalidações restabelecida no canal {}", channel);
+                    onReconnect.run();
+                }
+                listenedBefore = true;
+                receive(connection.unwrap(PGConnection.class), onMessage);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Conexão de escuta de invalidações perdida: {}", e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void receive(PGConnection connection, Consumer<String> onMessage) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                try {
+                    onMessage.accept(notification.getParameter());
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao processar invalidação '{}': {}", notification.getParameter(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
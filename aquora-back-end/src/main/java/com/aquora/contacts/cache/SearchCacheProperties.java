@@ -0,0 +1,17 @@
+package com.aquora.contacts.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.search-cache")
+public class SearchCacheProperties {
+
+    private boolean enabled = true;
+
+    private Duration ttl = Duration.ofSeconds(2);
+
+    private int maxEntries = 1_000;
+}
@@ -0,0 +1,178 @@
+package com.aquora.contacts.cache;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.ContactField;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.exception.DeadlineExceededException;
+import com.aquora.contacts.tenant.TenantContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache curto de páginas de listagem/busca com coalescência: requisições idênticas que chegam
+ * juntas compartilham uma única execução no banco. Toda escrita confirmada incrementa a geração,
+ * o que invalida em bloco tanto as entradas prontas quanto as consultas ainda em andamento.
+ * As entradas são separadas por agenda (tenant).
+ */
+@Component
+@EnableConfigurationProperties(SearchCacheProperties.class)
+public class SearchResultCache implements MeterBinder, InvalidatableCache {
+
+    private final SearchCacheProperties properties;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<SearchKey, CachedPage> entries = new ConcurrentHashMap<>();
+    private final Map<InFlightKey, CompletableFuture<PagedResponse<ContactDTO>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @Autowired
+    public SearchResultCache(SearchCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public PagedResponse<ContactDTO> get(String searchTerm, int page, int size,
+                                         Supplier<PagedResponse<ContactDTO>> loader) {
+        return get(searchTerm, page, size, null, loader);
+    }
+
+    public PagedResponse<ContactDTO> get(String searchTerm, int page, int size, Set<ContactField> fields,
+                                         Supplier<PagedResponse<ContactDTO>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        SearchKey key = new SearchKey(TenantContext.currentTenantId(), searchTerm, page, size, fields);
+        long currentGeneration = generation.get();
+        CachedPage cached = entries.get(key);
+        if (cached != null && cached.isValid(currentGeneration, System.nanoTime())) {
+            hits.increment();
+            return cached.page();
+        }
+
+        InFlightKey inFlightKey = new InFlightKey(key, currentGeneration);
+        CompletableFuture<PagedResponse<ContactDTO>> ownLoad = new CompletableFuture<>();
+        CompletableFuture<PagedResponse<ContactDTO>> runningLoad = inFlight.putIfAbsent(inFlightKey, ownLoad);
+        if (runningLoad != null) {
+            coalesced.increment();
+            return await(runningLoad, loader);
+        }
+
+        misses.increment();
+        try {
+            PagedResponse<ContactDTO> loaded = loader.get();
+            ownLoad.complete(loaded);
+            store(key, loaded, currentGeneration);
+            return loaded;
+        } catch (RuntimeException e) {
+            ownLoad.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(inFlightKey, ownLoad);
+        }
+    }
+
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContactChanged(ContactChangedEvent event) {
+        invalidateAll();
+    }
+
+    // Qualquer alteração pode mudar qualquer página de busca: não há como invalidar só alguns ids
+    @Override
+    public void invalidate(Collection<Long> contactIds) {
+        invalidateAll();
+    }
+
+    @Override
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("contacts.search.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("contacts.search.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("contacts.search.cache.requests", coalesced, LongAdder::sum)
+                .tag("result", "coalesced").register(registry);
+        Gauge.builder("contacts.search.cache.hit.ratio", this, cache -> cache.ratio(cache.hits))
+                .register(registry);
+        Gauge.builder("contacts.search.cache.coalesce.ratio", this, cache -> cache.ratio(cache.coalesced))
+                .register(registry);
+        Gauge.builder("contacts.search.cache.size", entries, Map::size)
+                .register(registry);
+    }
+
+    private double ratio(LongAdder counter) {
+        long total = hits.sum() + misses.sum() + coalesced.sum();
+        return total == 0 ? 0 : (double) counter.sum() / total;
+    }
+
+    private void store(SearchKey key, PagedResponse<ContactDTO> page, long loadedGeneration) {
+        if (generation.get() != loadedGeneration) {
+            return;
+        }
+        if (entries.size() >= properties.getMaxEntries()) {
+            long now = System.nanoTime();
+            entries.values().removeIf(entry -> !entry.isValid(loadedGeneration, now));
+            if (entries.size() >= properties.getMaxEntries()) {
+                return;
+            }
+        }
+        entries.put(key, new CachedPage(page, loadedGeneration, System.nanoTime() + properties.getTtl().toNanos()));
+    }
+
+    // Se a consulta compartilhada estourou o prazo de quem a iniciou, esta requisição tenta com o próprio prazo
+    private PagedResponse<ContactDTO> await(CompletableFuture<PagedResponse<ContactDTO>> runningLoad,
+                                            Supplier<PagedResponse<ContactDTO>> loader) {
+        try {
+            return runningLoad.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DeadlineExceededException || e.getCause() instanceof QueryTimeoutException) {
+                return loader.get();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record SearchKey(String tenantId, String searchTerm, int page, int size, Set<ContactField> fields) {
+    }
+
+    private record InFlightKey(SearchKey key, long generation) {
+    }
+
+    private record CachedPage(PagedResponse<ContactDTO> page, long generation, long expiresAtNanos) {
+
+        boolean isValid(long currentGeneration, long now) {
+            return generation == currentGeneration && now - expiresAtNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.filter.AccessLogFilter;
+import com.aquora.contacts.filter.AccessLogProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "aquora.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+
+    // Logo depois do ClientIdentityFilter: a duração inclui a espera nos bulkheads e as respostas 429/504
+    private static final int ACCESS_LOG_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 1;
+
+    @Bean
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(AccessLogProperties properties) {
+        FilterRegistrationBean<AccessLogFilter> registration =
+                new FilterRegistrationBean<>(new AccessLogFilter(properties));
+        registration.setOrder(ACCESS_LOG_FILTER_ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,29 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.filter.AdmissionControlFilter;
+import com.aquora.contacts.filter.AdmissionControlProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "aquora.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    // Logo após o ClientIdentityFilter, que identifica o cliente para o rate limit
+    private static final int ADMISSION_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControlProperties properties,
+                                                                                 ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(properties, objectMapper));
+        registration.setOrder(ADMISSION_FILTER_ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,38 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.cache.ContactInvalidationBus;
+import com.aquora.contacts.cache.InvalidatableCache;
+import com.aquora.contacts.cache.InvalidationProperties;
+import com.aquora.contacts.cache.PostgresInvalidationTransport;
+import com.aquora.contacts.event.RemoteChangeListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "aquora.cache-invalidation", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class CacheInvalidationConfig {
+
+    @Bean
+    public ContactInvalidationBus contactInvalidationBus(InvalidationProperties properties,
+                                                         DataSourceProperties dataSourceProperties,
+                                                         JdbcTemplate jdbcTemplate,
+                                                         List<InvalidatableCache> caches,
+                                                         List<RemoteChangeListener> listeners) {
+        PostgresInvalidationTransport transport = new PostgresInvalidationTransport(jdbcTemplate,
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(),
+                properties.getChannel(),
+                properties.getReconnectDelay());
+        ContactInvalidationBus bus = new ContactInvalidationBus(transport, caches, listeners, properties);
+        bus.start();
+        return bus;
+    }
+}
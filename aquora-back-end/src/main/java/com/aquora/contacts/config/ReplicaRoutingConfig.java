@@ -0,0 +1,74 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.datasource.ReadYourWritesTracker;
+import com.aquora.contacts.datasource.ReplicaRoutingDataSource;
+import com.aquora.contacts.datasource.ReplicaRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "aquora.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    // Como no autoconfigure do Spring Boot: spring.datasource.hikari.* vale para o pool do primário
+    @Bean
+    @ConfigurationProperties(prefix = HIKARI_PREFIX)
+    public HikariDataSource routingPrimaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource routingPrimaryDataSource,
+                                                             DataSourceProperties dataSourceProperties,
+                                                             ReplicaRoutingProperties routingProperties,
+                                                             Environment environment) {
+        List<DataSource> replicas = routingProperties.getReplicas().stream()
+                .map(replica -> buildReplica(dataSourceProperties, replica, Binder.get(environment)))
+                .toList();
+
+        return new ReplicaRoutingDataSource(
+                routingPrimaryDataSource,
+                replicas,
+                new ReadYourWritesTracker(routingProperties.getReadYourWritesWindow()),
+                routingProperties.getHealthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // As réplicas recebem as mesmas configurações de pool (inclusive o exception override dos timeouts)
+    private DataSource buildReplica(DataSourceProperties dataSourceProperties, ReplicaRoutingProperties.Replica replica,
+                                    Binder binder) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(replica.getUrl())
+                .username(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername())
+                .password(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword())
+                .build();
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+}
@@ -0,0 +1,48 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.datasource.DeadlineAwareDataSource;
+import com.aquora.contacts.filter.RequestDeadlineFilter;
+import com.aquora.contacts.filter.RequestDeadlineProperties;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "aquora.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RequestDeadlineProperties.class)
+public class RequestDeadlineConfig {
+
+    // Depois do ClientIdentityFilter e antes do controle de admissão, para a fila dos bulkheads contar no prazo
+    private static final int DEADLINE_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 5;
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(RequestDeadlineProperties properties) {
+        FilterRegistrationBean<RequestDeadlineFilter> registration =
+                new FilterRegistrationBean<>(new RequestDeadlineFilter(properties));
+        registration.setOrder(DEADLINE_FILTER_ORDER);
+        return registration;
+    }
+
+    // Envolve o datasource principal (o do Spring Boot ou o de roteamento para réplicas), usado pelo JPA e pelo JdbcTemplate
+    @Bean
+    public static BeanPostProcessor deadlineAwareDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof DeadlineAwareDataSource)) {
+                    return new DeadlineAwareDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
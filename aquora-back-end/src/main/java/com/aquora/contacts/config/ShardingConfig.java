@@ -0,0 +1,66 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.datasource.DeadlineAwareDataSource;
+import com.aquora.contacts.service.ContactService;
+import com.aquora.contacts.service.ShardedContactService;
+import com.aquora.contacts.shard.ContactShard;
+import com.aquora.contacts.shard.GlobalContactKeys;
+import com.aquora.contacts.shard.ShardedId;
+import com.aquora.contacts.shard.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "aquora.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public ShardedContactService shardedContactService(ShardingProperties shardingProperties,
+                                                       DataSourceProperties dataSourceProperties,
+                                                       JdbcTemplate jdbcTemplate,
+                                                       PlatformTransactionManager transactionManager,
+                                                       ContactService contactService) {
+        List<ShardingProperties.Shard> configured = shardingProperties.getShards();
+        if (configured.isEmpty() || configured.size() > ShardedId.MAX_SHARDS) {
+            throw new IllegalStateException("aquora.sharding.shards deve ter entre 1 e " + ShardedId.MAX_SHARDS + " shards");
+        }
+
+        List<ContactShard> shards = new ArrayList<>(configured.size());
+        for (int index = 0; index < configured.size(); index++) {
+            ContactShard shard = new ContactShard(index, buildShard(dataSourceProperties, configured.get(index)));
+            shard.initializeSchema();
+            shards.add(shard);
+        }
+
+        // O índice global de email/telefone fica no banco principal
+        GlobalContactKeys globalKeys = new GlobalContactKeys(jdbcTemplate, new TransactionTemplate(transactionManager),
+                shardingProperties.getReservationTimeout());
+        globalKeys.initializeSchema();
+
+        return new ShardedContactService(shards, globalKeys, contactService, shardingProperties.getScatterTimeout());
+    }
+
+    private DataSource buildShard(DataSourceProperties dataSourceProperties, ShardingProperties.Shard shard) {
+        DataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(shard.getUrl())
+                .username(shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.determineUsername())
+                .password(shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.determinePassword())
+                .build();
+        // As consultas do scatter recebem o prazo da requisição como query timeout, como no banco principal
+        return new DeadlineAwareDataSource(dataSource);
+    }
+}
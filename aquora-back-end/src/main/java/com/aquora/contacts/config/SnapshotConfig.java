@@ -0,0 +1,33 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.service.ContactService;
+import com.aquora.contacts.service.ContactSnapshotFallback;
+import com.aquora.contacts.snapshot.ContactSnapshotStore;
+import com.aquora.contacts.snapshot.SnapshotProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@ConditionalOnProperty(prefix = "aquora.snapshot", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfig {
+
+    @Bean
+    public ContactSnapshotStore contactSnapshotStore(JdbcTemplate jdbcTemplate,
+                                                     PlatformTransactionManager transactionManager,
+                                                     SnapshotProperties properties) {
+        ContactSnapshotStore store = new ContactSnapshotStore(jdbcTemplate, transactionManager, properties);
+        store.start();
+        return store;
+    }
+
+    @Bean
+    public ContactSnapshotFallback contactSnapshotFallback(ContactSnapshotStore store, ContactService contactService,
+                                                           SnapshotProperties properties) {
+        return new ContactSnapshotFallback(store, contactService, properties.getOutageRetryInterval());
+    }
+}
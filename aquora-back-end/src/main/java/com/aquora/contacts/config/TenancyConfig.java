@@ -0,0 +1,31 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.tenant.TenantFilter;
+import com.aquora.contacts.tenant.TenantIdentifierResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class TenancyConfig {
+
+    // Antes do prazo e do controle de admissão: nenhuma consulta roda sem a agenda definida
+    private static final int TENANT_FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 2;
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(ObjectMapper objectMapper) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(new TenantFilter(objectMapper));
+        registration.setOrder(TENANT_FILTER_ORDER);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantIdentifierResolverCustomizer() {
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER,
+                new TenantIdentifierResolver());
+    }
+}
@@ -0,0 +1,27 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.service.ContactService;
+import com.aquora.contacts.warmup.ContactWarmup;
+import com.aquora.contacts.warmup.WarmupProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@ConditionalOnProperty(prefix = "aquora.warmup", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfig {
+
+    @Bean
+    public ContactWarmup contactWarmup(ContactService contactService, ContactRepository contactRepository,
+                                       ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                       ApplicationEventPublisher eventPublisher, WarmupProperties properties) {
+        return new ContactWarmup(contactService, contactRepository, objectMapper, transactionManager, eventPublisher,
+                properties);
+    }
+}
@@ -2,6 +2,7 @@ package com.aquora.contacts.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -22,6 +23,9 @@ public class WebConfig {
         // Permite todos os cabeçalhos
         config.addAllowedHeader("*");
         
+        // Expõe o ETag para o front-end poder enviá-lo em If-Match
+        config.addExposedHeader(HttpHeaders.ETAG);
+        
         // Não precisamos de credenciais (cookies, etc.)
         config.setAllowCredentials(false);
         
@@ -0,0 +1,45 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.converter.BinaryPictureModule;
+import com.aquora.contacts.converter.ContactFieldFilter;
+import com.aquora.contacts.converter.ContactProtobufHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Formatos binários escolhidos pelo cabeçalho Accept. O JSON continua primeiro na lista (e, portanto,
+ * padrão para {@code *}{@code /*}); CBOR e Smile trocam a foto em Base64 por bytes nativos e o
+ * Protobuf fica por último, apenas para as respostas de contato.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(binaryMapper(Jackson2ObjectMapperBuilder.smile())));
+        converters.add(new MappingJackson2CborHttpMessageConverter(binaryMapper(Jackson2ObjectMapperBuilder.cbor())));
+        converters.add(new ContactProtobufHttpMessageConverter());
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer contactFieldFilterCustomizer() {
+        return ContactFieldFilter::configure;
+    }
+
+    private ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.modules(new BinaryPictureModule())
+                .filters(ContactFieldFilter.serializeAll())
+                .build();
+    }
+}
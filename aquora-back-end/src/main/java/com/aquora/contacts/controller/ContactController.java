@@ -1,24 +1,60 @@
 package com.aquora.contacts.controller;
 
+import com.aquora.contacts.cache.SearchResultCache;
+import com.aquora.contacts.converter.ContactFieldFilter;
+import com.aquora.contacts.converter.ContactProtobufHttpMessageConverter;
 import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.AlphabetIndexEntry;
 import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.ContactField;
+import com.aquora.contacts.dto.ContactStatsDTO;
+import com.aquora.contacts.dto.CursorPagedResponse;
+import com.aquora.contacts.dto.DuplicateReport;
 import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.dto.UpcomingBirthdayDTO;
+import com.aquora.contacts.duplicate.ContactDuplicateJob;
+import com.aquora.contacts.etag.ContactETags;
+import com.aquora.contacts.event.ContactChangeFeed;
+import com.aquora.contacts.exception.BadRequestException;
+import com.aquora.contacts.exception.ErrorDetails;
+import com.aquora.contacts.exception.StreamAbortedException;
+import com.aquora.contacts.filter.AccessLogFilter;
+import com.aquora.contacts.service.ContactAlphabetIndex;
+import com.aquora.contacts.service.ContactBirthdayService;
+import com.aquora.contacts.service.ContactGroupCommitWriter;
+import com.aquora.contacts.service.ContactPageStreamWriter;
 import com.aquora.contacts.service.ContactService;
+import com.aquora.contacts.service.ContactSnapshotFallback;
+import com.aquora.contacts.service.ShardedContactService;
+import com.aquora.contacts.stats.ContactStatistics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/contacts")
@@ -27,22 +63,81 @@ import java.util.List;
 public class ContactController {
 
     private final ContactService contactService;
+    private final ContactPageStreamWriter contactPageStreamWriter;
+    private final SearchResultCache searchResultCache;
+    private final ContactChangeFeed contactChangeFeed;
+    private final ContactGroupCommitWriter contactGroupCommitWriter;
+    private final ContactAlphabetIndex contactAlphabetIndex;
+    private final ContactBirthdayService contactBirthdayService;
+    private final ContactDuplicateJob contactDuplicateJob;
+    private final ContactStatistics contactStatistics;
+    private final ContactETags contactETags;
+    // Nulo quando o modo particionado (aquora.sharding.enabled) está desligado
+    private final ShardedContactService shardedContactService;
+    // Nulo quando o snapshot local (aquora.snapshot.enabled) está desligado
+    private final ContactSnapshotFallback snapshotFallback;
+    private final boolean streamingEnabled;
     private static final int DEFAULT_PAGE_SIZE = 10;
     private static final int DEFAULT_PAGE_NUMBER = 0;
+    private static final String SORT_BY_NAME = "name";
+    private static final String DATA_STALE_HEADER = "X-Data-Stale";
+    private static final String DUPLICATES_RETRY_AFTER_SECONDS = "5";
+    private static final List<MediaType> BINARY_MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_CBOR, new MediaType("application", "x-jackson-smile"),
+            ContactProtobufHttpMessageConverter.PROTOBUF);
 
     @Autowired
-    public ContactController(ContactService contactService) {
+    public ContactController(ContactService contactService,
+                             ContactPageStreamWriter contactPageStreamWriter,
+                             SearchResultCache searchResultCache,
+                             ContactChangeFeed contactChangeFeed,
+                             ContactGroupCommitWriter contactGroupCommitWriter,
+                             ContactAlphabetIndex contactAlphabetIndex,
+                             ContactBirthdayService contactBirthdayService,
+                             ContactDuplicateJob contactDuplicateJob,
+                             ContactStatistics contactStatistics,
+                             ContactETags contactETags,
+                             ObjectProvider<ShardedContactService> shardedContactService,
+                             ObjectProvider<ContactSnapshotFallback> snapshotFallback,
+                             @Value("${aquora.contacts.streaming.enabled:false}") boolean streamingEnabled) {
         this.contactService = contactService;
+        this.contactPageStreamWriter = contactPageStreamWriter;
+        this.searchResultCache = searchResultCache;
+        this.contactChangeFeed = contactChangeFeed;
+        this.contactGroupCommitWriter = contactGroupCommitWriter;
+        this.contactAlphabetIndex = contactAlphabetIndex;
+        this.contactBirthdayService = contactBirthdayService;
+        this.contactDuplicateJob = contactDuplicateJob;
+        this.contactStatistics = contactStatistics;
+        this.contactETags = contactETags;
+        this.shardedContactService = shardedContactService.getIfAvailable();
+        this.snapshotFallback = snapshotFallback.getIfAvailable();
+        this.streamingEnabled = streamingEnabled;
     }
 
     @GetMapping
-    @Operation(summary = "Listar contatos", description = "Retorna uma lista paginada de contatos")
+    @Operation(summary = "Listar contatos", description = "Retorna uma lista paginada de contatos. " +
+            "Com sort=name (sem busca), a listagem é alfabética e paginada por cursor")
     public ResponseEntity<?> getContacts(
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Campos retornados, separados por vírgula (ex.: id,name). Padrão: todos")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest,
+            HttpServletResponse httpResponse) throws IOException {
+        
+        Set<ContactField> selectedFields = ContactField.parse(fields);
+        httpResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
         
-        log.info("GET /contacts - Listando contatos. Search: {}, Page: {}, Size: {}", search, page, size);
+        // Nada mudou no diretório desde o ETag do cliente: 304 sem consultar o banco
+        if (shardedContactService == null && contactETags.hasDirectoryTags()
+                && webRequest.checkNotModified(contactETags.directoryTag())) {
+            return null;
+        }
         
         if (page < 0) {
             page = DEFAULT_PAGE_NUMBER;
@@ -52,28 +147,271 @@ public class ContactController {
             size = DEFAULT_PAGE_SIZE;
         }
         
-        PagedResponse<ContactDTO> response;
+        if (shardedContactService != null) {
+            return getShardedContacts(search, page, size, sort, selectedFields);
+        }
+        
+        // A ordem alfabética por cursor não existe no snapshot, que só tem a ordem por id
+        boolean byName = SORT_BY_NAME.equalsIgnoreCase(sort) && (search == null || search.trim().isEmpty());
+        if (snapshotFallback == null || byName) {
+            return getContactsFromDatabase(search, page, size, cursor, byName, selectedFields, accept, httpResponse);
+        }
+        if (snapshotFallback.isDatabaseDown()) {
+            return getStaleContacts(search, page, size, selectedFields, httpResponse);
+        }
+        try {
+            ResponseEntity<?> response = getContactsFromDatabase(search, page, size, cursor, false, selectedFields,
+                    accept, httpResponse);
+            snapshotFallback.recordSuccess();
+            return response;
+        } catch (RuntimeException e) {
+            if (httpResponse.isCommitted() || !snapshotFallback.canServe(e)) {
+                throw e;
+            }
+            return getStaleContacts(search, page, size, selectedFields, httpResponse);
+        }
+    }
+
+    private ResponseEntity<?> getContactsFromDatabase(String search, int page, int size, String cursor, boolean byName,
+                                                      Set<ContactField> selectedFields, String accept,
+                                                      HttpServletResponse httpResponse) throws IOException {
+        if (byName) {
+            CursorPagedResponse<ContactDTO> response = contactService.getContactsByName(cursor, size, selectedFields);
+            AccessLogFilter.recordResultCount(response.getContent().size());
+            return ResponseEntity.ok(withFields(response, selectedFields));
+        }
+        
+        if (streamingEnabled && selectedFields == null && prefersJson(accept)) {
+            return streamContacts(search, page, size, httpResponse);
+        }
+        
+        PagedResponse<ContactDTO> response = selectedFields == null
+                ? findContactsPage(search, page, size)
+                : findContactsPage(search, page, size, selectedFields);
+        
+        AccessLogFilter.recordResultCount(response.getContent().size());
+        return ResponseEntity.ok(withFields(response, selectedFields));
+    }
+
+    private ResponseEntity<?> getStaleContacts(String search, int page, int size, Set<ContactField> fields,
+                                               HttpServletResponse httpResponse) {
+        PagedResponse<ContactDTO> response = snapshotFallback.searchContactsPaged(search, page, size, fields);
+        AccessLogFilter.recordResultCount(response.getContent().size());
+        return stale(httpResponse).body(withFields(response, fields));
+    }
+
+    // Sem fotos e possivelmente desatualizado; o ETag do diretório, se já definido, é substituído
+    private ResponseEntity.BodyBuilder stale(HttpServletResponse httpResponse) {
+        httpResponse.setHeader(HttpHeaders.ETAG, ContactETags.snapshotTag(snapshotFallback.snapshotTime()));
+        return ResponseEntity.ok().header(DATA_STALE_HEADER, "true");
+    }
+
+    // Sem cache: as escritas nos shards não passam pelos eventos que o invalidam
+    private ResponseEntity<?> getShardedContacts(String search, int page, int size, String sort,
+                                                 Set<ContactField> fields) {
+        if (SORT_BY_NAME.equalsIgnoreCase(sort)) {
+            throw new BadRequestException("Ordenação por nome não está disponível no modo particionado");
+        }
+        PagedResponse<ContactDTO> response = shardedContactService.searchContactsPaged(search, page, size, fields);
+        AccessLogFilter.recordResultCount(response.getContent().size());
+        return ResponseEntity.ok(withFields(response, fields));
+    }
+
+    private PagedResponse<ContactDTO> findContactsPage(String search, int page, int size) {
         if (search != null && !search.trim().isEmpty()) {
-            log.info("Buscando contatos com termo: '{}'", search);
-            response = contactService.searchContactsPaged(search, page, size);
-        } else {
-            log.info("Listando todos os contatos");
-            response = contactService.getAllContactsPaged(page, size);
+            return searchResultCache.get(search, page, size,
+                    () -> contactService.searchContactsPaged(search, page, size));
         }
+        return searchResultCache.get(null, page, size, () -> contactService.getAllContactsPaged(page, size));
+    }
+
+    private PagedResponse<ContactDTO> findContactsPage(String search, int page, int size, Set<ContactField> fields) {
+        String searchTerm = (search != null && !search.trim().isEmpty()) ? search : null;
+        return searchResultCache.get(searchTerm, page, size, fields,
+                () -> contactService.searchContactsPaged(searchTerm, page, size, fields));
+    }
+
+    private Object withFields(Object body, Set<ContactField> fields) {
+        return fields == null ? body : ContactFieldFilter.select(body, fields);
+    }
+
+    // O streaming só escreve JSON; CBOR, Smile e Protobuf seguem pela negociação de conteúdo
+    private boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            MediaType preferred = mediaTypes.isEmpty() ? MediaType.ALL : mediaTypes.get(0);
+            return BINARY_MEDIA_TYPES.stream().noneMatch(preferred::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return true;
+        }
+    }
+
+    // Escreve direto na resposta e retorna null: a requisição é marcada como tratada pelo Spring
+    private ResponseEntity<?> streamContacts(String search, int page, int size, HttpServletResponse httpResponse)
+            throws IOException {
+        String searchTerm = (search != null && !search.trim().isEmpty()) ? search : null;
+        httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            contactPageStreamWriter.writePage(searchTerm, page, size, httpResponse.getOutputStream());
+        } catch (StreamAbortedException e) {
+            // Ainda só no buffer: descarta o corpo parcial e segue como falha comum (erro ou snapshot)
+            if (!httpResponse.isCommitted() && e.getCause() instanceof RuntimeException cause) {
+                httpResponse.resetBuffer();
+                throw cause;
+            }
+            log.warn("Listagem em streaming interrompida depois de enviada: {}", e.getCause().getMessage());
+            throw e;
+        }
+        return null;
+    }
+
+    @GetMapping("/index")
+    @Operation(
+        summary = "Índice alfabético",
+        description = "Quantidade de contatos por inicial (sem acentos) e o cursor para saltar até ela em GET /contacts?sort=name"
+    )
+    public ResponseEntity<List<AlphabetIndexEntry>> getAlphabetIndex() {
+        requireUnsharded("Índice alfabético");
+        return ResponseEntity.ok(contactAlphabetIndex.entries());
+    }
+
+    @GetMapping("/birthdays")
+    @Operation(
+        summary = "Próximos aniversários",
+        description = "Contatos que fazem aniversário entre 'from' (padrão: hoje) e os 'days' dias seguintes (1 a 366), " +
+                "em ordem cronológica e paginados. Quem nasceu em 29/02 aparece em 28/02 nos anos não bissextos"
+    )
+    public ResponseEntity<PagedResponse<UpcomingBirthdayDTO>> getUpcomingBirthdays(
+            @RequestParam(required = false) String from,
+            @RequestParam(defaultValue = "14") int days,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        requireUnsharded("Consulta de aniversários");
         
-        log.info("Retornando {} contatos (página {} de {})", 
-                response.getContent().size(), response.getPageNumber() + 1, response.getTotalPages());
+        if (page < 0) {
+            page = DEFAULT_PAGE_NUMBER;
+        }
         
-        return ResponseEntity.ok(response);
+        if (size <= 0) {
+            size = DEFAULT_PAGE_SIZE;
+        }
+        
+        LocalDate fromDate = parseFromDate(from);
+        return ResponseEntity.ok(contactBirthdayService.getUpcomingBirthdays(fromDate, days, page, size));
+    }
+
+    private LocalDate parseFromDate(String from) {
+        if (from == null || from.isBlank()) {
+            return LocalDate.now();
+        }
+        try {
+            return LocalDate.parse(from);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Formato de data inválido. Use o formato YYYY-MM-DD");
+        }
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+        summary = "Estatísticas da agenda",
+        description = "Totais, fração com foto, bytes de fotos, contatos por domínio de email e distribuição por faixa etária"
+    )
+    public ResponseEntity<ContactStatsDTO> getStats() {
+        requireUnsharded("Estatísticas");
+        return ResponseEntity.ok(contactStatistics.snapshot());
+    }
+
+    @GetMapping("/duplicates")
+    @Operation(
+        summary = "Possíveis duplicados",
+        description = "Último relatório de grupos de contatos possivelmente duplicados (nome parecido, telefone ou email em comum). " +
+                "Sem relatório ainda, a análise é iniciada em segundo plano e a resposta é 202"
+    )
+    public ResponseEntity<?> getDuplicates(WebRequest webRequest) {
+        requireUnsharded("Análise de duplicados");
+        Optional<DuplicateReport> report = contactDuplicateJob.latestReport();
+        if (report.isPresent()) {
+            return ResponseEntity.ok(report.get());
+        }
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.RETRY_AFTER, DUPLICATES_RETRY_AFTER_SECONDS)
+                .body(new ErrorDetails(LocalDateTime.now(),
+                        "Relatório de duplicados ainda não disponível; a análise foi iniciada",
+                        webRequest.getDescription(false)));
+    }
+
+    @PostMapping("/duplicates/scan")
+    @Operation(summary = "Analisar duplicados", description = "Executa agora a análise de contatos duplicados")
+    public ResponseEntity<DuplicateReport> scanDuplicates() {
+        requireUnsharded("Análise de duplicados");
+        return ResponseEntity.ok(contactDuplicateJob.run());
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Feed de alterações",
+        description = "Stream SSE com as alterações confirmadas (id, operação, campos alterados e versão). " +
+                "Reconexões com Last-Event-ID recebem os eventos perdidos; um evento 'reset' indica que a página deve ser recarregada"
+    )
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            HttpServletResponse httpResponse) {
+        requireUnsharded("Feed de alterações");
+        httpResponse.setHeader("X-Accel-Buffering", "no");
+        return contactChangeFeed.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar contato por ID", description = "Retorna um contato específico pelo ID")
-    public ResponseEntity<ContactDTO> getContactById(@PathVariable Long id) {
-        log.info("GET /contacts/{} - Buscando contato por ID", id);
-        ContactDTO contact = contactService.getContactById(id);
-        log.info("Contato encontrado com ID {}: {}", id, contact.getName());
-        return ResponseEntity.ok(contact);
+    public ResponseEntity<?> getContactById(
+            @PathVariable Long id,
+            @Parameter(description = "Campos retornados, separados por vírgula (ex.: id,name). Padrão: todos")
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest,
+            HttpServletResponse httpResponse) {
+        Set<ContactField> selectedFields = ContactField.parse(fields);
+        // O mesmo ETag vale para JSON, CBOR, Smile e Protobuf: caches guardam uma entrada por formato
+        httpResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        
+        if (snapshotFallback == null || shardedContactService != null) {
+            return getContactFromDatabase(id, selectedFields, webRequest);
+        }
+        if (snapshotFallback.isDatabaseDown()) {
+            return getStaleContact(id, selectedFields, httpResponse);
+        }
+        try {
+            ResponseEntity<?> response = getContactFromDatabase(id, selectedFields, webRequest);
+            snapshotFallback.recordSuccess();
+            return response;
+        } catch (RuntimeException e) {
+            if (!snapshotFallback.canServe(e)) {
+                throw e;
+            }
+            return getStaleContact(id, selectedFields, httpResponse);
+        }
+    }
+
+    private ResponseEntity<?> getContactFromDatabase(Long id, Set<ContactField> selectedFields, WebRequest webRequest) {
+        // Só a versão é lida antes de decidir pelo 304; a foto fica para quando o corpo é necessário
+        if (shardedContactService == null) {
+            String eTag = ContactETags.contactTag(contactService.getContactVersion(id), selectedFields);
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+        }
+        ContactDTO contact = shardedContactService != null
+                ? shardedContactService.getContactById(id, selectedFields)
+                : contactService.getContactById(id, selectedFields);
+        return ResponseEntity.ok(withFields(contact, selectedFields));
+    }
+
+    private ResponseEntity<?> getStaleContact(Long id, Set<ContactField> fields, HttpServletResponse httpResponse) {
+        ContactDTO contact = snapshotFallback.getContactById(id, fields);
+        return stale(httpResponse).body(withFields(contact, fields));
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -88,10 +426,6 @@ public class ContactController {
             @RequestParam("dateOfBirth") String dateOfBirth,
             @RequestParam(value = "profilePicture", required = false) MultipartFile profilePicture) throws IOException {
         
-        log.info("POST /contacts - Criando novo contato");
-        log.info("Dados recebidos: name={}, email={}, phone={}, dateOfBirth={}, hasPicture={}", 
-                name, email, phone, dateOfBirth, (profilePicture != null && !profilePicture.isEmpty()));
-        
         ContactCreateDTO contactDTO = ContactCreateDTO.builder()
                 .name(name)
                 .email(email)
@@ -99,14 +433,16 @@ public class ContactController {
                 .dateOfBirth(dateOfBirth)
                 .build();
         
-        try {
-            ContactDTO createdContact = contactService.createContact(contactDTO, profilePicture);
-            log.info("Contato criado com sucesso. ID: {}, Nome: {}", createdContact.getId(), createdContact.getName());
-            return new ResponseEntity<>(createdContact, HttpStatus.CREATED);
-        } catch (Exception e) {
-            log.error("Erro ao criar contato: {}", e.getMessage(), e);
-            throw e;
+        ContactDTO createdContact;
+        if (shardedContactService != null) {
+            createdContact = shardedContactService.createContact(contactDTO, profilePicture);
+        } else if (contactGroupCommitWriter.isEnabled()) {
+            createdContact = contactGroupCommitWriter.createContact(contactDTO, profilePicture);
+        } else {
+            createdContact = contactService.createContact(contactDTO, profilePicture);
         }
+        log.debug("Contato criado com sucesso. ID: {}", createdContact.getId());
+        return withETag(ResponseEntity.status(HttpStatus.CREATED), createdContact);
     }
 
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -120,11 +456,8 @@ public class ContactController {
             @RequestParam("email") String email,
             @RequestParam("phone") String phone,
             @RequestParam("dateOfBirth") String dateOfBirth,
-            @RequestParam(value = "profilePicture", required = false) MultipartFile profilePicture) throws IOException {
-        
-        log.info("PUT /contacts/{} - Atualizando contato", id);
-        log.info("Dados recebidos: name={}, email={}, phone={}, dateOfBirth={}, hasPicture={}", 
-                name, email, phone, dateOfBirth, (profilePicture != null && !profilePicture.isEmpty()));
+            @RequestParam(value = "profilePicture", required = false) MultipartFile profilePicture,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IOException {
         
         ContactCreateDTO contactDTO = ContactCreateDTO.builder()
                 .name(name)
@@ -133,22 +466,49 @@ public class ContactController {
                 .dateOfBirth(dateOfBirth)
                 .build();
         
-        try {
-            ContactDTO updatedContact = contactService.updateContact(id, contactDTO, profilePicture);
-            log.info("Contato atualizado com sucesso. ID: {}, Nome: {}", updatedContact.getId(), updatedContact.getName());
-            return ResponseEntity.ok(updatedContact);
-        } catch (Exception e) {
-            log.error("Erro ao atualizar contato: {}", e.getMessage(), e);
-            throw e;
-        }
+        Long expectedVersion = expectedVersion(ifMatch);
+        ContactDTO updatedContact = shardedContactService != null
+                ? shardedContactService.updateContact(id, contactDTO, profilePicture)
+                : contactService.updateContact(id, contactDTO, profilePicture, expectedVersion);
+        log.debug("Contato atualizado com sucesso. ID: {}", updatedContact.getId());
+        return withETag(ResponseEntity.ok(), updatedContact);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Excluir contato", description = "Remove um contato pelo ID")
-    public ResponseEntity<Void> deleteContact(@PathVariable Long id) {
-        log.info("DELETE /contacts/{} - Excluindo contato", id);
-        contactService.deleteContact(id);
-        log.info("Contato excluído com sucesso. ID: {}", id);
+    public ResponseEntity<Void> deleteContact(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = expectedVersion(ifMatch);
+        if (shardedContactService != null) {
+            shardedContactService.deleteContact(id);
+        } else {
+            contactService.deleteContact(id, expectedVersion);
+        }
+        log.debug("Contato excluído com sucesso. ID: {}", id);
         return ResponseEntity.noContent().build();
     }
+
+    // Essas funções leem a tabela do banco principal, vazia no modo particionado, e as gravações nos
+    // shards não publicam os eventos que as mantêm: responder seria devolver dados vazios ou velhos
+    private void requireUnsharded(String feature) {
+        if (shardedContactService != null) {
+            throw new BadRequestException(feature + " não disponível no modo particionado");
+        }
+    }
+
+    // Os shards não têm coluna de versão: If-Match lá seria ignorado em silêncio, então é recusado
+    private Long expectedVersion(String ifMatch) {
+        if (ifMatch != null && shardedContactService != null) {
+            throw new BadRequestException("If-Match não é suportado no modo particionado");
+        }
+        return ContactETags.expectedVersion(ifMatch);
+    }
+
+    private ResponseEntity<ContactDTO> withETag(ResponseEntity.BodyBuilder response, ContactDTO contact) {
+        if (contact.getVersion() != null) {
+            response.eTag(ContactETags.contactTag(contact.getVersion(), null));
+        }
+        return response.body(contact);
+    }
 } 
\ No newline at end of file
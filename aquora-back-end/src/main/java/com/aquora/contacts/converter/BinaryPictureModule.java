@@ -0,0 +1,50 @@
+package com.aquora.contacts.converter;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Para CBOR e Smile: a foto do ContactDTO sai como {@code {"contentType": ..., "data": <bytes>}}, com os
+ * bytes nativos do formato em vez do data URI em Base64 (33% maior). Não é registrado no mapper JSON.
+ */
+public class BinaryPictureModule extends SimpleModule {
+
+    public BinaryPictureModule() {
+        super("BinaryPictureModule");
+        setMixInAnnotation(ContactDTO.class, ContactDTOMixin.class);
+    }
+
+    // Mantém o filtro de campos: só um mixin por classe é aplicado
+    abstract static class ContactDTOMixin extends ContactFieldFilter.FilteredContactMixin {
+
+        @JsonSerialize(using = PictureSerializer.class)
+        abstract String getProfilePicture();
+    }
+
+    static class PictureSerializer extends StdSerializer<String> {
+
+        public PictureSerializer() {
+            super(String.class);
+        }
+
+        @Override
+        public void serialize(String value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            DataUri picture = DataUri.parse(value);
+            if (picture == null) {
+                generator.writeString(value);
+                return;
+            }
+            generator.writeStartObject();
+            generator.writeStringField("contentType", picture.contentType());
+            generator.writeFieldName("data");
+            generator.writeBinary(picture.data());
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.aquora.contacts.converter;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.ContactField;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Filtro Jackson dos campos de ContactDTO pedidos em {@code fields=}. Os mappers da aplicação
+ * serializam todos os campos por padrão; {@link #select} restringe uma resposta específica.
+ */
+public final class ContactFieldFilter {
+
+    static final String FILTER_ID = "contactFields";
+
+    private static final FilterProvider SERIALIZE_ALL = new SimpleFilterProvider()
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+
+    private ContactFieldFilter() {
+    }
+
+    public static void configure(Jackson2ObjectMapperBuilder builder) {
+        builder.mixIn(ContactDTO.class, FilteredContactMixin.class).filters(SERIALIZE_ALL);
+    }
+
+    public static FilterProvider serializeAll() {
+        return SERIALIZE_ALL;
+    }
+
+    public static MappingJacksonValue select(Object body, Set<ContactField> fields) {
+        Set<String> properties = fields.stream()
+                .map(ContactField::getPropertyName)
+                .collect(Collectors.toSet());
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+        return value;
+    }
+
+    @JsonFilter(FILTER_ID)
+    abstract static class FilteredContactMixin {
+    }
+}
@@ -0,0 +1,197 @@
+package com.aquora.contacts.converter;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.CursorPagedResponse;
+import com.aquora.contacts.dto.PagedResponse;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Escreve contatos em Protocol Buffers conforme {@code static/proto/contacts.proto}, com a foto em
+ * bytes (campo {@code bytes}) em vez de Base64. A codificação é feita direto com {@link CodedOutputStream},
+ * sem classes geradas pelo protoc; só escrita, para as respostas de contato do ContactController.
+ */
+public class ContactProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    static final String SCHEMA_PATH = "/proto/contacts.proto";
+    static final String MESSAGE_HEADER = "X-Protobuf-Message";
+    static final String SCHEMA_HEADER = "X-Protobuf-Schema";
+
+    private static final String PACKAGE = "aquora.contacts.";
+
+    public ContactProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ContactDTO.class.isAssignableFrom(clazz)
+                || MappingJacksonValue.class.isAssignableFrom(clazz)
+                || PagedResponse.class.isAssignableFrom(clazz)
+                || CursorPagedResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Páginas só são aceitas quando o conteúdo é (ou pode ser) ContactDTO: com o tipo declarado
+     * conhecido, {@code PagedResponse<UpcomingBirthdayDTO>} fica de fora e a negociação segue para outro formato.
+     */
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType declared = type != null ? ResolvableType.forType(type) : ResolvableType.NONE;
+        Class<?> rawClass = declared.resolve(Object.class);
+        if (rawClass == Object.class) {
+            return supports(clazz);
+        }
+        if (ContactDTO.class.isAssignableFrom(rawClass)) {
+            return true;
+        }
+        if (PagedResponse.class.isAssignableFrom(rawClass) || CursorPagedResponse.class.isAssignableFrom(rawClass)) {
+            Class<?> content = declared.getGeneric(0).resolve(Object.class);
+            return content == Object.class || ContactDTO.class.isAssignableFrom(content);
+        }
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        // Resposta com fields=: os campos não pedidos já vêm nulos e não são escritos
+        Object value = body instanceof MappingJacksonValue sparse ? sparse.getValue() : body;
+        // Cabeçalhos antes do corpo: depois de getBody() eles já foram enviados
+        outputMessage.getHeaders().set(SCHEMA_HEADER, SCHEMA_PATH);
+        outputMessage.getHeaders().set(MESSAGE_HEADER, PACKAGE + messageName(value));
+        CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (value instanceof ContactDTO contact) {
+            EncodedContact.of(contact).writeFields(out);
+        } else if (value instanceof PagedResponse<?> page) {
+            writeContacts(out, page.getContent());
+            writeInt32(out, 2, page.getPageNumber());
+            writeInt32(out, 3, page.getPageSize());
+            if (page.getTotalElements() != 0) {
+                out.writeInt64(4, page.getTotalElements());
+            }
+            writeInt32(out, 5, page.getTotalPages());
+            writeBool(out, 6, page.isLast());
+        } else if (value instanceof CursorPagedResponse<?> page) {
+            writeContacts(out, page.getContent());
+            writeInt32(out, 2, page.getPageSize());
+            writeString(out, 3, page.getNextCursor());
+            writeBool(out, 4, page.isLast());
+        }
+        out.flush();
+    }
+
+    private static String messageName(Object value) {
+        if (value instanceof PagedResponse<?>) {
+            return "ContactPage";
+        }
+        return value instanceof CursorPagedResponse<?> ? "ContactCursorPage" : "Contact";
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Leitura em Protocol Buffers não suportada", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        return readInternal(null, inputMessage);
+    }
+
+    private static void writeContacts(CodedOutputStream out, List<?> content) throws IOException {
+        if (content == null) {
+            return;
+        }
+        for (Object item : content) {
+            EncodedContact contact = EncodedContact.of((ContactDTO) item);
+            out.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(contact.size());
+            contact.writeFields(out);
+        }
+    }
+
+    // proto3: valores padrão (zero, vazio, false) não são escritos
+    private static void writeInt32(CodedOutputStream out, int field, int value) throws IOException {
+        if (value != 0) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    private static void writeBool(CodedOutputStream out, int field, boolean value) throws IOException {
+        if (value) {
+            out.writeBool(field, true);
+        }
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value != null && !value.isEmpty() ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    /**
+     * Contato com a foto já decodificada, para calcular o tamanho da mensagem antes de escrevê-la.
+     */
+    private record EncodedContact(ContactDTO contact, DataUri picture, int size) {
+
+        static EncodedContact of(ContactDTO contact) {
+            DataUri picture = DataUri.parse(contact.getProfilePicture());
+            int size = 0;
+            if (contact.getId() != null && contact.getId() != 0) {
+                size += CodedOutputStream.computeInt64Size(1, contact.getId());
+            }
+            size += stringSize(2, contact.getName());
+            size += stringSize(3, contact.getEmail());
+            size += stringSize(4, contact.getPhone());
+            size += stringSize(5, contact.getDateOfBirth());
+            if (picture != null) {
+                size += CodedOutputStream.computeByteArraySize(6, picture.data());
+                size += stringSize(7, picture.contentType());
+            }
+            return new EncodedContact(contact, picture, size);
+        }
+
+        void writeFields(CodedOutputStream out) throws IOException {
+            if (contact.getId() != null && contact.getId() != 0) {
+                out.writeInt64(1, contact.getId());
+            }
+            writeString(out, 2, contact.getName());
+            writeString(out, 3, contact.getEmail());
+            writeString(out, 4, contact.getPhone());
+            writeString(out, 5, contact.getDateOfBirth());
+            if (picture != null) {
+                out.writeByteArray(6, picture.data());
+                writeString(out, 7, picture.contentType());
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.aquora.contacts.converter;
+
+import java.util.Base64;
+
+/**
+ * Foto de perfil já decodificada a partir do data URI ("data:image/png;base64,...") do ContactDTO.
+ */
+record DataUri(String contentType, byte[] data) {
+
+    private static final String PREFIX = "data:";
+    private static final String BASE64_MARKER = ";base64,";
+
+    static DataUri parse(String dataUri) {
+        if (dataUri == null || !dataUri.startsWith(PREFIX)) {
+            return null;
+        }
+        int marker = dataUri.indexOf(BASE64_MARKER);
+        if (marker < 0) {
+            return null;
+        }
+        byte[] data = Base64.getDecoder().decode(dataUri.substring(marker + BASE64_MARKER.length()));
+        return new DataUri(dataUri.substring(PREFIX.length(), marker), data);
+    }
+}
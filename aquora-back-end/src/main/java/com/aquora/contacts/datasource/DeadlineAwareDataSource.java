@@ -0,0 +1,90 @@
+package com.aquora.contacts.datasource;
+
+import com.aquora.contacts.filter.RequestDeadline;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Aplica o prazo da requisição ({@link RequestDeadline}) a cada statement criado: o orçamento
+ * restante vira o query timeout, então o próprio driver cancela a consulta no banco quando o
+ * prazo acaba. Sem prazo na thread atual (jobs, threads de fundo), nada muda.
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource implements Closeable {
+
+    public DeadlineAwareDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return withDeadline(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return withDeadline(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    // O timeout JDBC é em segundos: arredonda para cima, com no mínimo 1s (0 significaria sem limite)
+    static int timeoutSeconds(RequestDeadline deadline) {
+        long remainingMillis = deadline.remaining().toMillis();
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000));
+    }
+
+    private Connection withDeadline(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, new DeadlineConnectionHandler(connection));
+    }
+
+    private record DeadlineConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Conexão com prazo de requisição para [" + target + "]";
+                default:
+                    break;
+            }
+
+            RequestDeadline deadline = RequestDeadline.current();
+            boolean createsStatement = Statement.class.isAssignableFrom(method.getReturnType());
+            if (deadline != null && createsStatement && deadline.isExpired()) {
+                throw deadline.exceeded();
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+
+            if (deadline != null && result instanceof Statement statement) {
+                statement.setQueryTimeout(timeoutSeconds(deadline));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.aquora.contacts.datasource;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+
+/**
+ * O Hikari descarta a conexão em qualquer {@link java.sql.SQLTimeoutException}, que alguns drivers
+ * (H2) usam para o cancelamento por query timeout. A conexão continua válida depois do cancelamento,
+ * então não há por que perdê-la a cada requisição que estoura o prazo.
+ */
+public class QueryTimeoutExceptionOverride implements SQLExceptionOverride {
+
+    private static final String QUERY_CANCELED_STATE = "57014";
+
+    // Sem @Override: dentro desta classe o nome se refere ao enum SQLExceptionOverride.Override
+    public SQLExceptionOverride.Override adjudicate(SQLException exception) {
+        return QUERY_CANCELED_STATE.equals(exception.getSQLState())
+                ? SQLExceptionOverride.Override.DO_NOT_EVICT
+                : SQLExceptionOverride.Override.CONTINUE_EVICT;
+    }
+}
@@ -0,0 +1,42 @@
+package com.aquora.contacts.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    public void recordWrite(String clientId) {
+        if (isEnabled() && clientId != null) {
+            lastWriteByClient.put(clientId, System.nanoTime());
+        }
+    }
+
+    public boolean requiresPrimary(String clientId) {
+        if (!isEnabled() || clientId == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteByClient.get(clientId);
+        return lastWrite != null && !isExpired(lastWrite, System.nanoTime());
+    }
+
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteByClient.values().removeIf(lastWrite -> isExpired(lastWrite, now));
+    }
+
+    private boolean isExpired(long lastWrite, long now) {
+        return now - lastWrite >= windowNanos;
+    }
+}
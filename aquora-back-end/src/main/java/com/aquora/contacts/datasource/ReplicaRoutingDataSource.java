@@ -0,0 +1,154 @@
+package com.aquora.contacts.datasource;
+
+import com.aquora.contacts.filter.ClientContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia conexões de transações somente leitura para as réplicas (round-robin) e todo o resto
+ * para o primário. Réplicas que falham ficam fora do rodízio até o próximo health check.
+ * Deve ser usado atrás de um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * para que a conexão só seja obtida depois que a transação marcou o read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        healthChecker.shutdownNow();
+        closeIfPossible(primary);
+        for (Replica replica : replicas) {
+            closeIfPossible(replica.dataSource);
+        }
+    }
+
+    private Connection route(ConnectionFactory connectionFactory) throws SQLException {
+        if (shouldUseReplica()) {
+            Connection replicaConnection = getReplicaConnection(connectionFactory);
+            if (replicaConnection != null) {
+                return replicaConnection;
+            }
+        } else {
+            trackWriteOnCommit();
+        }
+        return connectionFactory.connect(primary);
+    }
+
+    private boolean shouldUseReplica() {
+        return !replicas.isEmpty()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !readYourWritesTracker.requiresPrimary(ClientContext.currentClientId());
+    }
+
+    private Connection getReplicaConnection(ConnectionFactory connectionFactory) {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return connectionFactory.connect(replica.dataSource);
+            } catch (SQLException e) {
+                log.warn("Réplica indisponível, removida do rodízio: {}", e.getMessage());
+                replica.healthy = false;
+            }
+        }
+        log.debug("Nenhuma réplica saudável, leitura enviada ao primário");
+        return null;
+    }
+
+    private void trackWriteOnCommit() {
+        String clientId = ClientContext.currentClientId();
+        if (!readYourWritesTracker.isEnabled() || clientId == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.recordWrite(clientId);
+            }
+        });
+    }
+
+    private void checkHealth() {
+        for (Replica replica : replicas) {
+            replica.healthy = isReachable(replica.dataSource);
+        }
+        readYourWritesTracker.evictExpired();
+    }
+
+    private boolean isReachable(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionFactory {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.aquora.contacts.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    // Zero desabilita o read-your-writes
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,16 @@
+package com.aquora.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlphabetIndexEntry {
+    private String letter;
+    private long count;
+    private String cursor; // Use em GET /contacts?sort=name&cursor=...
+}
@@ -1,5 +1,6 @@
 package com.aquora.contacts.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,4 +17,12 @@ public class ContactDTO {
     private String phone;
     private String dateOfBirth;
     private String profilePicture; // Base64 encoded
+
+    // Vai no header ETag, não no corpo
+    @JsonIgnore
+    private Long version;
+
+    public ContactDTO(Long id, String name, String email, String phone, String dateOfBirth, String profilePicture) {
+        this(id, name, email, phone, dateOfBirth, profilePicture, null);
+    }
 } 
\ No newline at end of file
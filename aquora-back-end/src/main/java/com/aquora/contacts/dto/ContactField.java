@@ -0,0 +1,60 @@
+package com.aquora.contacts.dto;
+
+import com.aquora.contacts.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Campos do ContactDTO que podem ser pedidos em {@code fields=}, pelo mesmo nome do JSON.
+ */
+public enum ContactField {
+    ID("id"),
+    NAME("name"),
+    EMAIL("email"),
+    PHONE("phone"),
+    DATE_OF_BIRTH("dateOfBirth"),
+    PROFILE_PICTURE("profilePicture");
+
+    public static final Set<ContactField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ContactField.class));
+
+    private final String propertyName;
+
+    ContactField(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * Converte "id,name" no conjunto de campos; ausente ou vazio significa todos (retorna null).
+     */
+    public static Set<ContactField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<ContactField> selected = EnumSet.noneOf(ContactField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(fromPropertyName(trimmed));
+            }
+        }
+        return selected.isEmpty() ? null : selected;
+    }
+
+    private static ContactField fromPropertyName(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.propertyName.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Campo desconhecido em fields: '" + name
+                        + "'. Campos disponíveis: " + Arrays.stream(values())
+                        .map(ContactField::getPropertyName)
+                        .collect(Collectors.joining(", "))));
+    }
+}
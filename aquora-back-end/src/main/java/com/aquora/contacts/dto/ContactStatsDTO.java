@@ -0,0 +1,23 @@
+package com.aquora.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactStatsDTO {
+    private long totalContacts;
+    private long contactsWithPicture;
+    private double pictureShare; // Fração de 0 a 1
+    private long totalPictureBytes;
+    private Map<String, Long> emailDomains; // Maiores domínios, em ordem decrescente
+    private long otherDomains; // Contatos dos demais domínios
+    private Map<String, Long> ageDistribution;
+    private String reconciledAt;
+}
@@ -0,0 +1,15 @@
+package com.aquora.contacts.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CursorPagedResponse<T> {
+    private List<T> content;
+    private int pageSize;
+    private String nextCursor;
+    private boolean last;
+}
@@ -0,0 +1,18 @@
+package com.aquora.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCluster {
+    private List<ContactDTO> contacts; // Sem foto
+    private List<DuplicatePair> pairs;
+    private double score; // Maior score entre os pares
+}
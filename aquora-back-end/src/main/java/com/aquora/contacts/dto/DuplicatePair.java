@@ -0,0 +1,19 @@
+package com.aquora.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicatePair {
+    private Long firstId;
+    private Long secondId;
+    private double score; // Similaridade dos nomes (Jaro-Winkler)
+    private List<String> matchedOn; // name, phone e/ou email
+}
@@ -0,0 +1,22 @@
+package com.aquora.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateReport {
+    private String generatedAt;
+    private long contactsScanned;
+    private int blocks;
+    private int skippedBlocks; // Blocos acima de aquora.duplicates.max-block-size
+    private long comparisons;
+    private long durationMs;
+    private List<DuplicateCluster> clusters;
+}
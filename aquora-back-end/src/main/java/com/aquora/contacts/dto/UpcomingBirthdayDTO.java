@@ -0,0 +1,20 @@
+package com.aquora.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpcomingBirthdayDTO {
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private String dateOfBirth;
+    private String birthday; // Próxima ocorrência dentro do período (29/02 vira 28/02 em anos não bissextos)
+    private int age; // Idade completada no aniversário
+}
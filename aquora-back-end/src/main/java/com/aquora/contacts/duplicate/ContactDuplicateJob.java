@@ -0,0 +1,172 @@
+package com.aquora.contacts.duplicate;
+
+import com.aquora.contacts.dto.DuplicateReport;
+import com.aquora.contacts.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Job de detecção de contatos possivelmente duplicados. Lê um snapshot dos contatos (só id, nome,
+ * email e telefone) em streaming pelo cursor JDBC e compara os pares em paralelo num ForkJoinPool
+ * próprio. A análise é feita por agenda (tenant) e o último relatório de cada uma fica em memória;
+ * com {@code schedule-enabled}, roda periodicamente para a agenda padrão e as que já pediram relatório.
+ * A análise pedida pela consulta de uma agenda sem relatório roda na thread do job, nunca na da requisição.
+ */
+@Component
+@EnableConfigurationProperties(DuplicateDetectionProperties.class)
+@Slf4j
+public class ContactDuplicateJob {
+
+    private static final String SNAPSHOT_SQL = "SELECT id, name, email, phone FROM contacts WHERE tenant_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final DuplicateDetectionProperties properties;
+    private final ForkJoinPool pool;
+    private final DuplicateDetector detector;
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final Map<String, DuplicateReport> latestReports = new ConcurrentHashMap<>();
+    private final Set<String> pendingScans = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ContactDuplicateJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               DuplicateDetectionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+        this.pool = new ForkJoinPool(properties.getParallelism(), ContactDuplicateJob::newWorker, null, false);
+        this.detector = new DuplicateDetector(properties, pool);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("contact-duplicates-job-"));
+        if (properties.isScheduleEnabled()) {
+            long intervalMillis = properties.getInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::runScheduled, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Executa a análise da agenda atual agora. Execuções concorrentes (manual e agendada) rodam uma de cada vez.
+     */
+    public DuplicateReport run() {
+        return run(TenantContext.currentTenantId());
+    }
+
+    private DuplicateReport run(String tenantId) {
+        runLock.lock();
+        try {
+            long start = System.nanoTime();
+            List<ContactFingerprint> snapshot = readSnapshot(tenantId);
+            DuplicateDetector.Detection detection = detector.detect(snapshot);
+            DuplicateReport report = DuplicateReport.builder()
+                    .generatedAt(OffsetDateTime.now().toString())
+                    .contactsScanned(snapshot.size())
+                    .blocks(detection.blocks())
+                    .skippedBlocks(detection.skippedBlocks())
+                    .comparisons(detection.comparisons())
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .clusters(detection.clusters())
+                    .build();
+            latestReports.put(tenantId, report);
+            log.info("Análise de duplicados da agenda {}: {} contatos, {} comparações, {} grupos em {} ms",
+                    tenantId, report.getContactsScanned(), report.getComparisons(), report.getClusters().size(),
+                    report.getDurationMs());
+            return report;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Último relatório da agenda atual. Sem relatório (primeira consulta depois de subir ou agenda nova),
+     * a análise é iniciada em segundo plano e o retorno é vazio.
+     */
+    public Optional<DuplicateReport> latestReport() {
+        String tenantId = TenantContext.currentTenantId();
+        DuplicateReport report = latestReports.get(tenantId);
+        if (report == null) {
+            scanInBackground(tenantId);
+        }
+        return Optional.ofNullable(report);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    // Uma análise pendente por agenda, por mais consultas que cheguem enquanto ela não termina
+    private void scanInBackground(String tenantId) {
+        if (!pendingScans.add(tenantId)) {
+            return;
+        }
+        scheduler.execute(() -> {
+            try {
+                run(tenantId);
+            } catch (RuntimeException e) {
+                log.error("Erro na análise de duplicados da agenda {}", tenantId, e);
+            } finally {
+                pendingScans.remove(tenantId);
+            }
+        });
+    }
+
+    private void runScheduled() {
+        Set<String> tenants = new LinkedHashSet<>();
+        tenants.add(TenantContext.DEFAULT_TENANT);
+        tenants.addAll(latestReports.keySet());
+        for (String tenantId : tenants) {
+            try {
+                run(tenantId);
+            } catch (RuntimeException e) {
+                log.error("Erro na análise agendada de duplicados da agenda {}", tenantId, e);
+            }
+        }
+    }
+
+    private List<ContactFingerprint> readSnapshot(String tenantId) {
+        List<ContactFingerprint> snapshot = new ArrayList<>();
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SNAPSHOT_SQL);
+                    statement.setString(1, tenantId);
+                    statement.setFetchSize(properties.getFetchSize());
+                    return statement;
+                },
+                (RowCallbackHandler) row -> snapshot.add(ContactFingerprint.of(row.getLong("id"),
+                        row.getString("name"), row.getString("email"), row.getString("phone")))));
+        return snapshot;
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("contact-duplicates-" + worker.getPoolIndex());
+        return worker;
+    }
+}
@@ -0,0 +1,68 @@
+package com.aquora.contacts.duplicate;
+
+import com.aquora.contacts.util.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Forma normalizada de um contato para a detecção de duplicados, com as chaves de bloqueio:
+ * só contatos que compartilham alguma chave são comparados.
+ */
+record ContactFingerprint(long id, String name, String email, String phone,
+                          String nameKey, String phoneKey, String emailKey, List<String> blockingKeys) {
+
+    private static final Set<String> PARTICLES = Set.of("de", "da", "do", "das", "dos", "e");
+    private static final int PHONE_SUFFIX_LENGTH = 8;
+
+    static ContactFingerprint of(long id, String name, String email, String phone) {
+        List<String> tokens = Arrays.stream(TextNormalizer.sortKey(name).split(" "))
+                .filter(token -> !token.isEmpty() && !PARTICLES.contains(token))
+                .collect(Collectors.toList());
+        String nameKey = String.join(" ", tokens);
+        String phoneKey = phoneSuffix(phone);
+        String emailKey = emailLocalPart(email);
+
+        List<String> keys = new ArrayList<>();
+        if (!tokens.isEmpty()) {
+            String firstToken = tokens.get(0);
+            String lastToken = tokens.get(tokens.size() - 1);
+            // Primeiro e último nome; e último nome com a inicial, para erros de digitação no primeiro nome
+            keys.add("n:" + firstToken + " " + lastToken);
+            if (tokens.size() > 1) {
+                keys.add("i:" + lastToken + " " + firstToken.charAt(0));
+            }
+        }
+        if (phoneKey != null) {
+            keys.add("p:" + phoneKey);
+        }
+        if (emailKey != null) {
+            keys.add("e:" + emailKey);
+        }
+        keys.sort(null);
+        return new ContactFingerprint(id, name, email, phone, nameKey, phoneKey, emailKey, List.copyOf(keys));
+    }
+
+    // Últimos dígitos: ignora DDD e o nono dígito, que costumam variar entre cadastros do mesmo número
+    private static String phoneSuffix(String phone) {
+        String digits = phone == null ? "" : phone.replaceAll("\\D", "");
+        return digits.length() < PHONE_SUFFIX_LENGTH ? null : digits.substring(digits.length() - PHONE_SUFFIX_LENGTH);
+    }
+
+    // Parte local sem pontos e sem o sufixo "+tag"
+    private static String emailLocalPart(String email) {
+        if (email == null || email.indexOf('@') <= 0) {
+            return null;
+        }
+        String local = email.substring(0, email.indexOf('@')).toLowerCase(Locale.ROOT);
+        int tag = local.indexOf('+');
+        if (tag > 0) {
+            local = local.substring(0, tag);
+        }
+        return local.replace(".", "");
+    }
+}
@@ -0,0 +1,37 @@
+package com.aquora.contacts.duplicate;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.duplicates")
+public class DuplicateDetectionProperties {
+
+    /**
+     * Executa a análise periodicamente, a cada {@code interval}.
+     */
+    private boolean scheduleEnabled = false;
+
+    private Duration interval = Duration.ofHours(24);
+
+    /**
+     * Similaridade mínima dos nomes para considerar dois contatos duplicados.
+     */
+    private double nameThreshold = 0.92;
+
+    /**
+     * Similaridade mínima dos nomes quando os contatos também compartilham telefone ou email.
+     */
+    private double relatedNameThreshold = 0.75;
+
+    /**
+     * Blocos maiores que isso (chaves muito comuns) são ignorados, para nunca cair em comparação de todos com todos.
+     */
+    private int maxBlockSize = 500;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private int fetchSize = 1_000;
+}
@@ -0,0 +1,249 @@
+package com.aquora.contacts.duplicate;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.DuplicateCluster;
+import com.aquora.contacts.dto.DuplicatePair;
+import com.aquora.contacts.util.StringSimilarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa os contatos por chave de bloqueio e compara apenas os pares dentro de cada bloco, em paralelo
+ * no ForkJoinPool. Um par que compartilha várias chaves é comparado só no bloco da menor delas; os pares
+ * aceitos são unidos (union-find) em grupos de possíveis duplicados.
+ */
+final class DuplicateDetector {
+
+    // Pares por tarefa: blocos grandes viram tarefas próprias e os pequenos são agrupados
+    private static final long PAIRS_PER_TASK = 20_000;
+
+    private final DuplicateDetectionProperties properties;
+    private final ForkJoinPool pool;
+
+    DuplicateDetector(DuplicateDetectionProperties properties, ForkJoinPool pool) {
+        this.properties = properties;
+        this.pool = pool;
+    }
+
+    Detection detect(List<ContactFingerprint> contacts) {
+        Map<String, List<ContactFingerprint>> blocks = new HashMap<>();
+        for (ContactFingerprint contact : contacts) {
+            for (String key : contact.blockingKeys()) {
+                blocks.computeIfAbsent(key, ignored -> new ArrayList<>()).add(contact);
+            }
+        }
+
+        List<Block> eligible = new ArrayList<>();
+        int skipped = 0;
+        for (Map.Entry<String, List<ContactFingerprint>> block : blocks.entrySet()) {
+            int size = block.getValue().size();
+            if (size > properties.getMaxBlockSize()) {
+                skipped++;
+            } else if (size > 1) {
+                eligible.add(new Block(block.getKey(), block.getValue()));
+            }
+        }
+        Set<String> eligibleKeys = new HashSet<>();
+        long[] pairsBefore = new long[eligible.size() + 1];
+        for (int i = 0; i < eligible.size(); i++) {
+            Block block = eligible.get(i);
+            eligibleKeys.add(block.key());
+            long size = block.members().size();
+            pairsBefore[i + 1] = pairsBefore[i] + size * (size - 1) / 2;
+        }
+
+        Queue<DuplicatePair> pairs = new ConcurrentLinkedQueue<>();
+        LongAdder comparisons = new LongAdder();
+        if (!eligible.isEmpty()) {
+            pool.invoke(new CompareBlocks(new Work(eligible, pairsBefore, eligibleKeys, pairs, comparisons),
+                    0, eligible.size()));
+        }
+
+        return new Detection(cluster(contacts, pairs), eligible.size(), skipped, comparisons.sum());
+    }
+
+    private void compareBlock(Block block, Set<String> eligibleKeys, Queue<DuplicatePair> pairs,
+                              LongAdder comparisons) {
+        List<ContactFingerprint> members = block.members();
+        long compared = 0;
+        for (int i = 0; i < members.size(); i++) {
+            ContactFingerprint first = members.get(i);
+            for (int j = i + 1; j < members.size(); j++) {
+                ContactFingerprint second = members.get(j);
+                if (!block.key().equals(canonicalKey(first, second, eligibleKeys))) {
+                    continue;
+                }
+                compared++;
+                DuplicatePair pair = score(first, second);
+                if (pair != null) {
+                    pairs.add(pair);
+                }
+            }
+        }
+        comparisons.add(compared);
+    }
+
+    // Menor chave compartilhada entre os blocos comparados: cada par é avaliado uma única vez
+    private static String canonicalKey(ContactFingerprint first, ContactFingerprint second, Set<String> eligibleKeys) {
+        for (String key : first.blockingKeys()) {
+            if (eligibleKeys.contains(key) && second.blockingKeys().contains(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private DuplicatePair score(ContactFingerprint first, ContactFingerprint second) {
+        double nameScore = StringSimilarity.jaroWinkler(first.nameKey(), second.nameKey());
+        List<String> matchedOn = new ArrayList<>(3);
+        if (nameScore >= properties.getNameThreshold()) {
+            matchedOn.add("name");
+        }
+        if (first.phoneKey() != null && first.phoneKey().equals(second.phoneKey())) {
+            matchedOn.add("phone");
+        }
+        if (first.emailKey() != null && first.emailKey().equals(second.emailKey())) {
+            matchedOn.add("email");
+        }
+
+        boolean sharesContact = matchedOn.contains("phone") || matchedOn.contains("email");
+        if (nameScore < properties.getNameThreshold()
+                && !(sharesContact && nameScore >= properties.getRelatedNameThreshold())) {
+            return null;
+        }
+        long firstId = Math.min(first.id(), second.id());
+        long secondId = Math.max(first.id(), second.id());
+        return DuplicatePair.builder()
+                .firstId(firstId)
+                .secondId(secondId)
+                .score(Math.round(nameScore * 1000) / 1000.0)
+                .matchedOn(matchedOn)
+                .build();
+    }
+
+    private List<DuplicateCluster> cluster(List<ContactFingerprint> contacts, Queue<DuplicatePair> pairs) {
+        Map<Long, ContactFingerprint> byId = new HashMap<>();
+        contacts.forEach(contact -> byId.put(contact.id(), contact));
+
+        Map<Long, Long> parent = new HashMap<>();
+        for (DuplicatePair pair : pairs) {
+            union(parent, pair.getFirstId(), pair.getSecondId());
+        }
+
+        Map<Long, List<DuplicatePair>> pairsByRoot = new HashMap<>();
+        for (DuplicatePair pair : pairs) {
+            pairsByRoot.computeIfAbsent(find(parent, pair.getFirstId()), ignored -> new ArrayList<>()).add(pair);
+        }
+
+        List<DuplicateCluster> clusters = new ArrayList<>();
+        for (List<DuplicatePair> clusterPairs : pairsByRoot.values()) {
+            clusterPairs.sort(Comparator.comparing(DuplicatePair::getFirstId).thenComparing(DuplicatePair::getSecondId));
+            Set<Long> ids = new HashSet<>();
+            clusterPairs.forEach(pair -> {
+                ids.add(pair.getFirstId());
+                ids.add(pair.getSecondId());
+            });
+            List<ContactDTO> members = ids.stream()
+                    .sorted()
+                    .map(byId::get)
+                    .map(DuplicateDetector::toDTO)
+                    .toList();
+            clusters.add(DuplicateCluster.builder()
+                    .contacts(members)
+                    .pairs(clusterPairs)
+                    .score(clusterPairs.stream().mapToDouble(DuplicatePair::getScore).max().orElse(0))
+                    .build());
+        }
+        clusters.sort(Comparator.comparingDouble(DuplicateCluster::getScore).reversed()
+                .thenComparing(cluster -> cluster.getContacts().get(0).getId()));
+        return clusters;
+    }
+
+    private static long find(Map<Long, Long> parent, long id) {
+        long root = id;
+        while (parent.containsKey(root)) {
+            root = parent.get(root);
+        }
+        // Compressão de caminho
+        long current = id;
+        while (current != root) {
+            long next = parent.get(current);
+            parent.put(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    private static void union(Map<Long, Long> parent, long first, long second) {
+        long firstRoot = find(parent, first);
+        long secondRoot = find(parent, second);
+        if (firstRoot != secondRoot) {
+            parent.put(Math.max(firstRoot, secondRoot), Math.min(firstRoot, secondRoot));
+        }
+    }
+
+    private static ContactDTO toDTO(ContactFingerprint contact) {
+        return ContactDTO.builder()
+                .id(contact.id())
+                .name(contact.name())
+                .email(contact.email())
+                .phone(contact.phone())
+                .build();
+    }
+
+    record Detection(List<DuplicateCluster> clusters, int blocks, int skippedBlocks, long comparisons) {
+    }
+
+    private record Block(String key, List<ContactFingerprint> members) {
+    }
+
+    private record Work(List<Block> blocks, long[] pairsBefore, Set<String> eligibleKeys,
+                        Queue<DuplicatePair> pairs, LongAdder comparisons) {
+    }
+
+    // Divide os blocos [from, to) pela quantidade de pares, não pela quantidade de blocos
+    private final class CompareBlocks extends RecursiveAction {
+
+        private final Work work;
+        private final int from;
+        private final int to;
+
+        CompareBlocks(Work work, int from, int to) {
+            this.work = work;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            long[] pairsBefore = work.pairsBefore();
+            if (to - from == 1 || pairsBefore[to] - pairsBefore[from] <= PAIRS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    compareBlock(work.blocks().get(i), work.eligibleKeys(), work.pairs(), work.comparisons());
+                }
+                return;
+            }
+            int middle = split(pairsBefore);
+            invokeAll(new CompareBlocks(work, from, middle), new CompareBlocks(work, middle, to));
+        }
+
+        private int split(long[] pairsBefore) {
+            long half = pairsBefore[from] + (pairsBefore[to] - pairsBefore[from]) / 2;
+            int index = Arrays.binarySearch(pairsBefore, from, to + 1, half);
+            int middle = index >= 0 ? index : -index - 1;
+            return Math.min(Math.max(middle, from + 1), to - 1);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.aquora.contacts.etag;
+
+import com.aquora.contacts.cache.InvalidatableCache;
+import com.aquora.contacts.dto.ContactField;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.exception.PreconditionFailedException;
+import com.aquora.contacts.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * ETags fracos dos contatos. O de um contato vem da coluna version (e dos campos pedidos, que mudam
+ * a representação); o das páginas de listagem e busca vem da agenda (tenant) e de uma geração do
+ * diretório por agenda, que avança a cada escrita confirmada nela. A invalidação vinda de outra
+ * instância não diz a agenda, então avança uma geração comum a todas.
+ * A época da inicialização entra no ETag para que a geração recomeçada do zero não repita um valor antigo.
+ * As gerações ficam em memória: com várias instâncias e sem a invalidação entre elas, uma instância
+ * responderia 304 para páginas alteradas em outra, então o ETag do diretório só é gerado com a
+ * invalidação ligada ou numa instância única declarada.
+ */
+@Component
+public class ContactETags implements InvalidatableCache {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> tenantGenerations = new ConcurrentHashMap<>();
+    private final boolean directoryTagsEnabled;
+
+    public ContactETags(@Value("${aquora.cache-invalidation.enabled:false}") boolean invalidationEnabled,
+                        @Value("${aquora.etag.single-instance:false}") boolean singleInstance) {
+        this.directoryTagsEnabled = invalidationEnabled || singleInstance;
+    }
+
+    public boolean hasDirectoryTags() {
+        return directoryTagsEnabled;
+    }
+
+    // A agenda entra no ETag: o If-None-Match guardado para uma agenda nunca rende 304 em outra
+    public String directoryTag() {
+        String tenantId = TenantContext.currentTenantId();
+        return weak(epoch + "." + tenantId + "." + generation.get() + "." + tenantGeneration(tenantId).get());
+    }
+
+    public static String contactTag(long version, Set<ContactField> fields) {
+        if (fields == null) {
+            return weak(String.valueOf(version));
+        }
+        String selected = fields.stream()
+                .sorted()
+                .map(ContactField::getPropertyName)
+                .collect(Collectors.joining("."));
+        return weak(version + "-" + selected);
+    }
+
+    // Respostas do snapshot local: a tag nunca casa com as do banco, então não rende 304 quando ele volta
+    public static String snapshotTag(Instant writtenAt) {
+        return weak("snapshot." + Long.toString(writtenAt.toEpochMilli(), Character.MAX_RADIX));
+    }
+
+    /**
+     * Versão exigida pelo If-Match. Ausente ou "*" retorna null (basta o contato existir); um ETag
+     * que não foi gerado por {@link #contactTag} nunca casa, então a requisição falha com 412.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw preconditionFailed();
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int separator = value.indexOf('-');
+        try {
+            return Long.valueOf(separator < 0 ? value : value.substring(0, separator));
+        } catch (NumberFormatException e) {
+            throw preconditionFailed();
+        }
+    }
+
+    public static PreconditionFailedException preconditionFailed() {
+        return new PreconditionFailedException("O contato foi alterado desde a versão informada em If-Match");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContactChanged(ContactChangedEvent event) {
+        tenantGeneration(event.tenantId()).incrementAndGet();
+    }
+
+    @Override
+    public void invalidate(Collection<Long> contactIds) {
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    private AtomicLong tenantGeneration(String tenantId) {
+        return tenantGenerations.computeIfAbsent(tenantId, ignored -> new AtomicLong());
+    }
+
+    private static String weak(String value) {
+        return "W/\"" + value + "\"";
+    }
+}
@@ -0,0 +1,25 @@
+package com.aquora.contacts.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * Quantidade de eventos mantidos em memória para retomada via Last-Event-ID.
+     */
+    private int bufferSize = 1_024;
+
+    /**
+     * Eventos pendentes por assinante; ao estourar, a conexão é encerrada e o cliente reconecta.
+     */
+    private int subscriberQueueCapacity = 256;
+
+    private int dispatchThreads = 2;
+
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,7 @@
+package com.aquora.contacts.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,10 @@
+package com.aquora.contacts.event;
+
+import java.util.Set;
+
+/**
+ * Evento compacto enviado no feed {@code GET /contacts/changes}. A versão é monotônica na instância
+ * e, com o prefixo de época, vira o {@code id} do evento SSE, usado para retomar via {@code Last-Event-ID}.
+ */
+public record ContactChange(long version, Long id, ChangeType operation, Set<String> changedFields) {
+}
@@ -0,0 +1,234 @@
+package com.aquora.contacts.event;
+
+import com.aquora.contacts.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feed de alterações em memória. Cada escrita confirmada vira um {@link ContactChange} com versão
+ * monotônica, guardado num buffer circular para retomada. A publicação só enfileira nas filas
+ * limitadas dos assinantes; o envio acontece em threads próprias, então um consumidor lento
+ * nunca segura quem escreve — quando a fila dele enche, a conexão é encerrada. Cada assinante só
+ * recebe as alterações da própria agenda (tenant); a versão é compartilhada, então pode ter saltos.
+ * Alterações de outras instâncias chegam pelo barramento de invalidação ({@link RemoteChangeListener}).
+ * A versão só vale nesta instância e neste processo: o {@code id} SSE leva um prefixo de época
+ * ({@code época-versão}), e um {@code Last-Event-ID} de outra época recebe {@code reset}.
+ */
+@Component
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+@Slf4j
+public class ContactChangeFeed implements RemoteChangeListener {
+
+    static final String RESET_EVENT = "reset";
+
+    private static final String EVENT_ID_SEPARATOR = "-";
+
+    private final ChangeFeedProperties properties;
+    private final TenantChange[] buffer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE,
+            Character.MAX_RADIX);
+    private long lastVersion;
+
+    @Autowired
+    public ContactChangeFeed(ChangeFeedProperties properties) {
+        this.properties = properties;
+        this.buffer = new TenantChange[properties.getBufferSize()];
+        this.dispatcher = Executors.newFixedThreadPool(properties.getDispatchThreads(),
+                new CustomizableThreadFactory("contact-changes-"));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContactChanged(ContactChangedEvent event) {
+        publish(List.of(event));
+    }
+
+    @Override
+    public void onRemoteChanges(List<ContactChangedEvent> changes) {
+        publish(changes);
+    }
+
+    // Alterações remotas podem ter sido perdidas: os assinantes precisam recarregar
+    @Override
+    public void onRemoteChangesLost() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.resetPending = true;
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**
+     * Registra um assinante. Com {@code lastEventId}, reenvia o que ficou depois dele; se esse ponto
+     * já saiu do buffer (ou é de outra instância ou de antes de um restart), envia {@code reset} para o
+     * cliente recarregar. O assinante fica preso à agenda atual.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = createEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(TenantContext.currentTenantId(), emitter,
+                properties.getSubscriberQueueCapacity());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> drop(subscriber));
+        emitter.onError(error -> drop(subscriber));
+        // Comentário inicial: faz o servidor enviar os cabeçalhos já na assinatura
+        try {
+            emitter.send(SseEmitter.event().comment("conectado"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        synchronized (this) {
+            if (lastEventId != null && !replay(subscriber, lastEventId.trim())) {
+                subscriber.resetPending = true;
+            }
+            subscribers.add(subscriber);
+        }
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    public synchronized long currentVersion() {
+        return lastVersion;
+    }
+
+    String eventId(long version) {
+        return epoch + EVENT_ID_SEPARATOR + version;
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::drop);
+        dispatcher.shutdownNow();
+    }
+
+    private void publish(List<ContactChangedEvent> events) {
+        List<Subscriber> toDrain = new ArrayList<>(subscribers.size());
+        synchronized (this) {
+            for (ContactChangedEvent event : events) {
+                ContactChange change = new ContactChange(++lastVersion, event.contactId(), event.type(),
+                        event.changedFields());
+                buffer[(int) (change.version() % buffer.length)] = new TenantChange(event.tenantId(), change);
+                for (Subscriber subscriber : subscribers) {
+                    if (!subscriber.tenantId.equals(event.tenantId())) {
+                        continue;
+                    }
+                    if (subscriber.queue.offer(change)) {
+                        toDrain.add(subscriber);
+                    } else {
+                        log.warn("Assinante do feed de alterações muito lento, encerrando conexão");
+                        drop(subscriber);
+                    }
+                }
+            }
+        }
+        toDrain.stream().distinct().forEach(this::scheduleDrain);
+    }
+
+    private boolean replay(Subscriber subscriber, String lastEventIdHeader) {
+        String prefix = epoch + EVENT_ID_SEPARATOR;
+        if (!lastEventIdHeader.startsWith(prefix)) {
+            return false;
+        }
+        long lastEventId;
+        try {
+            lastEventId = Long.parseLong(lastEventIdHeader.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long oldestAvailable = Math.max(1, lastVersion - buffer.length + 1);
+        if (lastEventId > lastVersion || lastEventId < oldestAvailable - 1
+                || lastVersion - lastEventId > subscriber.queue.remainingCapacity()) {
+            return false;
+        }
+        for (long version = lastEventId + 1; version <= lastVersion; version++) {
+            TenantChange buffered = buffer[(int) (version % buffer.length)];
+            if (subscriber.tenantId.equals(buffered.tenantId())) {
+                subscriber.queue.offer(buffered.change());
+            }
+        }
+        return true;
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            try {
+                if (subscriber.resetPending) {
+                    subscriber.resetPending = false;
+                    subscriber.emitter.send(SseEmitter.event().id(eventId(currentVersion()))
+                            .name(RESET_EVENT).data(""));
+                }
+                ContactChange change;
+                while ((change = subscriber.queue.poll()) != null) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(eventId(change.version()))
+                            .name(change.operation().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Assinante do feed de alterações desconectado: {}", e.getMessage());
+                drop(subscriber);
+                return;
+            } finally {
+                subscriber.draining.set(false);
+            }
+        } while ((subscriber.resetPending || !subscriber.queue.isEmpty())
+                && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private record TenantChange(String tenantId, ContactChange change) {
+    }
+
+    private static final class Subscriber {
+
+        private final String tenantId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<ContactChange> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean resetPending;
+
+        private Subscriber(String tenantId, SseEmitter emitter, int capacity) {
+            this.tenantId = tenantId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.aquora.contacts.event;
+
+import java.util.Set;
+
+/**
+ * Publicado pelo {@code ContactService} a cada escrita. Os ouvintes usam
+ * {@code @TransactionalEventListener}, então só recebem o evento depois do commit.
+ * {@code changedFields} usa os nomes de propriedade do {@code ContactDTO}; {@code previous}
+ * é nulo na criação e {@code current} é nulo na exclusão. {@code tenantId} é a agenda do contato.
+ */
+public record ContactChangedEvent(String tenantId, Long contactId, ChangeType type, Set<String> changedFields,
+                                  ContactState previous, ContactState current) {
+}
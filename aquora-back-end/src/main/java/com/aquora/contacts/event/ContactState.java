@@ -0,0 +1,17 @@
+package com.aquora.contacts.event;
+
+import com.aquora.contacts.model.Contact;
+
+import java.time.LocalDate;
+
+/**
+ * Valores de um contato antes ou depois de uma escrita, sem a foto: só o tamanho dela.
+ */
+public record ContactState(String name, String email, String phone, LocalDate dateOfBirth, Long pictureSize) {
+
+    public static ContactState of(Contact contact) {
+        byte[] picture = contact.getProfilePicture();
+        return new ContactState(contact.getName(), contact.getEmail(), contact.getPhone(), contact.getDateOfBirth(),
+                picture != null ? (long) picture.length : null);
+    }
+}
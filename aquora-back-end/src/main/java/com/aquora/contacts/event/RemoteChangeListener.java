@@ -0,0 +1,16 @@
+package com.aquora.contacts.event;
+
+import java.util.List;
+
+/**
+ * Recebe as alterações confirmadas em outras instâncias, entregues pelo barramento de invalidação.
+ * Os eventos remotos trazem só agenda, id, operação e campos alterados ({@code previous} e
+ * {@code current} são nulos). {@link #onRemoteChangesLost()} avisa que alterações podem ter sido
+ * perdidas (mensagem pulada, reconexão ou fila cheia na origem).
+ */
+public interface RemoteChangeListener {
+
+    void onRemoteChanges(List<ContactChangedEvent> changes);
+
+    void onRemoteChangesLost();
+}
@@ -6,8 +6,9 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BadRequestException extends RuntimeException {
     
+    // Sem stack trace: é resposta esperada para requisições do cliente, não falha do servidor
     public BadRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public BadRequestException(String message, Throwable cause) {
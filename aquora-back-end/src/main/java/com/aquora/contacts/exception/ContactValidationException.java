@@ -0,0 +1,33 @@
+package com.aquora.contacts.exception;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Falha de validação com todos os erros por campo. Não captura stack trace: é fluxo normal para
+ * requisições inválidas, e o custo de montar a pilha aparecia nos perfis sob tráfego de dados ruins.
+ * Estende {@link IllegalArgumentException} para manter o contrato dos chamadores existentes.
+ */
+public class ContactValidationException extends IllegalArgumentException {
+
+    private final Map<String, String> errors;
+
+    public ContactValidationException(Map<String, String> errors) {
+        super(String.join("; ", errors.values()));
+        this.errors = Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+    }
+
+    public static ContactValidationException of(String field, String message) {
+        return new ContactValidationException(Map.of(field, message));
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
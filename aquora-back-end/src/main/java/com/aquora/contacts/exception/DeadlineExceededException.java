@@ -0,0 +1,13 @@
+package com.aquora.contacts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+
+    // Sem stack trace: o prazo esgotado é esperado sob carga, o handler só usa a mensagem
+    public DeadlineExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,6 +1,8 @@
 package com.aquora.contacts.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -37,6 +39,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(ContactValidationException.class)
+    public ResponseEntity<ValidationErrorResponse> handleContactValidationException(
+            ContactValidationException exception, WebRequest request) {
+        
+        ValidationErrorResponse errorDetails = new ValidationErrorResponse(
+                LocalDateTime.now(),
+                exception.getMessage(),
+                request.getDescription(false),
+                exception.getErrors());
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorDetails> handleIllegalArgumentException(
             IllegalArgumentException exception, WebRequest request) {
@@ -49,6 +64,66 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorDetails> handlePreconditionFailedException(
+            PreconditionFailedException exception, WebRequest request) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                exception.getMessage(),
+                request.getDescription(false));
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    // Outra requisição gravou o contato entre a leitura e o UPDATE versionado
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDetails> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException exception, WebRequest request) {
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                "O contato foi alterado por outra requisição, tente novamente",
+                request.getDescription(false));
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorDetails> handleDeadlineExceededException(
+            DeadlineExceededException exception, WebRequest request) {
+        
+        log.warn("Prazo da requisição esgotado: {}", request.getDescription(false));
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                exception.getMessage(),
+                request.getDescription(false));
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.GATEWAY_TIMEOUT);
+    }
+    
+    // Consulta cancelada pelo driver ao atingir o query timeout derivado do prazo da requisição
+    @ExceptionHandler({QueryTimeoutException.class, jakarta.persistence.QueryTimeoutException.class})
+    public ResponseEntity<ErrorDetails> handleQueryTimeoutException(
+            RuntimeException exception, WebRequest request) {
+        
+        log.warn("Consulta cancelada por timeout: {}", request.getDescription(false));
+        
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                "Tempo limite da requisição esgotado",
+                request.getDescription(false));
+        
+        return new ResponseEntity<>(errorDetails, HttpStatus.GATEWAY_TIMEOUT);
+    }
+    
+    // Sem corpo de erro: a resposta já foi enviada em parte; relançada, chega ao contêiner, que aborta a conexão
+    @ExceptionHandler(StreamAbortedException.class)
+    public void handleStreamAbortedException(StreamAbortedException exception) {
+        throw exception;
+    }
+    
     // Tratamos apenas exceções não mapeadas explicitamente
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorDetails> handleGlobalException(
@@ -0,0 +1,13 @@
+package com.aquora.contacts.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    // Sem stack trace: If-Match desatualizado é resposta esperada, não falha do servidor
+    public PreconditionFailedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -6,8 +6,9 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
     
+    // Sem stack trace: o handler só usa a mensagem
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public ResourceNotFoundException(String message, Throwable cause) {
@@ -0,0 +1,12 @@
+package com.aquora.contacts.exception;
+
+/**
+ * Falha de uma resposta em streaming depois que parte do corpo já saiu. O status 200 não pode mais
+ * ser trocado, então a exceção segue até o contêiner, que fecha a conexão sem terminar o corpo.
+ */
+public class StreamAbortedException extends RuntimeException {
+
+    public StreamAbortedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
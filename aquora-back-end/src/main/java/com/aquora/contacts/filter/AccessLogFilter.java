@@ -0,0 +1,238 @@
+package com.aquora.contacts.filter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Um evento estruturado por requisição no logger {@value #LOGGER_NAME} (método, caminho, query,
+ * status, duração, bytes e itens devolvidos), em pares chave-valor. O appender desse logger é
+ * assíncrono e descarta eventos com a fila cheia, então o log nunca segura a requisição. Leituras
+ * bem-sucedidas e rápidas são amostradas; os valores dos parâmetros sensíveis saem mascarados.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER_NAME = "com.aquora.contacts.access";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final String RESULT_COUNT_ATTRIBUTE = AccessLogFilter.class.getName() + ".resultCount";
+    private static final String REDACTED = "***";
+
+    private final AccessLogProperties properties;
+    private final Set<String> redactedParameters;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.redactedParameters = properties.getRedactedParameters().stream()
+                .map(parameter -> parameter.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Quantidade de itens da resposta da requisição atual, registrada no evento de acesso.
+     */
+    public static void recordResultCount(int count) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(RESULT_COUNT_ATTRIBUTE, count, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        CountingResponse countingResponse = new CountingResponse(response);
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, countingResponse);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // SSE e afins: o evento sai quando a resposta assíncrona termina
+                request.getAsyncContext().addListener(new CompletionListener(request, countingResponse, startedAt));
+            } else {
+                log(request, countingResponse, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                        : countingResponse.getStatus(), startedAt);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, CountingResponse response, int status, long startedAt) {
+        long durationNanos = System.nanoTime() - startedAt;
+        if (!accessLog.isInfoEnabled()) {
+            return;
+        }
+        boolean sampled = status < 400 && isRead(request.getMethod())
+                && durationNanos < properties.getSlowThreshold().toNanos();
+        if (sampled && !sample()) {
+            return;
+        }
+
+        LoggingEventBuilder event = accessLog.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI());
+        String query = redactedQuery(request.getQueryString());
+        if (query != null) {
+            event.addKeyValue("query", query);
+        }
+        event.addKeyValue("status", status)
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .addKeyValue("bytes", response.bytesWritten());
+        Object resultCount = request.getAttribute(RESULT_COUNT_ATTRIBUTE);
+        if (resultCount != null) {
+            event.addKeyValue("results", resultCount);
+        }
+        if (sampled) {
+            event.addKeyValue("sampleRate", properties.getSuccessSampleRate());
+        }
+        event.log("access");
+    }
+
+    private boolean sample() {
+        double rate = properties.getSuccessSampleRate();
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    private String redactedQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return null;
+        }
+        StringBuilder redacted = new StringBuilder(query.length());
+        for (String pair : query.split("&")) {
+            if (redacted.length() > 0) {
+                redacted.append('&');
+            }
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            if (separator >= 0 && redactedParameters.contains(name.toLowerCase(Locale.ROOT))) {
+                redacted.append(name).append('=').append(REDACTED);
+            } else {
+                redacted.append(pair);
+            }
+        }
+        return redacted.toString();
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final CountingResponse response;
+        private final long startedAt;
+
+        CompletionListener(HttpServletRequest request, CountingResponse response, long startedAt) {
+            this.request = request;
+            this.response = response;
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            log(request, response, response.getStatus(), startedAt);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    // Conta os bytes do corpo sem guardá-los; respostas escritas pelo Writer usam o Content-Length
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private CountingOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        long bytesWritten() {
+            if (outputStream != null) {
+                return outputStream.count;
+            }
+            String contentLength = getHeader(HttpHeaders.CONTENT_LENGTH);
+            return contentLength != null ? Long.parseLong(contentLength) : 0;
+        }
+    }
+
+    private static final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private long count;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.aquora.contacts.filter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Fração das leituras bem-sucedidas registradas (0 a 1). Escritas, erros e requisições lentas
+     * são sempre registrados.
+     */
+    private double successSampleRate = 0.1;
+
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    // Parâmetros de query cujo valor pode conter dados pessoais; o valor sai como ***
+    private Set<String> redactedParameters = new LinkedHashSet<>(List.of("search", "cursor", "name", "email", "phone"));
+
+    /**
+     * Capacidade da fila do appender assíncrono do log de acesso, lida pelo {@code logback-spring.xml}.
+     */
+    private int queueSize = 8192;
+}
@@ -0,0 +1,117 @@
+package com.aquora.contacts.filter;
+
+import com.aquora.contacts.exception.ErrorDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Controle de admissão antes do multipart ser lido: cada classe de requisição (upload, escrita
+ * simples e leitura) tem seu próprio bulkhead, para que rajadas de uploads não ocupem as threads
+ * e conexões usadas pelas leituras. Opcionalmente aplica um token bucket por endereço do cliente.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String CONTACTS_PATH = "/contacts";
+    private static final long BULKHEAD_RETRY_AFTER_SECONDS = 1;
+
+    private final AdmissionControlProperties properties;
+    private final Bulkhead uploads;
+    private final Bulkhead writes;
+    private final Bulkhead reads;
+    private final ClientRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.uploads = properties.getUploads().toBulkhead();
+        this.writes = properties.getWrites().toBulkhead();
+        this.reads = properties.getReads().toBulkhead();
+        this.rateLimiter = properties.getRateLimit().isEnabled()
+                ? new ClientRateLimiter(properties.getRateLimit())
+                : null;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return HttpMethod.OPTIONS.matches(request.getMethod())
+                || !request.getServletPath().startsWith(CONTACTS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rateLimiter != null) {
+            // Pelo endereço, não pelo X-Client-Id, que o cliente pode trocar a cada requisição
+            long retryAfter = rateLimiter.acquire(request.getRemoteAddr());
+            if (retryAfter > 0) {
+                reject(request, response, retryAfter, "Limite de requisições excedido para o cliente");
+                return;
+            }
+        }
+
+        Bulkhead bulkhead = selectBulkhead(request);
+        if (!enter(bulkhead)) {
+            log.warn("Requisição rejeitada pelo bulkhead: {} {}", request.getMethod(), request.getRequestURI());
+            reject(request, response, BULKHEAD_RETRY_AFTER_SECONDS, "Servidor sobrecarregado, tente novamente");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+
+    private Bulkhead selectBulkhead(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return reads;
+        }
+        return isUpload(request) ? uploads : writes;
+    }
+
+    private boolean isUpload(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            return false;
+        }
+        long contentLength = request.getContentLengthLong();
+        return contentLength < 0 || contentLength > properties.getUploadThresholdBytes();
+    }
+
+    private boolean enter(Bulkhead bulkhead) {
+        try {
+            return bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterSeconds,
+                        String message) throws IOException {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                message,
+                "uri=" + request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+}
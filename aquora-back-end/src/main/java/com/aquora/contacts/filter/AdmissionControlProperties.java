@@ -0,0 +1,50 @@
+package com.aquora.contacts.filter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    // Escritas multipart acima deste tamanho (ou sem Content-Length) contam como upload
+    private long uploadThresholdBytes = 64 * 1024;
+
+    private BulkheadSettings uploads = new BulkheadSettings(8, 16, Duration.ofSeconds(2));
+    private BulkheadSettings writes = new BulkheadSettings(32, 64, Duration.ofSeconds(1));
+    private BulkheadSettings reads = new BulkheadSettings(128, 256, Duration.ofMillis(500));
+
+    private RateLimit rateLimit = new RateLimit();
+
+    @Data
+    public static class BulkheadSettings {
+        private int maxConcurrent;
+        private int queueCapacity;
+        private Duration maxWait;
+
+        public BulkheadSettings() {
+        }
+
+        public BulkheadSettings(int maxConcurrent, int queueCapacity, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.queueCapacity = queueCapacity;
+            this.maxWait = maxWait;
+        }
+
+        public Bulkhead toBulkhead() {
+            return new Bulkhead(maxConcurrent, queueCapacity, maxWait);
+        }
+    }
+
+    @Data
+    public static class RateLimit {
+        private boolean enabled;
+        private int burst = 100;
+        private double requestsPerSecond = 50;
+        private int maxTrackedClients = 10_000;
+    }
+}
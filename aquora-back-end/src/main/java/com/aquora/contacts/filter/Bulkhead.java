@@ -0,0 +1,47 @@
+package com.aquora.contacts.filter;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limita as requisições simultâneas de uma classe de endpoints. Quem não consegue permissão
+ * espera numa fila limitada por até {@code maxWait}; com a fila cheia, é rejeitado na hora.
+ */
+public class Bulkhead {
+
+    private final Semaphore permits;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public Bulkhead(int maxConcurrent, int queueCapacity, Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public boolean tryEnter() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > queueCapacity) {
+            waiting.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,21 @@
+package com.aquora.contacts.filter;
+
+public final class ClientContext {
+
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private ClientContext() {
+    }
+
+    public static String currentClientId() {
+        return CURRENT_CLIENT.get();
+    }
+
+    static void setCurrentClientId(String clientId) {
+        CURRENT_CLIENT.set(clientId);
+    }
+
+    static void clear() {
+        CURRENT_CLIENT.remove();
+    }
+}
@@ -0,0 +1,38 @@
+package com.aquora.contacts.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ClientIdentityFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ClientContext.setCurrentClientId(resolveClientId(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ClientContext.clear();
+        }
+    }
+
+    private String resolveClientId(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        if (clientId != null && !clientId.isBlank()) {
+            return clientId.trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,48 @@
+package com.aquora.contacts.filter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token bucket por endereço do cliente. A chave não vem de header: um id escolhido pelo cliente
+ * permitiria um balde novo (cheio) a cada requisição. Os baldes ficam num LRU limitado a
+ * {@code maxTrackedClients}; o descartado é o do cliente há mais tempo sem requisições, cujo balde
+ * provavelmente já está cheio de novo.
+ */
+public class ClientRateLimiter {
+
+    private final AdmissionControlProperties.RateLimit settings;
+    private final Map<String, TokenBucket> buckets;
+
+    public ClientRateLimiter(AdmissionControlProperties.RateLimit settings) {
+        this.settings = settings;
+        int maxTrackedClients = settings.getMaxTrackedClients();
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxTrackedClients;
+            }
+        };
+    }
+
+    /**
+     * Retorna 0 se a requisição pode seguir ou o número de segundos para o Retry-After.
+     */
+    public long acquire(String clientAddress) {
+        TokenBucket bucket;
+        synchronized (buckets) {
+            bucket = buckets.computeIfAbsent(clientAddress,
+                    key -> new TokenBucket(settings.getBurst(), settings.getRequestsPerSecond()));
+        }
+        if (bucket.tryConsume()) {
+            return 0;
+        }
+        return Math.max(1, bucket.secondsUntilNextToken());
+    }
+
+    int trackedClients() {
+        synchronized (buckets) {
+            return buckets.size();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.aquora.contacts.filter;
+
+import com.aquora.contacts.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Prazo da requisição atual. Definido pelo {@link RequestDeadlineFilter} e consultado entre as
+ * fases do serviço e a cada statement JDBC, que recebe o orçamento restante como query timeout.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final Duration budget;
+    private final long expiresAtNanos;
+
+    private RequestDeadline(Duration budget) {
+        this.budget = budget;
+        this.expiresAtNanos = System.nanoTime() + budget.toNanos();
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    // Lança DeadlineExceededException se a requisição atual já passou do prazo
+    public static void check() {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw deadline.exceeded();
+        }
+    }
+
+    // Leva o prazo da thread atual para uma tarefa executada em outra thread
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        return propagate(CURRENT.get(), task);
+    }
+
+    // Idem, com um prazo capturado antes (por exemplo, guardado junto de um item de fila)
+    public static <T> Supplier<T> propagate(RequestDeadline deadline, Supplier<T> task) {
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            RequestDeadline previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public Duration budget() {
+        return budget;
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    public DeadlineExceededException exceeded() {
+        return new DeadlineExceededException(
+                "Tempo limite da requisição esgotado (" + budget.toMillis() + " ms)");
+    }
+
+    static RequestDeadline start(Duration budget) {
+        RequestDeadline deadline = new RequestDeadline(budget);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    private static void restore(RequestDeadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.aquora.contacts.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Define o prazo de cada requisição: o do header {@value #TIMEOUT_HEADER} (em milissegundos,
+ * limitado a max-timeout) ou o padrão do endpoint. Roda antes do controle de admissão, então a
+ * espera nos bulkheads também consome o orçamento.
+ */
+@Slf4j
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final String CONTACTS_PATH = "/contacts";
+
+    private final RequestDeadlineProperties properties;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public RequestDeadlineFilter(RequestDeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith(CONTACTS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestDeadline.start(resolveBudget(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private Duration resolveBudget(HttpServletRequest request) {
+        Duration requested = parseTimeout(request.getHeader(TIMEOUT_HEADER));
+        if (requested != null) {
+            return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+        }
+        String path = request.getServletPath();
+        for (Map.Entry<String, Duration> endpoint : properties.getEndpoints().entrySet()) {
+            if (pathMatcher.match(endpoint.getKey(), path)) {
+                return endpoint.getValue();
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+
+    private Duration parseTimeout(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        long millis;
+        try {
+            millis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            millis = 0;
+        }
+        if (millis <= 0) {
+            log.debug("Header {} inválido, usando o prazo padrão: '{}'", TIMEOUT_HEADER, header);
+            return null;
+        }
+        return Duration.ofMillis(millis);
+    }
+}
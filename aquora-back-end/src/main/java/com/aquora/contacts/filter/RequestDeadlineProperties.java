@@ -0,0 +1,23 @@
+package com.aquora.contacts.filter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.deadline")
+public class RequestDeadlineProperties {
+
+    private boolean enabled = true;
+
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    // Limite para o prazo pedido pelo cliente no header X-Request-Timeout
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    // Prazo padrão por endpoint (padrões Ant sobre o caminho, ex.: /contacts/duplicates/scan); o primeiro que casar vale
+    private Map<String, Duration> endpoints = new LinkedHashMap<>();
+}
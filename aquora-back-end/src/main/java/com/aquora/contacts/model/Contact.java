@@ -1,15 +1,26 @@
 package com.aquora.contacts.model;
 
+import com.aquora.contacts.tenant.TenantContext;
+import com.aquora.contacts.util.MonthDayKey;
+import com.aquora.contacts.util.TextNormalizer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "contacts")
+@Table(name = "contacts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_contacts_tenant_email", columnNames = {"tenant_id", "email"}),
+        @UniqueConstraint(name = "uk_contacts_tenant_phone", columnNames = {"tenant_id", "phone"})
+}, indexes = {
+        @Index(name = "idx_contacts_sort_name", columnList = "tenant_id, sort_name, id"),
+        @Index(name = "idx_contacts_birth_month_day", columnList = "tenant_id, birth_month_day, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,13 +31,19 @@ public class Contact {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Agenda dona do contato, preenchida pelo Hibernate; o default cobre as linhas anteriores à separação por tenant
+    @TenantId
+    @ColumnDefault("'" + TenantContext.DEFAULT_TENANT + "'")
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
-    @Column(nullable = false, unique = true, length = 11)
+    @Column(nullable = false, length = 11)
     private String phone;
 
     @Column(nullable = false, name = "date_of_birth")
@@ -38,4 +55,30 @@ public class Contact {
 
     @Column(name = "profile_picture_type")
     private String profilePictureType;
+
+    // Nome sem acentos e em minúsculas, usado na listagem alfabética e no índice por letra
+    @Column(name = "sort_name")
+    private String sortName;
+
+    // Mês e dia do nascimento (MMDD), usado na consulta de próximos aniversários
+    @Column(name = "birth_month_day")
+    private Integer birthMonthDay;
+
+    // Tamanho da foto em bytes, para estatísticas sem ler a coluna LOB
+    @Column(name = "profile_picture_size")
+    private Long profilePictureSize;
+
+    // Controle otimista de concorrência e base do ETag; o default cobre linhas antigas e inserts fora do JPA
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    public void updateDerivedColumns() {
+        sortName = TextNormalizer.sortKey(name);
+        birthMonthDay = MonthDayKey.of(dateOfBirth);
+        profilePictureSize = profilePicture != null ? (long) profilePicture.length : null;
+    }
 } 
\ No newline at end of file
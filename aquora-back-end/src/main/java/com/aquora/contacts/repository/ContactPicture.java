@@ -0,0 +1,4 @@
+package com.aquora.contacts.repository;
+
+public record ContactPicture(Long id, byte[] data, String contentType) {
+}
@@ -1,17 +1,28 @@
 package com.aquora.contacts.repository;
 
+import com.aquora.contacts.event.ContactState;
 import com.aquora.contacts.model.Contact;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ContactRepository extends JpaRepository<Contact, Long> {
+public interface ContactRepository extends JpaRepository<Contact, Long>, SparseContactRepository,
+        VersionedContactRepository {
+
+    // O findById padrão usa EntityManager.find, que ignora o tenant; em JPQL o Hibernate filtra pela agenda atual
+    @Override
+    @Query("SELECT c FROM Contact c WHERE c.id = :id")
+    Optional<Contact> findById(@Param("id") Long id);
     
     boolean existsByEmail(String email);
     
@@ -20,6 +31,12 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
     boolean existsByEmailAndIdNot(String email, Long id);
     
     boolean existsByPhoneAndIdNot(String phone, Long id);
+
+    @Query("SELECT c.email FROM Contact c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT c.phone FROM Contact c WHERE c.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
     
     @Query("SELECT c FROM Contact c WHERE " +
            "LOWER(c.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -32,4 +49,91 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
            "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "c.phone LIKE CONCAT('%', :searchTerm, '%')")
     Page<Contact> findBySearchTermPaged(@Param("searchTerm") String searchTerm, Pageable pageable);
-} 
\ No newline at end of file
+
+    @Query(value = "SELECT new com.aquora.contacts.repository.ContactSummary(" +
+                   "c.id, c.name, c.email, c.phone, c.dateOfBirth, " +
+                   "CASE WHEN c.profilePicture IS NULL THEN false ELSE true END) " +
+                   "FROM Contact c",
+           countQuery = "SELECT COUNT(c) FROM Contact c")
+    Page<ContactSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = "SELECT new com.aquora.contacts.repository.ContactSummary(" +
+                   "c.id, c.name, c.email, c.phone, c.dateOfBirth, " +
+                   "CASE WHEN c.profilePicture IS NULL THEN false ELSE true END) " +
+                   "FROM Contact c WHERE " +
+                   "LOWER(c.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "c.phone LIKE CONCAT('%', :searchTerm, '%')",
+           countQuery = "SELECT COUNT(c) FROM Contact c WHERE " +
+                   "LOWER(c.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "c.phone LIKE CONCAT('%', :searchTerm, '%')")
+    Page<ContactSummary> findSummariesBySearchTerm(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    @Query("SELECT new com.aquora.contacts.repository.ContactPicture(c.id, c.profilePicture, c.profilePictureType) " +
+           "FROM Contact c WHERE c.id IN :ids")
+    List<ContactPicture> findPicturesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.version FROM Contact c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Como no findById: o deleteById padrão remove a entidade por id e versão, sem o tenant_id no WHERE
+    @Override
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Contact c WHERE c.id = :id")
+    void deleteById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Contact c WHERE c.id = :id AND c.version = :version")
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    @Query("SELECT new com.aquora.contacts.event.ContactState(c.name, c.email, c.phone, c.dateOfBirth, c.profilePictureSize) " +
+           "FROM Contact c WHERE c.id = :id")
+    Optional<ContactState> findStateById(@Param("id") Long id);
+
+    // Seek por (sort_name, id): usa o índice idx_contacts_sort_name, sem OFFSET
+    @Query("SELECT new com.aquora.contacts.repository.ContactSummary(" +
+           "c.id, c.name, c.email, c.phone, c.dateOfBirth, " +
+           "CASE WHEN c.profilePicture IS NULL THEN false ELSE true END) " +
+           "FROM Contact c WHERE (c.sortName, c.id) > (:sortName, :id) " +
+           "ORDER BY c.sortName, c.id")
+    List<ContactSummary> findSummariesByNameAfter(@Param("sortName") String sortName, @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @Query("SELECT new com.aquora.contacts.repository.InitialCount(SUBSTRING(c.sortName, 1, 1), COUNT(c)) " +
+           "FROM Contact c WHERE c.sortName IS NOT NULL GROUP BY SUBSTRING(c.sortName, 1, 1)")
+    List<InitialCount> countBySortNameInitial();
+
+    @Query("SELECT new com.aquora.contacts.repository.ContactSummary(" +
+           "c.id, c.name, c.email, c.phone, c.dateOfBirth, false) " +
+           "FROM Contact c WHERE c.sortName IS NULL")
+    List<ContactSummary> findSummariesWithoutSortName();
+
+    @Modifying
+    @Query("UPDATE Contact c SET c.sortName = :sortName WHERE c.id = :id")
+    int updateSortName(@Param("id") Long id, @Param("sortName") String sortName);
+
+    @Query(value = "SELECT new com.aquora.contacts.repository.ContactSummary(" +
+                   "c.id, c.name, c.email, c.phone, c.dateOfBirth, false) " +
+                   "FROM Contact c WHERE c.birthMonthDay BETWEEN :startKey AND :endKey " +
+                   "ORDER BY c.birthMonthDay, c.id",
+           countQuery = "SELECT COUNT(c) FROM Contact c WHERE c.birthMonthDay BETWEEN :startKey AND :endKey")
+    Page<ContactSummary> findBirthdaysBetween(@Param("startKey") int startKey, @Param("endKey") int endKey,
+                                              Pageable pageable);
+
+    // Período que atravessa o ano: o fim de um ano vem antes do começo do seguinte
+    @Query(value = "SELECT new com.aquora.contacts.repository.ContactSummary(" +
+                   "c.id, c.name, c.email, c.phone, c.dateOfBirth, false) " +
+                   "FROM Contact c WHERE c.birthMonthDay >= :startKey OR c.birthMonthDay <= :endKey " +
+                   "ORDER BY CASE WHEN c.birthMonthDay >= :startKey THEN 0 ELSE 1 END, c.birthMonthDay, c.id",
+           countQuery = "SELECT COUNT(c) FROM Contact c " +
+                   "WHERE c.birthMonthDay >= :startKey OR c.birthMonthDay <= :endKey")
+    Page<ContactSummary> findBirthdaysAcrossYearEnd(@Param("startKey") int startKey, @Param("endKey") int endKey,
+                                                    Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Contact c SET c.birthMonthDay = MONTH(c.dateOfBirth) * 100 + DAY(c.dateOfBirth) " +
+           "WHERE c.birthMonthDay IS NULL")
+    int backfillBirthMonthDays();
+}
@@ -0,0 +1,12 @@
+package com.aquora.contacts.repository;
+
+import java.time.LocalDate;
+
+public record ContactSummary(
+        Long id,
+        String name,
+        String email,
+        String phone,
+        LocalDate dateOfBirth,
+        Boolean hasProfilePicture) {
+}
@@ -0,0 +1,4 @@
+package com.aquora.contacts.repository;
+
+public record InitialCount(String initial, Long count) {
+}
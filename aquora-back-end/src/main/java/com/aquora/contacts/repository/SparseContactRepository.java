@@ -0,0 +1,22 @@
+package com.aquora.contacts.repository;
+
+import com.aquora.contacts.dto.ContactField;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Consultas de ContactSummary que selecionam só as colunas dos campos pedidos. O id vem sempre;
+ * as colunas não pedidas ficam nulas no resumo e {@code hasProfilePicture} fica false sem PROFILE_PICTURE.
+ */
+public interface SparseContactRepository {
+
+    Page<ContactSummary> findSummaries(String searchTerm, Set<ContactField> fields, Pageable pageable);
+
+    List<ContactSummary> findSummariesByNameAfter(String sortName, Long id, Set<ContactField> fields, int limit);
+
+    Optional<ContactSummary> findSummaryById(Long id, Set<ContactField> fields);
+}
@@ -0,0 +1,110 @@
+package com.aquora.contacts.repository;
+
+import com.aquora.contacts.dto.ContactField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+class SparseContactRepositoryImpl implements SparseContactRepository {
+
+    private static final String SEARCH_CONDITION = " WHERE " +
+            "LOWER(c.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+            "c.phone LIKE CONCAT('%', :searchTerm, '%')";
+
+    // A foto nunca é selecionada aqui: só o indicador, e as fotos vêm depois por findPicturesByIdIn
+    private static final Map<ContactField, String> COLUMNS = new EnumMap<>(Map.of(
+            ContactField.NAME, "c.name",
+            ContactField.EMAIL, "c.email",
+            ContactField.PHONE, "c.phone",
+            ContactField.DATE_OF_BIRTH, "c.dateOfBirth",
+            ContactField.PROFILE_PICTURE, "CASE WHEN c.profilePicture IS NULL THEN false ELSE true END"));
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    SparseContactRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<ContactSummary> findSummaries(String searchTerm, Set<ContactField> fields, Pageable pageable) {
+        boolean search = searchTerm != null && !searchTerm.isBlank();
+        String condition = search ? SEARCH_CONDITION : "";
+
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                selectClause(fields) + condition + " ORDER BY c.id ASC", Tuple.class);
+        TypedQuery<Long> countQuery = entityManager.createQuery(
+                "SELECT COUNT(c) FROM Contact c" + condition, Long.class);
+        if (search) {
+            query.setParameter("searchTerm", searchTerm);
+            countQuery.setParameter("searchTerm", searchTerm);
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+
+        List<ContactSummary> content = toSummaries(query.getResultList(), fields);
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::getSingleResult);
+    }
+
+    @Override
+    public List<ContactSummary> findSummariesByNameAfter(String sortName, Long id, Set<ContactField> fields,
+                                                         int limit) {
+        return toSummaries(entityManager.createQuery(selectClause(fields)
+                        + " WHERE (c.sortName, c.id) > (:sortName, :id) ORDER BY c.sortName, c.id", Tuple.class)
+                .setParameter("sortName", sortName)
+                .setParameter("id", id)
+                .setMaxResults(limit)
+                .getResultList(), fields);
+    }
+
+    @Override
+    public Optional<ContactSummary> findSummaryById(Long id, Set<ContactField> fields) {
+        return entityManager.createQuery(selectClause(fields) + " WHERE c.id = :id", Tuple.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toSummary(tuple, fields));
+    }
+
+    private String selectClause(Set<ContactField> fields) {
+        StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM Contact c");
+        select.add("c.id AS " + ContactField.ID.name());
+        COLUMNS.forEach((field, column) -> {
+            if (fields.contains(field)) {
+                select.add(column + " AS " + field.name());
+            }
+        });
+        return select.toString();
+    }
+
+    private List<ContactSummary> toSummaries(List<Tuple> tuples, Set<ContactField> fields) {
+        return tuples.stream().map(tuple -> toSummary(tuple, fields)).toList();
+    }
+
+    private ContactSummary toSummary(Tuple tuple, Set<ContactField> fields) {
+        return new ContactSummary(
+                tuple.get(ContactField.ID.name(), Long.class),
+                value(tuple, fields, ContactField.NAME, String.class),
+                value(tuple, fields, ContactField.EMAIL, String.class),
+                value(tuple, fields, ContactField.PHONE, String.class),
+                value(tuple, fields, ContactField.DATE_OF_BIRTH, LocalDate.class),
+                Boolean.TRUE.equals(value(tuple, fields, ContactField.PROFILE_PICTURE, Boolean.class)));
+    }
+
+    private <T> T value(Tuple tuple, Set<ContactField> fields, ContactField field, Class<T> type) {
+        return fields.contains(field) ? tuple.get(field.name(), type) : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.aquora.contacts.repository;
+
+import com.aquora.contacts.model.Contact;
+
+/**
+ * Gravação de um contato já existente por UPDATE em JPQL. O flush da entidade filtra só por id e
+ * versão; em JPQL o Hibernate acrescenta o tenant_id, e na tabela particionada o UPDATE vai direto
+ * para a partição da agenda.
+ */
+public interface VersionedContactRepository {
+
+    /**
+     * Grava os campos de {@code contact} se a versão no banco ainda for a dele, e então incrementa a
+     * versão do objeto, que fica desanexado. Devolve 0 se outra requisição gravou antes.
+     */
+    int updateVersioned(Contact contact);
+}
@@ -0,0 +1,44 @@
+package com.aquora.contacts.repository;
+
+import com.aquora.contacts.model.Contact;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class VersionedContactRepositoryImpl implements VersionedContactRepository {
+
+    private final EntityManager entityManager;
+
+    @Autowired
+    VersionedContactRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int updateVersioned(Contact contact) {
+        // Desanexado, o contato alterado não é gravado de novo pelo flush automático antes do UPDATE
+        entityManager.detach(contact);
+        contact.updateDerivedColumns();
+        int updated = entityManager.createQuery("UPDATE Contact c SET " +
+                        "c.name = :name, c.email = :email, c.phone = :phone, c.dateOfBirth = :dateOfBirth, " +
+                        "c.profilePicture = :profilePicture, c.profilePictureType = :profilePictureType, " +
+                        "c.sortName = :sortName, c.birthMonthDay = :birthMonthDay, " +
+                        "c.profilePictureSize = :profilePictureSize, c.version = c.version + 1 " +
+                        "WHERE c.id = :id AND c.version = :version")
+                .setParameter("name", contact.getName())
+                .setParameter("email", contact.getEmail())
+                .setParameter("phone", contact.getPhone())
+                .setParameter("dateOfBirth", contact.getDateOfBirth())
+                .setParameter("profilePicture", contact.getProfilePicture())
+                .setParameter("profilePictureType", contact.getProfilePictureType())
+                .setParameter("sortName", contact.getSortName())
+                .setParameter("birthMonthDay", contact.getBirthMonthDay())
+                .setParameter("profilePictureSize", contact.getProfilePictureSize())
+                .setParameter("id", contact.getId())
+                .setParameter("version", contact.getVersion())
+                .executeUpdate();
+        if (updated > 0) {
+            contact.setVersion(contact.getVersion() + 1);
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,35 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.util.MonthDayKey;
+
+import java.time.LocalDate;
+
+/**
+ * Período de aniversários [from, to] expresso em chaves MMDD. Quando atravessa a virada do ano,
+ * vira duas faixas no índice: de startKey até 31/12 e de 01/01 até endKey.
+ */
+record BirthdayWindow(LocalDate from, LocalDate to, int startKey, int endKey) {
+
+    static BirthdayWindow of(LocalDate from, int days) {
+        LocalDate to = from.plusDays(days - 1L);
+        int endKey = MonthDayKey.of(to);
+        // Em anos não bissextos, quem nasceu em 29/02 comemora em 28/02
+        if (endKey == MonthDayKey.FEBRUARY_28 && !to.isLeapYear()) {
+            endKey = MonthDayKey.FEBRUARY_29;
+        }
+        return new BirthdayWindow(from, to, MonthDayKey.of(from), endKey);
+    }
+
+    boolean wrapsYear() {
+        return to.getYear() != from.getYear();
+    }
+
+    LocalDate nextOccurrence(LocalDate dateOfBirth) {
+        int key = MonthDayKey.of(dateOfBirth);
+        int year = key >= startKey ? from.getYear() : from.getYear() + 1;
+        if (key == MonthDayKey.FEBRUARY_29 && !LocalDate.of(year, 1, 1).isLeapYear()) {
+            return LocalDate.of(year, 2, 28);
+        }
+        return dateOfBirth.withYear(year);
+    }
+}
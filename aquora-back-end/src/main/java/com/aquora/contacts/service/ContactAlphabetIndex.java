@@ -0,0 +1,221 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.cache.InvalidatableCache;
+import com.aquora.contacts.dto.AlphabetIndexEntry;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.repository.ContactSummary;
+import com.aquora.contacts.repository.InitialCount;
+import com.aquora.contacts.tenant.TenantContext;
+import com.aquora.contacts.util.TextNormalizer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contagem de contatos por inicial (sem acentos) em memória, por agenda (tenant). A da agenda padrão
+ * é carregada na subida e as demais na primeira consulta; depois são mantidas de forma incremental
+ * pelos eventos de alteração, sem GROUP BY a cada consulta. As alterações confirmadas durante uma
+ * carga são reaplicadas nas contagens novas. Escritas de outras instâncias não geram esses eventos:
+ * a invalidação entre instâncias agenda uma recarga em segundo plano, que junta as invalidações de
+ * {@link #RELOAD_DELAY}, e as consultas seguem com as contagens atuais até ela terminar.
+ */
+@Component
+@Slf4j
+public class ContactAlphabetIndex implements InvalidatableCache {
+
+    static final String INITIALS = TextNormalizer.NON_LETTER_INITIAL + "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    static final Duration RELOAD_DELAY = Duration.ofSeconds(1);
+
+    private final ContactRepository contactRepository;
+    private final TransactionTemplate transaction;
+    private final Map<String, AtomicLongArray> counts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reloader;
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    // Uma carga por vez; a troca das contagens exclui os eventos, que só leem com o read lock
+    private final Object loadLock = new Object();
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Alterações confirmadas durante a carga de cada agenda, reaplicadas nas contagens novas
+    private final Map<String, List<ContactChangedEvent>> pending = new HashMap<>();
+
+    @Autowired
+    public ContactAlphabetIndex(ContactRepository contactRepository, PlatformTransactionManager transactionManager) {
+        this.contactRepository = contactRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.reloader = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("contact-alphabet-"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        transaction.executeWithoutResult(status -> backfillSortNames());
+        load(TenantContext.currentTenantId());
+        log.info("Índice alfabético carregado");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloader.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContactChanged(ContactChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            synchronized (pending) {
+                List<ContactChangedEvent> loading = pending.get(event.tenantId());
+                if (loading != null) {
+                    loading.add(event);
+                }
+            }
+            // Agenda ainda não carregada: a primeira consulta faz a carga
+            AtomicLongArray tenantCounts = counts.get(event.tenantId());
+            if (tenantCounts != null) {
+                apply(tenantCounts, event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public List<AlphabetIndexEntry> entries() {
+        String tenantId = TenantContext.currentTenantId();
+        AtomicLongArray tenantCounts = counts.get(tenantId);
+        if (tenantCounts == null) {
+            tenantCounts = loadIfAbsent(tenantId);
+        }
+        List<AlphabetIndexEntry> entries = new ArrayList<>();
+        for (int slot = 0; slot < INITIALS.length(); slot++) {
+            long count = tenantCounts.get(slot);
+            if (count > 0) {
+                char initial = INITIALS.charAt(slot);
+                entries.add(AlphabetIndexEntry.builder()
+                        .letter(String.valueOf(initial))
+                        .count(count)
+                        .cursor(NameCursor.forInitial(initial).encode())
+                        .build());
+            }
+        }
+        return entries;
+    }
+
+    // A mensagem remota não traz o nome anterior nem a agenda, então não dá para ajustar só uma inicial
+    @Override
+    public void invalidate(Collection<Long> contactIds) {
+        invalidateAll();
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (reloadScheduled.compareAndSet(false, true)) {
+            reloader.schedule(this::reloadAll, RELOAD_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void reloadAll() {
+        // Invalidações que chegarem durante a recarga agendam outra
+        reloadScheduled.set(false);
+        for (String tenantId : List.copyOf(counts.keySet())) {
+            try {
+                load(tenantId);
+            } catch (RuntimeException e) {
+                log.error("Erro ao recarregar o índice alfabético da agenda {}", tenantId, e);
+            }
+        }
+    }
+
+    private AtomicLongArray loadIfAbsent(String tenantId) {
+        synchronized (loadLock) {
+            AtomicLongArray tenantCounts = counts.get(tenantId);
+            return tenantCounts != null ? tenantCounts : load(tenantId);
+        }
+    }
+
+    private AtomicLongArray load(String tenantId) {
+        synchronized (loadLock) {
+            synchronized (pending) {
+                pending.put(tenantId, new ArrayList<>());
+            }
+            AtomicLongArray fresh;
+            try {
+                fresh = TenantContext.callAs(tenantId, () -> transaction.execute(status -> loadCounts()));
+            } catch (RuntimeException e) {
+                synchronized (pending) {
+                    pending.remove(tenantId);
+                }
+                throw e;
+            }
+            swapLock.writeLock().lock();
+            try {
+                synchronized (pending) {
+                    pending.remove(tenantId).forEach(event -> apply(fresh, event));
+                }
+                counts.put(tenantId, fresh);
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            return fresh;
+        }
+    }
+
+    private AtomicLongArray loadCounts() {
+        AtomicLongArray tenantCounts = new AtomicLongArray(INITIALS.length());
+        for (InitialCount initialCount : contactRepository.countBySortNameInitial()) {
+            tenantCounts.addAndGet(slot(TextNormalizer.initialOf(initialCount.initial())), initialCount.count());
+        }
+        return tenantCounts;
+    }
+
+    private static void apply(AtomicLongArray tenantCounts, ContactChangedEvent event) {
+        int previousSlot = event.previous() != null ? slotOfName(event.previous().name()) : -1;
+        int currentSlot = event.current() != null ? slotOfName(event.current().name()) : -1;
+        if (previousSlot == currentSlot) {
+            return;
+        }
+        if (previousSlot >= 0) {
+            tenantCounts.decrementAndGet(previousSlot);
+        }
+        if (currentSlot >= 0) {
+            tenantCounts.incrementAndGet(currentSlot);
+        }
+    }
+
+    // Linhas gravadas antes da coluna sort_name existir (todas da agenda padrão)
+    private void backfillSortNames() {
+        List<ContactSummary> pending = contactRepository.findSummariesWithoutSortName();
+        for (ContactSummary contact : pending) {
+            contactRepository.updateSortName(contact.id(), TextNormalizer.sortKey(contact.name()));
+        }
+        if (!pending.isEmpty()) {
+            log.info("Chave de ordenação preenchida para {} contatos existentes", pending.size());
+        }
+    }
+
+    private static int slotOfName(String name) {
+        return slot(TextNormalizer.initialOf(TextNormalizer.sortKey(name)));
+    }
+
+    private static int slot(char initial) {
+        return INITIALS.indexOf(initial);
+    }
+}
@@ -0,0 +1,89 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.dto.UpcomingBirthdayDTO;
+import com.aquora.contacts.exception.BadRequestException;
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.repository.ContactSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Próximos aniversários a partir da coluna birth_month_day (MMDD) indexada: o período vira
+ * uma ou duas faixas no índice, sem carregar os contatos para comparar datas em memória.
+ */
+@Service
+@Slf4j
+public class ContactBirthdayService {
+
+    static final int MAX_DAYS = 366;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final ContactRepository contactRepository;
+
+    @Autowired
+    public ContactBirthdayService(ContactRepository contactRepository) {
+        this.contactRepository = contactRepository;
+    }
+
+    // Linhas gravadas antes da coluna birth_month_day existir
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillBirthMonthDays() {
+        int updated = contactRepository.backfillBirthMonthDays();
+        if (updated > 0) {
+            log.info("Chave de aniversário preenchida para {} contatos existentes", updated);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PagedResponse<UpcomingBirthdayDTO> getUpcomingBirthdays(LocalDate from, int days, int page, int size) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new BadRequestException("O período deve ter entre 1 e " + MAX_DAYS + " dias");
+        }
+        
+        BirthdayWindow window = BirthdayWindow.of(from, days);
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ContactSummary> birthdays = window.wrapsYear()
+                ? contactRepository.findBirthdaysAcrossYearEnd(window.startKey(), window.endKey(), pageable)
+                : contactRepository.findBirthdaysBetween(window.startKey(), window.endKey(), pageable);
+        
+        List<UpcomingBirthdayDTO> content = birthdays.getContent().stream()
+                .map(summary -> convertToDTO(summary, window.nextOccurrence(summary.dateOfBirth())))
+                .collect(Collectors.toList());
+        
+        return PagedResponse.<UpcomingBirthdayDTO>builder()
+                .content(content)
+                .pageNumber(birthdays.getNumber())
+                .pageSize(birthdays.getSize())
+                .totalElements(birthdays.getTotalElements())
+                .totalPages(birthdays.getTotalPages())
+                .last(birthdays.isLast())
+                .build();
+    }
+
+    private UpcomingBirthdayDTO convertToDTO(ContactSummary summary, LocalDate birthday) {
+        return UpcomingBirthdayDTO.builder()
+                .id(summary.id())
+                .name(summary.name())
+                .email(summary.email())
+                .phone(summary.phone())
+                .dateOfBirth(summary.dateOfBirth().format(DATE_FORMATTER))
+                .birthday(birthday.format(DATE_FORMATTER))
+                .age(birthday.getYear() - summary.dateOfBirth().getYear())
+                .build();
+    }
+}
@@ -0,0 +1,343 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.exception.ContactValidationException;
+import com.aquora.contacts.filter.RequestDeadline;
+import com.aquora.contacts.model.Contact;
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.tenant.TenantContext;
+import com.aquora.contacts.util.MonthDayKey;
+import com.aquora.contacts.util.TextNormalizer;
+import com.aquora.contacts.validator.ValidationResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Modo de escrita com group commit: criações concorrentes esperam alguns milissegundos numa fila e
+ * são gravadas juntas, em uma única transação com inserts em batch. Cada requisição recebe o seu
+ * próprio resultado ou erro; se o lote falhar no banco, os contatos são regravados um a um. Cada
+ * lote é separado por agenda (tenant), gravada junto com o contato. Quem espera na fila respeita o
+ * prazo da própria requisição, que também limita os statements do lote.
+ */
+@Component
+@EnableConfigurationProperties(GroupCommitProperties.class)
+@Slf4j
+public class ContactGroupCommitWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO contacts " +
+            "(name, email, phone, date_of_birth, profile_picture, profile_picture_type, sort_name, birth_month_day, " +
+            "profile_picture_size, tenant_id, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final ContactService contactService;
+    private final ContactRepository contactRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final GroupCommitProperties properties;
+    private final BlockingQueue<PendingCreate> queue;
+    private final Thread flusher;
+    // Enfileirar (leitura) e encerrar (escrita) se excluem: nada entra na fila depois da última drenagem
+    private final ReadWriteLock state = new ReentrantReadWriteLock();
+    private volatile boolean running;
+
+    @Autowired
+    public ContactGroupCommitWriter(ContactService contactService, ContactRepository contactRepository,
+                                    JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    GroupCommitProperties properties) {
+        this.contactService = contactService;
+        this.contactRepository = contactRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.flusher = new Thread(this::runFlusher, "contact-group-commit");
+        this.flusher.setDaemon(true);
+        if (properties.isEnabled()) {
+            running = true;
+            flusher.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public ContactDTO createContact(ContactCreateDTO contactDTO, MultipartFile profilePicture) throws IOException {
+        Contact contact = contactService.prepareNewContact(contactDTO, profilePicture);
+
+        PendingCreate pending = new PendingCreate(TenantContext.currentTenantId(), RequestDeadline.current(), contact,
+                new CompletableFuture<>());
+        if (!enqueue(pending)) {
+            log.debug("Fila de group commit indisponível, gravando contato individualmente");
+            return transaction.execute(status -> contactService.saveNewContact(contact));
+        }
+        return await(pending);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        state.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            state.writeLock().unlock();
+        }
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        // O flusher não terminou a tempo: ninguém mais vai gravar o que sobrou na fila
+        List<PendingCreate> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+                new IllegalStateException("Group commit encerrado antes de gravar o contato")));
+    }
+
+    private boolean enqueue(PendingCreate pending) {
+        state.readLock().lock();
+        try {
+            return running && queue.offer(pending);
+        } finally {
+            state.readLock().unlock();
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingCreate> batch = new ArrayList<>(properties.getMaxBatchSize());
+        try {
+            while (running) {
+                batch.add(queue.take());
+                collectBatch(batch);
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            log.debug("Encerrando o group commit");
+        }
+        // Encerramento: o que ficou na fila ou no lote em montagem é gravado individualmente
+        queue.drainTo(batch);
+        batch.forEach(this::createIndividually);
+    }
+
+    private void collectBatch(List<PendingCreate> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+        while (batch.size() < properties.getMaxBatchSize()) {
+            queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getMaxBatchSize() || remaining <= 0) {
+                return;
+            }
+            PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingCreate> batch) {
+        Map<String, List<PendingCreate>> byTenant = new LinkedHashMap<>();
+        for (PendingCreate pending : batch) {
+            // Quem já desistiu por prazo não é gravado
+            if (!pending.result().isDone()) {
+                byTenant.computeIfAbsent(pending.tenantId(), ignored -> new ArrayList<>()).add(pending);
+            }
+        }
+        byTenant.forEach((tenantId, tenantBatch) -> TenantContext.callAs(tenantId, () -> {
+            flushTenant(tenantBatch);
+            return null;
+        }));
+    }
+
+    // Roda com a agenda do lote: a verificação de unicidade e os eventos usam o TenantContext
+    private void flushTenant(List<PendingCreate> batch) {
+        List<PendingCreate> accepted;
+        try {
+            accepted = rejectDuplicates(batch);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao verificar unicidade do lote, gravando individualmente: {}", e.getMessage());
+            batch.forEach(this::createIndividually);
+            return;
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Os statements do lote seguem o prazo mais curto entre os dele; se estourar, cada um é regravado
+            // individualmente com o próprio prazo
+            List<ContactDTO> created = RequestDeadline.propagate(earliestDeadline(accepted),
+                    () -> transaction.execute(status -> insertAll(accepted))).get();
+            for (int i = 0; i < accepted.size(); i++) {
+                accepted.get(i).result().complete(created.get(i));
+            }
+            log.debug("Group commit: {} contatos gravados em uma transação", accepted.size());
+        } catch (RuntimeException e) {
+            log.warn("Falha no lote de {} contatos, gravando individualmente: {}", accepted.size(), e.getMessage());
+            accepted.forEach(this::createIndividually);
+        }
+    }
+
+    // Mesmas regras de validateUniqueFields, contra o banco e dentro do próprio lote
+    private List<PendingCreate> rejectDuplicates(List<PendingCreate> batch) {
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        batch.forEach(pending -> {
+            emails.add(pending.contact().getEmail());
+            phones.add(pending.contact().getPhone());
+        });
+        Set<String> takenEmails = new HashSet<>(contactRepository.findExistingEmails(emails));
+        Set<String> takenPhones = new HashSet<>(contactRepository.findExistingPhones(phones));
+
+        List<PendingCreate> accepted = new ArrayList<>(batch.size());
+        for (PendingCreate pending : batch) {
+            Contact contact = pending.contact();
+            ValidationResult validation = new ValidationResult();
+            if (takenEmails.contains(contact.getEmail())) {
+                validation.reject("email", "Email já está em uso");
+            }
+            if (takenPhones.contains(contact.getPhone())) {
+                validation.reject("phone", "Telefone já está em uso");
+            }
+            if (!validation.isValid()) {
+                pending.result().completeExceptionally(new ContactValidationException(validation.getErrors()));
+            } else {
+                takenEmails.add(contact.getEmail());
+                takenPhones.add(contact.getPhone());
+                accepted.add(pending);
+            }
+        }
+        return accepted;
+    }
+
+    private List<ContactDTO> insertAll(List<PendingCreate> accepted) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        bindContact(statement, accepted.get(i).contact());
+                        statement.setString(10, accepted.get(i).tenantId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return accepted.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        List<ContactDTO> created = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Contact contact = accepted.get(i).contact();
+            contact.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            contact.setTenantId(accepted.get(i).tenantId());
+            contact.setVersion(0L);
+            created.add(contactService.registerCreated(contact));
+        }
+        return created;
+    }
+
+    private void bindContact(PreparedStatement statement, Contact contact) throws SQLException {
+        statement.setString(1, contact.getName());
+        statement.setString(2, contact.getEmail());
+        statement.setString(3, contact.getPhone());
+        statement.setObject(4, contact.getDateOfBirth());
+        if (contact.getProfilePicture() != null) {
+            byte[] picture = contact.getProfilePicture();
+            statement.setBlob(5, new ByteArrayInputStream(picture), picture.length);
+            statement.setLong(9, picture.length);
+        } else {
+            statement.setNull(5, Types.BLOB);
+            statement.setNull(9, Types.BIGINT);
+        }
+        statement.setString(6, contact.getProfilePictureType());
+        statement.setString(7, TextNormalizer.sortKey(contact.getName()));
+        statement.setInt(8, MonthDayKey.of(contact.getDateOfBirth()));
+    }
+
+    private RequestDeadline earliestDeadline(List<PendingCreate> batch) {
+        RequestDeadline earliest = null;
+        for (PendingCreate pending : batch) {
+            RequestDeadline deadline = pending.deadline();
+            if (deadline != null && (earliest == null || deadline.remaining().compareTo(earliest.remaining()) < 0)) {
+                earliest = deadline;
+            }
+        }
+        return earliest;
+    }
+
+    private void createIndividually(PendingCreate pending) {
+        if (pending.result().isDone()) {
+            return;
+        }
+        Contact contact = pending.contact();
+        contact.setId(null);
+        try {
+            if (pending.deadline() != null && pending.deadline().isExpired()) {
+                throw pending.deadline().exceeded();
+            }
+            pending.result().complete(TenantContext.callAs(pending.tenantId(), RequestDeadline.propagate(
+                    pending.deadline(), () -> transaction.execute(status -> contactService.saveNewContact(contact)))));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private ContactDTO await(PendingCreate pending) {
+        RequestDeadline deadline = pending.deadline();
+        CompletableFuture<ContactDTO> result = pending.result();
+        if (deadline != null) {
+            // No prazo, o contato que o flusher ainda não pegou é descartado; o que já está no lote segue gravando
+            result.orTimeout(Math.max(0, deadline.remaining().toNanos()), TimeUnit.NANOSECONDS);
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw deadline.exceeded();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record PendingCreate(String tenantId, RequestDeadline deadline, Contact contact,
+                                 CompletableFuture<ContactDTO> result) {
+    }
+}
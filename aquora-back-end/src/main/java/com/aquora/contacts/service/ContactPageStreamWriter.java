@@ -0,0 +1,224 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.exception.StreamAbortedException;
+import com.aquora.contacts.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Blob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Escreve uma página de contatos no mesmo formato JSON de {@code PagedResponse<ContactDTO>},
+ * direto do cursor JDBC: cada contato é emitido assim que lido e a foto é codificada em Base64
+ * em blocos direto no stream de saída, então o pico de memória fica limitado a uma linha. As
+ * consultas vão por fora do Hibernate, então filtram a agenda explicitamente.
+ * <p>
+ * A contagem roda e a primeira linha é lida antes de qualquer byte chegar ao stream, então falhas
+ * de conexão ou de consulta ainda podem virar uma resposta de erro. Uma falha depois disso termina
+ * o corpo com {@link #ERROR_SENTINEL} (o JSON fica inválido) e lança {@link StreamAbortedException}.
+ */
+@Component
+public class ContactPageStreamWriter {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int MAX_FETCH_SIZE = 100;
+
+    public static final String ERROR_SENTINEL = "\n{\"error\":\"Falha ao ler os contatos; resposta incompleta\"}\n";
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, name, email, phone, date_of_birth, profile_picture, profile_picture_type FROM contacts";
+    private static final String TENANT_CONDITION = " WHERE tenant_id = ?";
+    private static final String SEARCH_CONDITION =
+            " AND (LOWER(name) LIKE LOWER(?) OR LOWER(email) LIKE LOWER(?) OR phone LIKE ?)";
+    private static final String PAGE_CLAUSE = " ORDER BY id ASC LIMIT ? OFFSET ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ContactPageStreamWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Sem nada escrito em {@code out}, a exceção original é relançada; com parte do corpo já escrita,
+     * o corpo é terminado com {@link #ERROR_SENTINEL} e a falha vira {@link StreamAbortedException}.
+     */
+    public void writePage(String searchTerm, int page, int size, OutputStream out) {
+        String tenantId = TenantContext.currentTenantId();
+        TouchedOutputStream target = new TouchedOutputStream(out);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    // Fechado só no sucesso: o close descarregaria em out o que ficou no buffer do gerador
+                    JsonGenerator generator = createGenerator(target);
+                    writePage(generator, target, tenantId, searchTerm, page, size);
+                    generator.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (!target.touched) {
+                throw e;
+            }
+            writeErrorSentinel(out, e);
+            throw new StreamAbortedException("Falha no meio da listagem em streaming", e);
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    private void writePage(JsonGenerator generator, OutputStream out, String tenantId, String searchTerm, int page,
+                           int size) throws IOException {
+        // Antes do corpo: o total sai no fim do JSON, mas a consulta roda enquanto nada foi enviado
+        long totalElements = count(tenantId, searchTerm);
+
+        // O gerador guarda o início do objeto em memória; o primeiro byte só chega a out com a primeira linha lida
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("content");
+        jdbcTemplate.query(
+                connection -> prepareSelect(connection.prepareStatement(selectSql(searchTerm)), tenantId, searchTerm,
+                        page, size),
+                (RowCallbackHandler) row -> writeContact(generator, out, row));
+        generator.writeEndArray();
+
+        int totalPages = (int) Math.ceil((double) totalElements / size);
+        generator.writeNumberField("pageNumber", page);
+        generator.writeNumberField("pageSize", size);
+        generator.writeNumberField("totalElements", totalElements);
+        generator.writeNumberField("totalPages", totalPages);
+        generator.writeBooleanField("last", page + 1 >= totalPages);
+        generator.writeEndObject();
+    }
+
+    private PreparedStatement prepareSelect(PreparedStatement statement, String tenantId, String searchTerm, int page,
+                                            int size) throws SQLException {
+        statement.setFetchSize(Math.min(size, MAX_FETCH_SIZE));
+        statement.setString(1, tenantId);
+        int index = bindSearchTerm(statement, searchTerm);
+        statement.setInt(index++, size);
+        statement.setLong(index, (long) page * size);
+        return statement;
+    }
+
+    private int bindSearchTerm(PreparedStatement statement, String searchTerm) throws SQLException {
+        if (searchTerm == null) {
+            return 2;
+        }
+        String pattern = "%" + searchTerm + "%";
+        statement.setString(2, pattern);
+        statement.setString(3, pattern);
+        statement.setString(4, pattern);
+        return 5;
+    }
+
+    private String selectSql(String searchTerm) {
+        return SELECT_COLUMNS + TENANT_CONDITION + (searchTerm == null ? "" : SEARCH_CONDITION) + PAGE_CLAUSE;
+    }
+
+    private long count(String tenantId, String searchTerm) {
+        if (searchTerm == null) {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contacts" + TENANT_CONDITION, Long.class,
+                    tenantId);
+        }
+        String pattern = "%" + searchTerm + "%";
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contacts" + TENANT_CONDITION + SEARCH_CONDITION,
+                Long.class, tenantId, pattern, pattern, pattern);
+    }
+
+    private void writeContact(JsonGenerator generator, OutputStream out, ResultSet row) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.getLong("id"));
+            generator.writeStringField("name", row.getString("name"));
+            generator.writeStringField("email", row.getString("email"));
+            generator.writeStringField("phone", row.getString("phone"));
+            generator.writeStringField("dateOfBirth", row.getObject("date_of_birth", LocalDate.class).format(DATE_FORMATTER));
+            generator.writeFieldName("profilePicture");
+            writePicture(generator, out, row.getBlob("profile_picture"), row.getString("profile_picture_type"));
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writePicture(JsonGenerator generator, OutputStream out, Blob picture, String contentType)
+            throws IOException, SQLException {
+        if (picture == null) {
+            generator.writeNull();
+            return;
+        }
+        String escapedType = new String(JsonStringEncoder.getInstance().quoteAsString(String.valueOf(contentType)));
+        generator.writeRawValue("\"data:" + escapedType + ";base64,");
+        generator.flush();
+        try (InputStream data = picture.getBinaryStream();
+             OutputStream base64 = Base64.getEncoder().wrap(StreamUtils.nonClosing(out))) {
+            data.transferTo(base64);
+        } finally {
+            picture.free();
+        }
+        generator.writeRaw('"');
+    }
+
+    private void writeErrorSentinel(OutputStream out, RuntimeException failure) {
+        try {
+            out.write(ERROR_SENTINEL.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    // Marca se algum byte já foi repassado ao stream da resposta
+    private static final class TouchedOutputStream extends FilterOutputStream {
+
+        private boolean touched;
+
+        TouchedOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            touched = true;
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            touched |= len > 0;
+            out.write(b, off, len);
+        }
+    }
+}
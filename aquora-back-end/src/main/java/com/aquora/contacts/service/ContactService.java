@@ -2,27 +2,53 @@ package com.aquora.contacts.service;
 
 import com.aquora.contacts.dto.ContactCreateDTO;
 import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.ContactField;
+import com.aquora.contacts.dto.CursorPagedResponse;
 import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.event.ChangeType;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.event.ContactState;
+import com.aquora.contacts.etag.ContactETags;
 import com.aquora.contacts.exception.ResourceNotFoundException;
+import com.aquora.contacts.filter.RequestDeadline;
 import com.aquora.contacts.model.Contact;
+import com.aquora.contacts.repository.ContactPicture;
 import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.repository.ContactSummary;
+import com.aquora.contacts.tenant.TenantContext;
+import com.aquora.contacts.util.TextNormalizer;
 import com.aquora.contacts.validator.NameValidator;
+import com.aquora.contacts.validator.ValidationResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,37 +56,30 @@ import java.util.stream.Collectors;
 public class ContactService {
 
     private final ContactRepository contactRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final Pattern DATE_PATTERN = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
 
     @Autowired
-    public ContactService(ContactRepository contactRepository) {
+    public ContactService(ContactRepository contactRepository, ApplicationEventPublisher eventPublisher) {
         this.contactRepository = contactRepository;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<ContactDTO> getAllContacts() {
         return contactRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public PagedResponse<ContactDTO> getAllContactsPaged(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").ascending());
-        Page<Contact> contactPage = contactRepository.findAll(pageable);
-        
-        List<ContactDTO> content = contactPage.getContent().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        
-        return PagedResponse.<ContactDTO>builder()
-                .content(content)
-                .pageNumber(contactPage.getNumber())
-                .pageSize(contactPage.getSize())
-                .totalElements(contactPage.getTotalElements())
-                .totalPages(contactPage.getTotalPages())
-                .last(contactPage.isLast())
-                .build();
+        return toPagedResponse(contactRepository.findAllSummaries(pageable));
     }
 
+    @Transactional(readOnly = true)
     public List<ContactDTO> searchContacts(String searchTerm) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllContacts();
@@ -71,43 +90,112 @@ public class ContactService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public PagedResponse<ContactDTO> searchContactsPaged(String searchTerm, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").ascending());
         
-        Page<Contact> contactPage;
+        Page<ContactSummary> contactPage;
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
-            contactPage = contactRepository.findAll(pageable);
+            contactPage = contactRepository.findAllSummaries(pageable);
         } else {
-            contactPage = contactRepository.findBySearchTermPaged(searchTerm, pageable);
+            contactPage = contactRepository.findSummariesBySearchTerm(searchTerm, pageable);
         }
         
-        List<ContactDTO> content = contactPage.getContent().stream()
-                .map(this::convertToDTO)
+        return toPagedResponse(contactPage);
+    }
+
+    @Transactional(readOnly = true)
+    public PagedResponse<ContactDTO> searchContactsPaged(String searchTerm, int page, int size,
+                                                         Set<ContactField> fields) {
+        if (fields == null) {
+            return searchContactsPaged(searchTerm, page, size);
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id").ascending());
+        return toPagedResponse(contactRepository.findSummaries(searchTerm, fields, pageable), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<ContactDTO> getContactsByName(String cursor, int size) {
+        return getContactsByName(cursor, size, null);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<ContactDTO> getContactsByName(String cursor, int size, Set<ContactField> fields) {
+        NameCursor after = cursor == null || cursor.isBlank() ? NameCursor.START : NameCursor.decode(cursor);
+        Set<ContactField> selected = fields != null ? fields : ContactField.ALL;
+        
+        // Busca um a mais para saber se existe próxima página sem COUNT
+        List<ContactSummary> summaries = findSummariesByNameAfter(after, size + 1, fields);
+        boolean last = summaries.size() <= size;
+        if (!last) {
+            summaries = summaries.subList(0, size);
+        }
+        
+        RequestDeadline.check();
+        Map<Long, ContactPicture> pictures = findPictures(summaries);
+        List<ContactDTO> content = summaries.stream()
+                .map(summary -> convertToDTO(summary, pictures.get(summary.id()), selected))
                 .collect(Collectors.toList());
         
-        return PagedResponse.<ContactDTO>builder()
+        ContactSummary lastSummary = summaries.isEmpty() ? null : summaries.get(summaries.size() - 1);
+        return CursorPagedResponse.<ContactDTO>builder()
                 .content(content)
-                .pageNumber(contactPage.getNumber())
-                .pageSize(contactPage.getSize())
-                .totalElements(contactPage.getTotalElements())
-                .totalPages(contactPage.getTotalPages())
-                .last(contactPage.isLast())
+                .pageSize(size)
+                .nextCursor(last ? null
+                        : new NameCursor(TextNormalizer.sortKey(lastSummary.name()), lastSummary.id()).encode())
+                .last(last)
                 .build();
     }
 
+    // O cursor depende do nome, então ele é lido mesmo quando não foi pedido
+    private List<ContactSummary> findSummariesByNameAfter(NameCursor after, int limit, Set<ContactField> fields) {
+        if (fields == null) {
+            return contactRepository.findSummariesByNameAfter(after.sortName(), after.id(), PageRequest.of(0, limit));
+        }
+        Set<ContactField> queried = EnumSet.copyOf(fields);
+        queried.add(ContactField.NAME);
+        return contactRepository.findSummariesByNameAfter(after.sortName(), after.id(), queried, limit);
+    }
+
+    @Transactional(readOnly = true)
     public ContactDTO getContactById(Long id) {
         Contact contact = findContactById(id);
         return convertToDTO(contact);
     }
 
+    @Transactional(readOnly = true)
+    public ContactDTO getContactById(Long id, Set<ContactField> fields) {
+        if (fields == null) {
+            return getContactById(id);
+        }
+        ContactSummary summary = contactRepository.findSummaryById(id, fields)
+                .orElseThrow(() -> new ResourceNotFoundException("Contato não encontrado com id: " + id));
+        return convertToDTO(summary, findPictures(List.of(summary)).get(id), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public long getContactVersion(Long id) {
+        return contactRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Contato não encontrado com id: " + id));
+    }
+
     @Transactional
     public ContactDTO createContact(ContactCreateDTO contactDTO, MultipartFile profilePicture) throws IOException {
-        log.info("Criando novo contato: {}", contactDTO.getName());
-        
-        // Validar dados
-        validateContactData(contactDTO);
-        validateUniqueFields(contactDTO.getEmail(), contactDTO.getPhone(), null);
+        // Todos os erros (formato e unicidade) numa única resposta
+        ValidationResult validation = validateContactData(contactDTO);
+        validateUniqueFields(contactDTO.getEmail(), contactDTO.getPhone(), null, validation);
+        validation.throwIfInvalid();
         
+        return registerCreated(contactRepository.save(buildContact(contactDTO, profilePicture)));
+    }
+
+    // Validações que não dependem do banco; usada também pelo ContactGroupCommitWriter e pelo ShardedContactService
+    public Contact prepareNewContact(ContactCreateDTO contactDTO, MultipartFile profilePicture) throws IOException {
+        validateContactData(contactDTO).throwIfInvalid();
+        return buildContact(contactDTO, profilePicture);
+    }
+
+    private Contact buildContact(ContactCreateDTO contactDTO, MultipartFile profilePicture) throws IOException {
         // Parse da data
         LocalDate dateOfBirth = parseDate(contactDTO.getDateOfBirth());
         
@@ -119,52 +207,116 @@ public class ContactService {
                 .build();
 
         if (profilePicture != null && !profilePicture.isEmpty()) {
-            log.info("Processando foto de perfil para: {}", contactDTO.getName());
+            log.debug("Processando foto de perfil");
             contact.setProfilePicture(profilePicture.getBytes());
             contact.setProfilePictureType(profilePicture.getContentType());
         }
+        return contact;
+    }
+
+    // Deve ser chamado dentro de uma transação
+    public ContactDTO saveNewContact(Contact contact) {
+        ValidationResult validation = new ValidationResult();
+        validateUniqueFields(contact.getEmail(), contact.getPhone(), null, validation);
+        validation.throwIfInvalid();
+        return registerCreated(contactRepository.save(contact));
+    }
 
-        Contact savedContact = contactRepository.save(contact);
-        log.info("Contato criado com ID: {}", savedContact.getId());
+    // Publica o evento de criação de um contato já gravado (dentro da transação da gravação)
+    public ContactDTO registerCreated(Contact savedContact) {
+        eventPublisher.publishEvent(new ContactChangedEvent(TenantContext.currentTenantId(), savedContact.getId(),
+                ChangeType.CREATED, populatedFields(savedContact), null, ContactState.of(savedContact)));
+        log.debug("Contato criado com ID: {}", savedContact.getId());
         return convertToDTO(savedContact);
     }
 
     @Transactional
     public ContactDTO updateContact(Long id, ContactCreateDTO contactDTO, MultipartFile profilePicture) throws IOException {
-        log.info("Atualizando contato com ID: {}", id);
+        return updateContact(id, contactDTO, profilePicture, null);
+    }
+
+    // Com expectedVersion (If-Match), o UPDATE versionado garante a concorrência sem lock
+    @Transactional
+    public ContactDTO updateContact(Long id, ContactCreateDTO contactDTO, MultipartFile profilePicture,
+                                    Long expectedVersion) throws IOException {
+        log.debug("Atualizando contato com ID: {}", id);
         Contact existingContact = findContactById(id);
+        if (expectedVersion != null && !expectedVersion.equals(existingContact.getVersion())) {
+            throw ContactETags.preconditionFailed();
+        }
         
         // Validar dados
-        validateContactData(contactDTO);
-        validateUniqueFields(contactDTO.getEmail(), contactDTO.getPhone(), id);
+        ValidationResult validation = validateContactData(contactDTO);
+        validateUniqueFields(contactDTO.getEmail(), contactDTO.getPhone(), id, validation);
+        validation.throwIfInvalid();
 
         // Parse da data
         LocalDate dateOfBirth = parseDate(contactDTO.getDateOfBirth());
+        String phone = contactDTO.getPhone().replaceAll("\\D", "");
+
+        ContactState previous = ContactState.of(existingContact);
+        Set<String> changedFields = new LinkedHashSet<>();
+        trackChange(changedFields, "name", existingContact.getName(), contactDTO.getName());
+        trackChange(changedFields, "email", existingContact.getEmail(), contactDTO.getEmail());
+        trackChange(changedFields, "phone", existingContact.getPhone(), phone);
+        trackChange(changedFields, "dateOfBirth", existingContact.getDateOfBirth(), dateOfBirth);
 
         existingContact.setName(contactDTO.getName());
         existingContact.setEmail(contactDTO.getEmail());
-        existingContact.setPhone(contactDTO.getPhone().replaceAll("\\D", ""));
+        existingContact.setPhone(phone);
         existingContact.setDateOfBirth(dateOfBirth);
 
         if (profilePicture != null && !profilePicture.isEmpty()) {
-            log.info("Atualizando foto de perfil para contato ID: {}", id);
+            log.debug("Atualizando foto de perfil para contato ID: {}", id);
+            changedFields.add("profilePicture");
             existingContact.setProfilePicture(profilePicture.getBytes());
             existingContact.setProfilePictureType(profilePicture.getContentType());
         }
 
-        Contact updatedContact = contactRepository.save(existingContact);
-        log.info("Contato atualizado com sucesso, ID: {}", id);
-        return convertToDTO(updatedContact);
+        if (contactRepository.updateVersioned(existingContact) == 0) {
+            if (expectedVersion != null) {
+                throw ContactETags.preconditionFailed();
+            }
+            throw new ObjectOptimisticLockingFailureException(Contact.class, id);
+        }
+        eventPublisher.publishEvent(new ContactChangedEvent(TenantContext.currentTenantId(), id, ChangeType.UPDATED,
+                changedFields, previous, ContactState.of(existingContact)));
+        log.debug("Contato atualizado com sucesso, ID: {}", id);
+        return convertToDTO(existingContact);
     }
 
     @Transactional
     public void deleteContact(Long id) {
-        log.info("Excluindo contato com ID: {}", id);
-        if (!contactRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Contato não encontrado com id: " + id);
+        deleteContact(id, null);
+    }
+
+    @Transactional
+    public void deleteContact(Long id, Long expectedVersion) {
+        log.debug("Excluindo contato com ID: {}", id);
+        ContactState previous = contactRepository.findStateById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Contato não encontrado com id: " + id));
+        if (expectedVersion == null) {
+            contactRepository.deleteById(id);
+        } else if (contactRepository.deleteByIdAndVersion(id, expectedVersion) == 0) {
+            throw ContactETags.preconditionFailed();
+        }
+        eventPublisher.publishEvent(new ContactChangedEvent(TenantContext.currentTenantId(), id, ChangeType.DELETED,
+                Set.of(), previous, null));
+        log.debug("Contato excluído com sucesso, ID: {}", id);
+    }
+
+    private Set<String> populatedFields(Contact contact) {
+        Set<String> fields = new LinkedHashSet<>(List.of("name", "email", "phone", "dateOfBirth"));
+        if (contact.getProfilePicture() != null) {
+            fields.add("profilePicture");
+        }
+        return fields;
+    }
+
+    private void trackChange(Set<String> changedFields, String field, Object current, Object updated) {
+        if (!Objects.equals(current, updated)) {
+            changedFields.add(field);
         }
-        contactRepository.deleteById(id);
-        log.info("Contato excluído com sucesso, ID: {}", id);
     }
 
     private Contact findContactById(Long id) {
@@ -181,73 +333,136 @@ public class ContactService {
         }
     }
 
-    private void validateContactData(ContactCreateDTO contactDTO) {
+    private ValidationResult validateContactData(ContactCreateDTO contactDTO) {
+        ValidationResult validation = new ValidationResult();
+        
         // Validar nome
         if (contactDTO.getName() == null || contactDTO.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("O nome é obrigatório");
-        }
-        if (!NameValidator.isValid(contactDTO.getName())) {
-            throw new IllegalArgumentException("Nome inválido. Deve conter pelo menos dois nomes, cada um começando com letra maiúscula. Exceção para preposições 'de', 'do', 'da' e 'e' que devem ser em minúsculo.");
+            validation.reject("name", "O nome é obrigatório");
+        } else if (!NameValidator.isValid(contactDTO.getName())) {
+            validation.reject("name", "Nome inválido. Deve conter pelo menos dois nomes, cada um começando com letra maiúscula. Exceção para preposições 'de', 'do', 'da' e 'e' que devem ser em minúsculo.");
         }
         
         // Validar email
         if (contactDTO.getEmail() == null || contactDTO.getEmail().trim().isEmpty()) {
-            throw new IllegalArgumentException("O email é obrigatório");
+            validation.reject("email", "O email é obrigatório");
         }
         
         // Validar telefone
         if (contactDTO.getPhone() == null || contactDTO.getPhone().trim().isEmpty()) {
-            throw new IllegalArgumentException("O telefone é obrigatório");
-        }
-        
-        // Remover caracteres não numéricos
-        String phoneNumbers = contactDTO.getPhone().replaceAll("\\D", "");
-        if (phoneNumbers.length() < 10 || phoneNumbers.length() > 11) {
-            throw new IllegalArgumentException("O telefone deve conter entre 10 e 11 dígitos");
+            validation.reject("phone", "O telefone é obrigatório");
+        } else {
+            // Remover caracteres não numéricos
+            String phoneNumbers = contactDTO.getPhone().replaceAll("\\D", "");
+            if (phoneNumbers.length() < 10 || phoneNumbers.length() > 11) {
+                validation.reject("phone", "O telefone deve conter entre 10 e 11 dígitos");
+            }
         }
         
         // Validar data de nascimento
         if (contactDTO.getDateOfBirth() == null || contactDTO.getDateOfBirth().trim().isEmpty()) {
-            throw new IllegalArgumentException("A data de nascimento é obrigatória");
+            validation.reject("dateOfBirth", "A data de nascimento é obrigatória");
+        } else {
+            validateDateOfBirth(contactDTO.getDateOfBirth(), validation);
         }
         
-        // Verificar se a data de nascimento é no futuro
+        return validation;
+    }
+
+    private void validateDateOfBirth(String dateOfBirth, ValidationResult validation) {
+        // Confere o formato antes do parse: texto inválido não chega a lançar DateTimeParseException
+        if (!DATE_PATTERN.matcher(dateOfBirth).matches()) {
+            validation.reject("dateOfBirth", "Formato de data inválido. Use o formato YYYY-MM-DD");
+            return;
+        }
         try {
-            LocalDate birthDate = LocalDate.parse(contactDTO.getDateOfBirth(), DATE_FORMATTER);
+            // Verificar se a data de nascimento é no futuro
+            LocalDate birthDate = LocalDate.parse(dateOfBirth, DATE_FORMATTER);
             if (birthDate.isAfter(LocalDate.now())) {
-                throw new IllegalArgumentException("A data de nascimento não pode ser no futuro");
+                validation.reject("dateOfBirth", "A data de nascimento não pode ser no futuro");
             }
         } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Formato de data inválido. Use o formato YYYY-MM-DD");
+            validation.reject("dateOfBirth", "Formato de data inválido. Use o formato YYYY-MM-DD");
         }
     }
 
-    private void validateUniqueFields(String email, String phone, Long id) {
-        // Limpar o telefone antes de verificar unicidade
-        phone = phone.replaceAll("\\D", "");
-        
-        if (id == null) {
-            if (contactRepository.existsByEmail(email)) {
-                throw new IllegalArgumentException("Email já está em uso");
-            }
-            if (contactRepository.existsByPhone(phone)) {
-                throw new IllegalArgumentException("Telefone já está em uso");
-            }
-        } else {
-            if (contactRepository.existsByEmailAndIdNot(email, id)) {
-                throw new IllegalArgumentException("Email já está em uso");
+    // Só consulta o banco para campos que passaram na validação de formato
+    private void validateUniqueFields(String email, String phone, Long id, ValidationResult validation) {
+        if (!validation.hasError("email")) {
+            boolean emailTaken = id == null
+                    ? contactRepository.existsByEmail(email)
+                    : contactRepository.existsByEmailAndIdNot(email, id);
+            if (emailTaken) {
+                validation.reject("email", "Email já está em uso");
             }
-            if (contactRepository.existsByPhoneAndIdNot(phone, id)) {
-                throw new IllegalArgumentException("Telefone já está em uso");
+        }
+        
+        if (!validation.hasError("phone")) {
+            // Limpar o telefone antes de verificar unicidade
+            String phoneNumbers = phone.replaceAll("\\D", "");
+            boolean phoneTaken = id == null
+                    ? contactRepository.existsByPhone(phoneNumbers)
+                    : contactRepository.existsByPhoneAndIdNot(phoneNumbers, id);
+            if (phoneTaken) {
+                validation.reject("phone", "Telefone já está em uso");
             }
         }
     }
 
-    private ContactDTO convertToDTO(Contact contact) {
+    private PagedResponse<ContactDTO> toPagedResponse(Page<ContactSummary> contactPage) {
+        return toPagedResponse(contactPage, ContactField.ALL);
+    }
+
+    private PagedResponse<ContactDTO> toPagedResponse(Page<ContactSummary> contactPage, Set<ContactField> fields) {
+        // Entre a página (e o COUNT) e a busca das fotos: não começa a fase mais pesada com o prazo já esgotado
+        RequestDeadline.check();
+        Map<Long, ContactPicture> pictures = findPictures(contactPage.getContent());
+        
+        List<ContactDTO> content = contactPage.getContent().stream()
+                .map(summary -> convertToDTO(summary, pictures.get(summary.id()), fields))
+                .collect(Collectors.toList());
+        
+        return PagedResponse.<ContactDTO>builder()
+                .content(content)
+                .pageNumber(contactPage.getNumber())
+                .pageSize(contactPage.getSize())
+                .totalElements(contactPage.getTotalElements())
+                .totalPages(contactPage.getTotalPages())
+                .last(contactPage.isLast())
+                .build();
+    }
+
+    // Apenas as linhas com foto são buscadas novamente, e sem entidades gerenciadas
+    private Map<Long, ContactPicture> findPictures(List<ContactSummary> summaries) {
+        List<Long> idsWithPicture = summaries.stream()
+                .filter(ContactSummary::hasProfilePicture)
+                .map(ContactSummary::id)
+                .collect(Collectors.toList());
+        
+        if (idsWithPicture.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        return contactRepository.findPicturesByIdIn(idsWithPicture).stream()
+                .collect(Collectors.toMap(ContactPicture::id, Function.identity()));
+    }
+
+    // Campos fora de 'fields' ficam nulos; as colunas deles nem foram lidas
+    ContactDTO convertToDTO(ContactSummary summary, ContactPicture picture, Set<ContactField> fields) {
+        return ContactDTO.builder()
+                .id(fields.contains(ContactField.ID) ? summary.id() : null)
+                .name(fields.contains(ContactField.NAME) ? summary.name() : null)
+                .email(summary.email())
+                .phone(summary.phone())
+                .dateOfBirth(summary.dateOfBirth() != null ? summary.dateOfBirth().format(DATE_FORMATTER) : null)
+                .profilePicture(picture != null ? toDataUri(picture.contentType(), picture.data()) : null)
+                .build();
+    }
+
+    ContactDTO convertToDTO(Contact contact) {
         String profilePictureBase64 = null;
         if (contact.getProfilePicture() != null) {
-            profilePictureBase64 = "data:" + contact.getProfilePictureType() + ";base64," 
-                    + Base64.getEncoder().encodeToString(contact.getProfilePicture());
+            profilePictureBase64 = toDataUri(contact.getProfilePictureType(), contact.getProfilePicture());
         }
         
         return ContactDTO.builder()
@@ -257,6 +472,20 @@ public class ContactService {
                 .phone(contact.getPhone())
                 .dateOfBirth(contact.getDateOfBirth().format(DATE_FORMATTER))
                 .profilePicture(profilePictureBase64)
+                .version(contact.getVersion())
                 .build();
     }
-} 
\ No newline at end of file
+
+    // Codifica direto no buffer final: evita as cópias intermediárias de encodeToString + concatenação
+    private String toDataUri(String contentType, byte[] data) {
+        byte[] prefix = ("data:" + contentType + ";base64,").getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream dataUri = new ByteArrayOutputStream(prefix.length + 4 * ((data.length + 2) / 3));
+        dataUri.writeBytes(prefix);
+        try (OutputStream base64 = Base64.getEncoder().wrap(dataUri)) {
+            base64.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dataUri.toString(StandardCharsets.ISO_8859_1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.ContactField;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.exception.ResourceNotFoundException;
+import com.aquora.contacts.snapshot.ContactSnapshotStore;
+import com.aquora.contacts.tenant.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Leituras servidas pelo snapshot local quando o banco está indisponível. Depois de uma falha de
+ * conexão, as leituras seguintes vão direto ao snapshot durante {@code retryInterval}, para não
+ * esperar o timeout do pool a cada requisição. As respostas não trazem foto e podem estar
+ * desatualizadas; o controller as marca como tal. Só a agenda padrão (tenant) está no snapshot.
+ */
+@Slf4j
+public class ContactSnapshotFallback {
+
+    private final ContactSnapshotStore store;
+    private final ContactService contactService;
+    private final long retryIntervalNanos;
+    private volatile long databaseDownUntil;
+    private volatile boolean databaseDown;
+
+    public ContactSnapshotFallback(ContactSnapshotStore store, ContactService contactService, Duration retryInterval) {
+        this.store = store;
+        this.contactService = contactService;
+        this.retryIntervalNanos = retryInterval.toNanos();
+    }
+
+    /**
+     * Verdadeiro se o banco falhou há pouco e o snapshot pode responder sem tentar o banco.
+     */
+    public boolean isDatabaseDown() {
+        return databaseDown && System.nanoTime() - databaseDownUntil < 0 && store.isAvailable()
+                && TenantContext.isDefaultTenant();
+    }
+
+    /**
+     * Registra a falha e informa se a leitura pode ser servida pelo snapshot.
+     */
+    public boolean canServe(RuntimeException failure) {
+        if (!(failure instanceof DataAccessResourceFailureException || failure instanceof CannotCreateTransactionException)) {
+            return false;
+        }
+        if (!databaseDown) {
+            log.warn("Banco indisponível, leituras servidas pelo snapshot: {}", failure.getMessage());
+        }
+        databaseDownUntil = System.nanoTime() + retryIntervalNanos;
+        databaseDown = true;
+        return store.isAvailable() && TenantContext.isDefaultTenant();
+    }
+
+    public void recordSuccess() {
+        if (databaseDown) {
+            log.info("Banco disponível novamente");
+            databaseDown = false;
+        }
+    }
+
+    public Instant snapshotTime() {
+        return store.writtenAt();
+    }
+
+    public PagedResponse<ContactDTO> searchContactsPaged(String searchTerm, int page, int size,
+                                                         Set<ContactField> fields) {
+        Set<ContactField> selected = fields != null ? fields : ContactField.ALL;
+        String term = searchTerm == null || searchTerm.trim().isEmpty() ? null : searchTerm;
+        ContactSnapshotStore.SnapshotPage snapshotPage = store.findPage(term, page, size);
+
+        List<ContactDTO> content = snapshotPage.rows().stream()
+                .map(summary -> contactService.convertToDTO(summary, null, selected))
+                .collect(Collectors.toList());
+        int totalPages = (int) Math.ceil((double) snapshotPage.totalElements() / size);
+        return PagedResponse.<ContactDTO>builder()
+                .content(content)
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(snapshotPage.totalElements())
+                .totalPages(totalPages)
+                .last(page + 1 >= totalPages)
+                .build();
+    }
+
+    public ContactDTO getContactById(Long id, Set<ContactField> fields) {
+        return store.findById(id)
+                .map(summary -> contactService.convertToDTO(summary, null, fields != null ? fields : ContactField.ALL))
+                .orElseThrow(() -> new ResourceNotFoundException("Contato não encontrado com id: " + id));
+    }
+}
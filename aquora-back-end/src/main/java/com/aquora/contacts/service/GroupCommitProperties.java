@@ -0,0 +1,25 @@
+package com.aquora.contacts.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.contacts.group-commit")
+public class GroupCommitProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Tempo máximo que a primeira criação de um lote espera por outras antes do flush.
+     */
+    private Duration maxDelay = Duration.ofMillis(5);
+
+    private int maxBatchSize = 64;
+
+    /**
+     * Criações aguardando lote; acima disso a requisição grava sozinha, como no modo padrão.
+     */
+    private int queueCapacity = 1_024;
+}
@@ -0,0 +1,40 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.exception.BadRequestException;
+import com.aquora.contacts.util.TextNormalizer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição na listagem alfabética: a próxima página começa depois de (sortName, id).
+ * Serializado como Base64 URL-safe, opaco para o cliente.
+ */
+record NameCursor(String sortName, long id) {
+
+    static final NameCursor START = new NameCursor("", 0);
+
+    private static final char SEPARATOR = '\n';
+
+    static NameCursor forInitial(char initial) {
+        if (initial == TextNormalizer.NON_LETTER_INITIAL) {
+            return START;
+        }
+        return new NameCursor(String.valueOf(Character.toLowerCase(initial)), 0);
+    }
+
+    static NameCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new NameCursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Cursor inválido: " + cursor);
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortName + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
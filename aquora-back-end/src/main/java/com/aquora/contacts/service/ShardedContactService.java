@@ -0,0 +1,282 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.ContactField;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.exception.BadRequestException;
+import com.aquora.contacts.exception.DeadlineExceededException;
+import com.aquora.contacts.exception.ResourceNotFoundException;
+import com.aquora.contacts.filter.RequestDeadline;
+import com.aquora.contacts.model.Contact;
+import com.aquora.contacts.repository.ContactPicture;
+import com.aquora.contacts.repository.ContactSummary;
+import com.aquora.contacts.shard.ContactShard;
+import com.aquora.contacts.shard.GlobalContactKeys;
+import com.aquora.contacts.shard.ShardedId;
+import com.aquora.contacts.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Operações de contato no modo particionado. O shard é escolhido pelo hash do email na criação e
+ * fica gravado no id, então leitura, atualização e exclusão vão direto a ele; listagem e busca
+ * consultam todos os shards em paralelo e intercalam os resultados por id. Os shards guardam só a
+ * agenda padrão (tenant); requisições de outras agendas são recusadas.
+ */
+@Slf4j
+public class ShardedContactService {
+
+    private final List<ContactShard> shards;
+    private final GlobalContactKeys globalKeys;
+    private final ContactService contactService;
+    private final Duration scatterTimeout;
+    private final ExecutorService scatterExecutor;
+
+    public ShardedContactService(List<ContactShard> shards, GlobalContactKeys globalKeys,
+                                 ContactService contactService, Duration scatterTimeout) {
+        this.shards = List.copyOf(shards);
+        this.globalKeys = globalKeys;
+        this.contactService = contactService;
+        this.scatterTimeout = scatterTimeout;
+        this.scatterExecutor = Executors.newFixedThreadPool(shards.size(), new CustomizableThreadFactory("contact-shards-"));
+    }
+
+    public ContactDTO getContactById(Long id, Set<ContactField> fields) {
+        requireDefaultTenant();
+        Set<ContactField> selected = fields != null ? fields : ContactField.ALL;
+        ContactShard shard = shardOf(id);
+        ContactSummary summary = shard.findSummaryById(id).orElseThrow(() -> notFound(id));
+        ContactPicture picture = summary.hasProfilePicture() && selected.contains(ContactField.PROFILE_PICTURE)
+                ? shard.findPictures(List.of(id)).stream().findFirst().orElse(null)
+                : null;
+        return contactService.convertToDTO(summary, picture, selected);
+    }
+
+    public PagedResponse<ContactDTO> searchContactsPaged(String searchTerm, int page, int size,
+                                                         Set<ContactField> fields) {
+        requireDefaultTenant();
+        Set<ContactField> selected = fields != null ? fields : ContactField.ALL;
+        String term = searchTerm == null || searchTerm.trim().isEmpty() ? null : searchTerm;
+        long offset = (long) page * size;
+        int limit = (int) Math.min(offset + size, Integer.MAX_VALUE);
+
+        List<ShardPage> shardPages = scatter(shards, shard ->
+                new ShardPage(shard.findFirstSummaries(term, limit), shard.count(term)));
+        long totalElements = shardPages.stream().mapToLong(ShardPage::count).sum();
+        List<ContactSummary> summaries = mergeById(shardPages, offset, size);
+
+        Map<Long, ContactPicture> pictures = selected.contains(ContactField.PROFILE_PICTURE)
+                ? findPictures(summaries)
+                : Collections.emptyMap();
+        List<ContactDTO> content = summaries.stream()
+                .map(summary -> contactService.convertToDTO(summary, pictures.get(summary.id()), selected))
+                .collect(Collectors.toList());
+
+        int totalPages = (int) Math.ceil((double) totalElements / size);
+        return PagedResponse.<ContactDTO>builder()
+                .content(content)
+                .pageNumber(page)
+                .pageSize(size)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .last(page + 1 >= totalPages)
+                .build();
+    }
+
+    public ContactDTO createContact(ContactCreateDTO contactDTO, MultipartFile profilePicture) throws IOException {
+        requireDefaultTenant();
+        Contact contact = contactService.prepareNewContact(contactDTO, profilePicture);
+        ContactShard shard = shards.get(shardFor(contact.getEmail()));
+
+        List<String> reserved = globalKeys.reserve(contact.getEmail(), contact.getPhone(), null);
+        long id;
+        try {
+            id = shard.insert(contact);
+        } catch (RuntimeException e) {
+            globalKeys.release(reserved);
+            throw e;
+        }
+        globalKeys.assign(reserved, id);
+
+        log.debug("Contato criado com ID {} no shard {}", id, shard.getIndex());
+        contact.setId(id);
+        return contactService.convertToDTO(contact);
+    }
+
+    public ContactDTO updateContact(Long id, ContactCreateDTO contactDTO, MultipartFile profilePicture)
+            throws IOException {
+        requireDefaultTenant();
+        ContactShard shard = shardOf(id);
+        ContactSummary existing = shard.findSummaryById(id).orElseThrow(() -> notFound(id));
+        Contact contact = contactService.prepareNewContact(contactDTO, profilePicture);
+
+        List<String> reserved = globalKeys.reserve(contact.getEmail(), contact.getPhone(), id);
+        try {
+            shard.update(id, contact);
+        } catch (RuntimeException e) {
+            globalKeys.release(reserved);
+            throw e;
+        }
+        List<String> previousKeys = new ArrayList<>(List.of(
+                GlobalContactKeys.emailKey(existing.email()), GlobalContactKeys.phoneKey(existing.phone())));
+        previousKeys.removeAll(List.of(
+                GlobalContactKeys.emailKey(contact.getEmail()), GlobalContactKeys.phoneKey(contact.getPhone())));
+        globalKeys.release(previousKeys);
+
+        log.debug("Contato atualizado com sucesso, ID: {} (shard {})", id, shard.getIndex());
+        return getContactById(id, null);
+    }
+
+    public void deleteContact(Long id) {
+        requireDefaultTenant();
+        ContactShard shard = shardOf(id);
+        ContactSummary existing = shard.findSummaryById(id).orElseThrow(() -> notFound(id));
+        shard.delete(id);
+        globalKeys.release(List.of(
+                GlobalContactKeys.emailKey(existing.email()), GlobalContactKeys.phoneKey(existing.phone())));
+        log.debug("Contato excluído com sucesso, ID: {} (shard {})", id, shard.getIndex());
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    private void requireDefaultTenant() {
+        if (!TenantContext.isDefaultTenant()) {
+            throw new BadRequestException("O modo particionado atende apenas a agenda padrão");
+        }
+    }
+
+    int shardFor(String email) {
+        return Math.floorMod(email.toLowerCase(Locale.ROOT).hashCode(), shards.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scatterExecutor.shutdownNow();
+        shards.forEach(ContactShard::close);
+    }
+
+    private ContactShard shardOf(Long id) {
+        if (id == null || id <= 0 || ShardedId.shardOf(id) >= shards.size()) {
+            throw notFound(id);
+        }
+        return shards.get(ShardedId.shardOf(id));
+    }
+
+    // Cada lista já vem ordenada por id do seu shard: intercalação de k listas, sem reordenar tudo
+    private List<ContactSummary> mergeById(List<ShardPage> shardPages, long offset, int size) {
+        PriorityQueue<MergeCursor> heads = new PriorityQueue<>(
+                (left, right) -> Long.compare(left.current().id(), right.current().id()));
+        shardPages.stream()
+                .filter(shardPage -> !shardPage.rows().isEmpty())
+                .forEach(shardPage -> heads.add(new MergeCursor(shardPage.rows())));
+
+        List<ContactSummary> page = new ArrayList<>(size);
+        long position = 0;
+        while (!heads.isEmpty() && page.size() < size) {
+            MergeCursor head = heads.poll();
+            if (position++ >= offset) {
+                page.add(head.current());
+            }
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return page;
+    }
+
+    private Map<Long, ContactPicture> findPictures(List<ContactSummary> summaries) {
+        Map<Integer, List<Long>> idsByShard = summaries.stream()
+                .filter(ContactSummary::hasProfilePicture)
+                .map(ContactSummary::id)
+                .collect(Collectors.groupingBy(ShardedId::shardOf));
+        if (idsByShard.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<ContactShard> involved = idsByShard.keySet().stream().map(shards::get).toList();
+        Map<Long, ContactPicture> pictures = new HashMap<>();
+        scatter(involved, shard -> shard.findPictures(idsByShard.get(shard.getIndex())))
+                .forEach(shardPictures -> shardPictures.forEach(picture -> pictures.put(picture.id(), picture)));
+        return pictures;
+    }
+
+    private <T> List<T> scatter(List<ContactShard> targets, Function<ContactShard, T> task) {
+        RequestDeadline.check();
+        List<CompletableFuture<T>> futures = targets.stream()
+                .map(shard -> CompletableFuture.supplyAsync(
+                        RequestDeadline.propagate(() -> task.apply(shard)), scatterExecutor))
+                .toList();
+        long timeoutMillis = scatterTimeoutMillis();
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new DeadlineExceededException("Os shards não responderam em " + timeoutMillis + " ms");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta aos shards interrompida", e);
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    // O que vencer primeiro: o timeout do scatter ou o prazo da requisição
+    private long scatterTimeoutMillis() {
+        RequestDeadline deadline = RequestDeadline.current();
+        long timeoutMillis = scatterTimeout.toMillis();
+        return deadline == null ? timeoutMillis : Math.min(timeoutMillis, deadline.remaining().toMillis());
+    }
+
+    private ResourceNotFoundException notFound(Long id) {
+        return new ResourceNotFoundException("Contato não encontrado com id: " + id);
+    }
+
+    private record ShardPage(List<ContactSummary> rows, long count) {
+    }
+
+    private static final class MergeCursor {
+
+        private final List<ContactSummary> rows;
+        private int position;
+
+        MergeCursor(List<ContactSummary> rows) {
+            this.rows = rows;
+        }
+
+        ContactSummary current() {
+            return rows.get(position);
+        }
+
+        boolean advance() {
+            return ++position < rows.size();
+        }
+    }
+}
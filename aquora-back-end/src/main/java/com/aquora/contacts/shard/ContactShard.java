@@ -0,0 +1,154 @@
+package com.aquora.contacts.shard;
+
+import com.aquora.contacts.model.Contact;
+import com.aquora.contacts.repository.ContactPicture;
+import com.aquora.contacts.repository.ContactSummary;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Acesso JDBC à tabela de contatos de um shard. Os ids recebidos e devolvidos são sempre os globais.
+ */
+public class ContactShard {
+
+    static final String SCHEMA_SQL = "CREATE TABLE IF NOT EXISTS contacts (" +
+            "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+            "name VARCHAR(255) NOT NULL, " +
+            "email VARCHAR(255) NOT NULL UNIQUE, " +
+            "phone VARCHAR(11) NOT NULL UNIQUE, " +
+            "date_of_birth DATE NOT NULL, " +
+            "profile_picture BYTEA, " +
+            "profile_picture_type VARCHAR(255))";
+
+    private static final String SUMMARY_COLUMNS = "SELECT id, name, email, phone, date_of_birth, " +
+            "CASE WHEN profile_picture IS NULL THEN FALSE ELSE TRUE END AS has_picture FROM contacts";
+    private static final String SEARCH_CONDITION =
+            " WHERE LOWER(name) LIKE LOWER(?) OR LOWER(email) LIKE LOWER(?) OR phone LIKE ?";
+    private static final String INSERT_SQL = "INSERT INTO contacts " +
+            "(name, email, phone, date_of_birth, profile_picture, profile_picture_type) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final int index;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ContactShard(int index, DataSource dataSource) {
+        this.index = index;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void initializeSchema() {
+        jdbcTemplate.execute(SCHEMA_SQL);
+    }
+
+    public void close() {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public long insert(Contact contact) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[] {"id"});
+            statement.setString(1, contact.getName());
+            statement.setString(2, contact.getEmail());
+            statement.setString(3, contact.getPhone());
+            statement.setObject(4, contact.getDateOfBirth());
+            statement.setBytes(5, contact.getProfilePicture());
+            statement.setString(6, contact.getProfilePictureType());
+            return statement;
+        }, keyHolder);
+        return ShardedId.encode(index, keyHolder.getKey().longValue());
+    }
+
+    // Sem foto nova, a atual é mantida
+    public void update(long id, Contact contact) {
+        if (contact.getProfilePicture() == null) {
+            jdbcTemplate.update("UPDATE contacts SET name = ?, email = ?, phone = ?, date_of_birth = ? WHERE id = ?",
+                    contact.getName(), contact.getEmail(), contact.getPhone(), contact.getDateOfBirth(),
+                    ShardedId.localIdOf(id));
+            return;
+        }
+        jdbcTemplate.update("UPDATE contacts SET name = ?, email = ?, phone = ?, date_of_birth = ?, " +
+                        "profile_picture = ?, profile_picture_type = ? WHERE id = ?",
+                contact.getName(), contact.getEmail(), contact.getPhone(), contact.getDateOfBirth(),
+                contact.getProfilePicture(), contact.getProfilePictureType(), ShardedId.localIdOf(id));
+    }
+
+    public boolean delete(long id) {
+        return jdbcTemplate.update("DELETE FROM contacts WHERE id = ?", ShardedId.localIdOf(id)) > 0;
+    }
+
+    public Optional<ContactSummary> findSummaryById(long id) {
+        return Optional.ofNullable(DataAccessUtils.singleResult(jdbcTemplate.query(
+                SUMMARY_COLUMNS + " WHERE id = ?", summaryMapper(), ShardedId.localIdOf(id))));
+    }
+
+    /**
+     * Os primeiros {@code limit} contatos em ordem de id: numa página global, cada shard precisa
+     * devolver tudo o que poderia aparecer até o fim dela.
+     */
+    public List<ContactSummary> findFirstSummaries(String searchTerm, int limit) {
+        if (searchTerm == null) {
+            return jdbcTemplate.query(SUMMARY_COLUMNS + " ORDER BY id ASC LIMIT ?", summaryMapper(), limit);
+        }
+        String pattern = "%" + searchTerm + "%";
+        return jdbcTemplate.query(SUMMARY_COLUMNS + SEARCH_CONDITION + " ORDER BY id ASC LIMIT ?", summaryMapper(),
+                pattern, pattern, pattern, limit);
+    }
+
+    public long count(String searchTerm) {
+        if (searchTerm == null) {
+            return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contacts", Long.class);
+        }
+        String pattern = "%" + searchTerm + "%";
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contacts" + SEARCH_CONDITION, Long.class,
+                pattern, pattern, pattern);
+    }
+
+    public List<ContactPicture> findPictures(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(", "));
+        return jdbcTemplate.query(
+                "SELECT id, profile_picture, profile_picture_type FROM contacts WHERE id IN (" + placeholders + ")",
+                (row, rowNum) -> new ContactPicture(ShardedId.encode(index, row.getLong("id")),
+                        row.getBytes("profile_picture"), row.getString("profile_picture_type")),
+                ids.stream().map(ShardedId::localIdOf).toArray());
+    }
+
+    private RowMapper<ContactSummary> summaryMapper() {
+        return (row, rowNum) -> new ContactSummary(
+                ShardedId.encode(index, row.getLong("id")),
+                row.getString("name"),
+                row.getString("email"),
+                row.getString("phone"),
+                row.getObject("date_of_birth", LocalDate.class),
+                row.getBoolean("has_picture"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.aquora.contacts.shard;
+
+import com.aquora.contacts.validator.ValidationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Índice global de emails e telefones do modo particionado, no banco principal. Cada shard só
+ * garante unicidade dentro de si; aqui cada valor é reservado antes de ir para o shard, com o id
+ * do dono (nulo enquanto a criação ainda não terminou). Uma reserva que continua sem dono depois de
+ * {@code reservationTimeout} foi abandonada (a instância caiu entre a reserva e o assign/release) e é
+ * liberada pela próxima requisição que pedir o mesmo valor.
+ */
+@Slf4j
+public class GlobalContactKeys {
+
+    static final String SCHEMA_SQL = "CREATE TABLE IF NOT EXISTS contact_unique_keys (" +
+            "unique_key VARCHAR(300) PRIMARY KEY, " +
+            "contact_id BIGINT, " +
+            "reserved_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+
+    // Tabelas criadas antes da coluna: as reservas órfãs já existentes passam a expirar a partir de agora
+    static final String MIGRATION_SQL = "ALTER TABLE contact_unique_keys " +
+            "ADD COLUMN IF NOT EXISTS reserved_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP";
+
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String PHONE_PREFIX = "phone:";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final Duration reservationTimeout;
+
+    public GlobalContactKeys(JdbcTemplate jdbcTemplate, TransactionTemplate transaction, Duration reservationTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transaction = transaction;
+        this.reservationTimeout = reservationTimeout;
+    }
+
+    public void initializeSchema() {
+        jdbcTemplate.execute(SCHEMA_SQL);
+        jdbcTemplate.execute(MIGRATION_SQL);
+    }
+
+    public static String emailKey(String email) {
+        return EMAIL_PREFIX + email;
+    }
+
+    public static String phoneKey(String phone) {
+        return PHONE_PREFIX + phone;
+    }
+
+    /**
+     * Reserva email e telefone para o contato {@code ownerId} (nulo numa criação). Valores que já são
+     * do próprio contato continuam dele; os de outro contato viram erros de validação. Devolve as
+     * chaves efetivamente inseridas, para {@link #release} desfazer a reserva se o shard falhar.
+     */
+    public List<String> reserve(String email, String phone, Long ownerId) {
+        releaseAbandoned(List.of(emailKey(email), phoneKey(phone)));
+        List<String> missing = checkAvailable(email, phone, ownerId);
+        Timestamp reservedAt = Timestamp.from(Instant.now());
+        try {
+            transaction.executeWithoutResult(status -> missing.forEach(key ->
+                    jdbcTemplate.update("INSERT INTO contact_unique_keys (unique_key, contact_id, reserved_at) VALUES (?, ?, ?)",
+                            key, ownerId, reservedAt)));
+            return missing;
+        } catch (DuplicateKeyException e) {
+            // Outra requisição reservou o mesmo valor entre a verificação e a inserção
+            log.debug("Reserva concorrente de email/telefone: {}", e.getMessage());
+            checkAvailable(email, phone, ownerId);
+            throw e;
+        }
+    }
+
+    public void assign(Collection<String> keys, long contactId) {
+        if (!keys.isEmpty()) {
+            namedJdbcTemplate.update("UPDATE contact_unique_keys SET contact_id = :id WHERE unique_key IN (:keys)",
+                    new MapSqlParameterSource("id", contactId).addValue("keys", keys));
+        }
+    }
+
+    public void release(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            namedJdbcTemplate.update("DELETE FROM contact_unique_keys WHERE unique_key IN (:keys)",
+                    new MapSqlParameterSource("keys", keys));
+        }
+    }
+
+    private void releaseAbandoned(List<String> keys) {
+        int released = namedJdbcTemplate.update("DELETE FROM contact_unique_keys " +
+                        "WHERE unique_key IN (:keys) AND contact_id IS NULL AND reserved_at < :cutoff",
+                new MapSqlParameterSource("keys", keys)
+                        .addValue("cutoff", Timestamp.from(Instant.now().minus(reservationTimeout))));
+        if (released > 0) {
+            log.warn("{} reserva(s) de email/telefone abandonada(s) liberada(s)", released);
+        }
+    }
+
+    // Mesmas mensagens de ContactService.validateUniqueFields; devolve as chaves ainda não reservadas
+    private List<String> checkAvailable(String email, String phone, Long ownerId) {
+        String emailKey = emailKey(email);
+        String phoneKey = phoneKey(phone);
+        Map<String, Long> owners = new HashMap<>();
+        namedJdbcTemplate.query("SELECT unique_key, contact_id FROM contact_unique_keys WHERE unique_key IN (:keys)",
+                new MapSqlParameterSource("keys", List.of(emailKey, phoneKey)),
+                (RowCallbackHandler) row -> owners.put(row.getString("unique_key"),
+                        row.getObject("contact_id", Long.class)));
+
+        ValidationResult validation = new ValidationResult();
+        if (owners.containsKey(emailKey) && !isOwner(owners.get(emailKey), ownerId)) {
+            validation.reject("email", "Email já está em uso");
+        }
+        if (owners.containsKey(phoneKey) && !isOwner(owners.get(phoneKey), ownerId)) {
+            validation.reject("phone", "Telefone já está em uso");
+        }
+        validation.throwIfInvalid();
+
+        return Stream.of(emailKey, phoneKey)
+                .filter(key -> !owners.containsKey(key))
+                .toList();
+    }
+
+    private boolean isOwner(Long currentOwner, Long ownerId) {
+        return ownerId != null && Objects.equals(currentOwner, ownerId);
+    }
+}
@@ -0,0 +1,28 @@
+package com.aquora.contacts.shard;
+
+/**
+ * Ids globais no modo particionado: o id local do shard nos bits altos e o número do shard
+ * nos {@value #SHARD_BITS} bits baixos. Dentro de um shard a ordem dos ids globais é a dos locais.
+ */
+public final class ShardedId {
+
+    public static final int SHARD_BITS = 8;
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private static final long SHARD_MASK = MAX_SHARDS - 1;
+
+    private ShardedId() {
+    }
+
+    public static long encode(int shard, long localId) {
+        return (localId << SHARD_BITS) | shard;
+    }
+
+    public static int shardOf(long id) {
+        return (int) (id & SHARD_MASK);
+    }
+
+    public static long localIdOf(long id) {
+        return id >>> SHARD_BITS;
+    }
+}
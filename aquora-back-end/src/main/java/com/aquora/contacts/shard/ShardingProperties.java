@@ -0,0 +1,32 @@
+package com.aquora.contacts.shard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    // A ordem define o número de cada shard, que fica gravado nos ids: não reordene
+    private List<Shard> shards = new ArrayList<>();
+
+    // Tempo máximo de espera pelas respostas de todos os shards numa listagem
+    private Duration scatterTimeout = Duration.ofSeconds(5);
+
+    // Reservas de email/telefone sem dono há mais que isso são de criações interrompidas e podem ser retomadas;
+    // precisa ser bem maior que o tempo de uma gravação no shard
+    private Duration reservationTimeout = Duration.ofMinutes(10);
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
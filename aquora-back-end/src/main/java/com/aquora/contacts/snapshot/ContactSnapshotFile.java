@@ -0,0 +1,254 @@
+package com.aquora.contacts.snapshot;
+
+import com.aquora.contacts.repository.ContactSummary;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Arquivo colunar somente leitura com os campos escalares dos contatos, ordenados por id e mapeado
+ * em memória. Cada coluna fica contígua: ids e datas de nascimento em arrays de tamanho fixo, e os
+ * textos em UTF-8 com um array de offsets. A busca por id é binária e a busca por termo compara
+ * bytes de uma coluna já em minúsculas, então só as linhas devolvidas viram objetos.
+ */
+public final class ContactSnapshotFile {
+
+    private static final int MAGIC = 0x41514E53;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    // magic, versão, quantidade, writtenAt e a posição de cada uma das 7 colunas
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 7 * 4;
+    private static final byte SEARCH_SEPARATOR = '\n';
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final Instant writtenAt;
+    private final int idsAt;
+    private final int datesAt;
+    private final int flagsAt;
+    private final StringColumn names;
+    private final StringColumn emails;
+    private final StringColumn phones;
+    private final StringColumn searchKeys;
+
+    private ContactSnapshotFile(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalStateException("Formato de snapshot desconhecido");
+        }
+        this.count = buffer.getInt(8);
+        this.writtenAt = Instant.ofEpochMilli(buffer.getLong(12));
+        this.idsAt = buffer.getInt(20);
+        this.datesAt = buffer.getInt(24);
+        this.flagsAt = buffer.getInt(28);
+        this.names = new StringColumn(buffer.getInt(32));
+        this.emails = new StringColumn(buffer.getInt(36));
+        this.phones = new StringColumn(buffer.getInt(40));
+        this.searchKeys = new StringColumn(buffer.getInt(44));
+    }
+
+    public static ContactSnapshotFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot maior que 2 GB: " + path);
+            }
+            return new ContactSnapshotFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Grava as linhas (já ordenadas por id) em {@code path}.
+     */
+    public static void write(Path path, List<ContactSummary> rows, Instant writtenAt) throws IOException {
+        int count = rows.size();
+        byte[][] names = new byte[count][];
+        byte[][] emails = new byte[count][];
+        byte[][] phones = new byte[count][];
+        byte[][] searchKeys = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            ContactSummary row = rows.get(i);
+            names[i] = utf8(row.name());
+            emails[i] = utf8(row.email());
+            phones[i] = utf8(row.phone());
+            searchKeys[i] = searchKey(row);
+        }
+
+        long idsAt = HEADER_SIZE;
+        long datesAt = idsAt + 8L * count;
+        long flagsAt = datesAt + 4L * count;
+        long namesAt = flagsAt + count;
+        long emailsAt = namesAt + columnSize(names);
+        long phonesAt = emailsAt + columnSize(emails);
+        long searchKeysAt = phonesAt + columnSize(phones);
+        if (searchKeysAt + columnSize(searchKeys) > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot excederia 2 GB com " + count + " contatos");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(count);
+            out.writeLong(writtenAt.toEpochMilli());
+            for (long position : new long[]{idsAt, datesAt, flagsAt, namesAt, emailsAt, phonesAt, searchKeysAt}) {
+                out.writeInt((int) position);
+            }
+            for (ContactSummary row : rows) {
+                out.writeLong(row.id());
+            }
+            for (ContactSummary row : rows) {
+                out.writeInt(row.dateOfBirth() != null ? (int) row.dateOfBirth().toEpochDay() : NO_DATE);
+            }
+            for (ContactSummary row : rows) {
+                out.writeByte(Boolean.TRUE.equals(row.hasProfilePicture()) ? 1 : 0);
+            }
+            writeColumn(out, names);
+            writeColumn(out, emails);
+            writeColumn(out, phones);
+            writeColumn(out, searchKeys);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public Instant writtenAt() {
+        return writtenAt;
+    }
+
+    public long idAt(int index) {
+        return buffer.getLong(idsAt + 8 * index);
+    }
+
+    /**
+     * Índice da linha com o id, ou {@code -(ponto de inserção) - 1} como em {@link java.util.Arrays#binarySearch}.
+     */
+    public int indexOf(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = idAt(middle);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    public ContactSummary rowAt(int index) {
+        int epochDay = buffer.getInt(datesAt + 4 * index);
+        return new ContactSummary(
+                idAt(index),
+                names.get(index),
+                emails.get(index),
+                phones.get(index),
+                epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay),
+                buffer.get(flagsAt + index) != 0);
+    }
+
+    /**
+     * Verifica, sem decodificar a linha, se nome, email ou telefone contêm {@code needle}
+     * (gerado por {@link #needle(String)}).
+     */
+    public boolean matches(int index, byte[] needle) {
+        return searchKeys.contains(index, needle);
+    }
+
+    public static byte[] needle(String searchTerm) {
+        return searchTerm.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Mesmo critério da busca no banco: nome e email sem diferenciar maiúsculas, telefone como está
+    static boolean matches(ContactSummary row, byte[] needle) {
+        byte[] key = searchKey(row);
+        return contains(ByteBuffer.wrap(key), 0, key.length, needle);
+    }
+
+    private static byte[] searchKey(ContactSummary row) {
+        String key = lower(row.name()) + (char) SEARCH_SEPARATOR + lower(row.email()) + (char) SEARCH_SEPARATOR
+                + (row.phone() != null ? row.phone() : "");
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static long columnSize(byte[][] values) {
+        long size = 4L * (values.length + 1);
+        for (byte[] value : values) {
+            size += value.length;
+        }
+        return size;
+    }
+
+    private static void writeColumn(DataOutputStream out, byte[][] values) throws IOException {
+        int offset = 0;
+        out.writeInt(offset);
+        for (byte[] value : values) {
+            offset += value.length;
+            out.writeInt(offset);
+        }
+        for (byte[] value : values) {
+            out.write(value);
+        }
+    }
+
+    private static boolean contains(ByteBuffer haystack, int from, int to, byte[] needle) {
+        outer:
+        for (int start = from; start <= to - needle.length; start++) {
+            for (int i = 0; i < needle.length; i++) {
+                if (haystack.get(start + i) != needle[i]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private final class StringColumn {
+
+        private final int offsetsAt;
+        private final int dataAt;
+
+        StringColumn(int offsetsAt) {
+            this.offsetsAt = offsetsAt;
+            this.dataAt = offsetsAt + 4 * (count + 1);
+        }
+
+        String get(int index) {
+            int start = buffer.getInt(offsetsAt + 4 * index);
+            int end = buffer.getInt(offsetsAt + 4 * (index + 1));
+            byte[] bytes = new byte[end - start];
+            buffer.get(dataAt + start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        boolean contains(int index, byte[] needle) {
+            int start = dataAt + buffer.getInt(offsetsAt + 4 * index);
+            int end = dataAt + buffer.getInt(offsetsAt + 4 * (index + 1));
+            return ContactSnapshotFile.contains(buffer, start, end, needle);
+        }
+    }
+}
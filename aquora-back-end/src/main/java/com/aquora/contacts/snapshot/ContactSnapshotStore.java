@@ -0,0 +1,353 @@
+package com.aquora.contacts.snapshot;
+
+import com.aquora.contacts.cache.InvalidatableCache;
+import com.aquora.contacts.event.ChangeType;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.event.ContactState;
+import com.aquora.contacts.repository.ContactSummary;
+import com.aquora.contacts.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Cópia local, somente leitura, dos campos escalares da agenda, usada quando o banco não responde.
+ * A base é um {@link ContactSnapshotFile} regravado por completo a cada {@code refreshInterval};
+ * entre uma regravação e outra, as escritas confirmadas entram numa camada em memória ordenada
+ * por id (que prevalece sobre a base) e num diário em disco, reaplicado ao subir a aplicação.
+ * Assim um restart com o banco fora do ar ainda serve a agenda como estava na parada. Só a agenda
+ * padrão (tenant) entra no snapshot.
+ */
+@Slf4j
+public class ContactSnapshotStore implements InvalidatableCache {
+
+    private static final String ROWS_SQL = "SELECT id, name, email, phone, date_of_birth, " +
+            "CASE WHEN profile_picture IS NULL THEN FALSE ELSE TRUE END AS has_picture FROM contacts " +
+            "WHERE tenant_id = '" + TenantContext.DEFAULT_TENANT + "'";
+    private static final byte UPSERT = 'U';
+    private static final byte DELETE = 'D';
+
+    private static final RowMapper<ContactSummary> ROW_MAPPER = (row, rowNum) -> new ContactSummary(
+            row.getLong("id"),
+            row.getString("name"),
+            row.getString("email"),
+            row.getString("phone"),
+            row.getObject("date_of_birth", LocalDate.class),
+            row.getBoolean("has_picture"));
+
+    private final JdbcTemplate jdbcTemplate;
+    // Não é readOnly de propósito: com réplicas de leitura, isso levaria a consulta a uma réplica atrasada,
+    // e o refresh descarta da camada em memória escritas que ela talvez ainda não tenha
+    private final TransactionTemplate primaryTransaction;
+    private final SnapshotProperties properties;
+    private final Path path;
+    private final Path journalPath;
+    private final ScheduledExecutorService writer;
+    private final AtomicLong sequence = new AtomicLong();
+    // Alterações posteriores à base; uma entrada sem linha é uma exclusão
+    private final ConcurrentSkipListMap<Long, Change> changes = new ConcurrentSkipListMap<>();
+    private final Object journalLock = new Object();
+
+    private volatile ContactSnapshotFile base;
+    private DataOutputStream journal;
+
+    public ContactSnapshotStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                SnapshotProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.path = Paths.get(properties.getPath()).toAbsolutePath();
+        this.journalPath = path.resolveSibling(path.getFileName() + ".journal");
+        this.writer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("contact-snapshot-"));
+    }
+
+    /**
+     * Mapeia o snapshot existente e reaplica o diário, sem consultar o banco, e agenda as regravações.
+     */
+    public void start() {
+        try {
+            Files.createDirectories(path.getParent());
+            if (Files.exists(path)) {
+                base = ContactSnapshotFile.open(path);
+                log.info("Snapshot carregado: {} contatos gravados em {}", base.size(), base.writtenAt());
+            }
+            replayJournal();
+            openJournal();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot em {} ignorado: {}", path, e.getMessage());
+            base = null;
+            changes.clear();
+        }
+        long intervalMillis = properties.getRefreshInterval().toMillis();
+        writer.scheduleWithFixedDelay(this::refreshScheduled, base == null ? 0 : intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isAvailable() {
+        return base != null;
+    }
+
+    public Instant writtenAt() {
+        ContactSnapshotFile current = base;
+        return current != null ? current.writtenAt() : null;
+    }
+
+    public Optional<ContactSummary> findById(long id) {
+        Change change = changes.get(id);
+        if (change != null) {
+            return Optional.ofNullable(change.row());
+        }
+        ContactSnapshotFile current = base;
+        int index = current != null ? current.indexOf(id) : -1;
+        return index >= 0 ? Optional.of(current.rowAt(index)) : Optional.empty();
+    }
+
+    /**
+     * Página em ordem de id, como a listagem do banco. Só as linhas da página são decodificadas;
+     * as demais são contadas pelo id e, na busca, comparadas em bytes.
+     */
+    public SnapshotPage findPage(String searchTerm, int page, int size) {
+        ContactSnapshotFile current = base;
+        byte[] needle = searchTerm != null ? ContactSnapshotFile.needle(searchTerm) : null;
+        long skip = (long) page * size;
+        List<ContactSummary> rows = new ArrayList<>(size);
+        long total = 0;
+
+        Iterator<Map.Entry<Long, Change>> pending = changes.entrySet().iterator();
+        Map.Entry<Long, Change> next = pending.hasNext() ? pending.next() : null;
+        int count = current != null ? current.size() : 0;
+        int index = 0;
+        while (index < count || next != null) {
+            long baseId = index < count ? current.idAt(index) : Long.MAX_VALUE;
+            if (next != null && next.getKey() <= baseId) {
+                if (next.getKey() == baseId) {
+                    index++;
+                }
+                ContactSummary row = next.getValue().row();
+                if (row != null && (needle == null || ContactSnapshotFile.matches(row, needle))) {
+                    if (total++ >= skip && rows.size() < size) {
+                        rows.add(row);
+                    }
+                }
+                next = pending.hasNext() ? pending.next() : null;
+            } else {
+                if (needle == null || current.matches(index, needle)) {
+                    if (total++ >= skip && rows.size() < size) {
+                        rows.add(current.rowAt(index));
+                    }
+                }
+                index++;
+            }
+        }
+        return new SnapshotPage(rows, total);
+    }
+
+    /**
+     * Regrava o snapshot a partir do banco. As alterações confirmadas antes do início da leitura
+     * já estão nela e saem da camada em memória; as posteriores continuam valendo por cima. A leitura
+     * vai sempre ao primário, o único que garante conter essas alterações.
+     */
+    public void refresh() {
+        long startedAt = sequence.get();
+        Instant writtenAt = Instant.now();
+        List<ContactSummary> rows = primaryTransaction.execute(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ROWS_SQL + " ORDER BY id");
+            statement.setFetchSize(properties.getFetchSize());
+            return statement;
+        }, ROW_MAPPER));
+
+        try {
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+            ContactSnapshotFile.write(temporary, rows, writtenAt);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (journalLock) {
+                base = ContactSnapshotFile.open(path);
+                changes.values().removeIf(change -> change.sequence() <= startedAt);
+                rewriteJournal();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Snapshot regravado com {} contatos", rows.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContactChanged(ContactChangedEvent event) {
+        if (!TenantContext.DEFAULT_TENANT.equals(event.tenantId())) {
+            return;
+        }
+        ContactState state = event.current();
+        if (event.type() == ChangeType.DELETED || state == null) {
+            apply(event.contactId(), null);
+            return;
+        }
+        apply(event.contactId(), new ContactSummary(event.contactId(), state.name(), state.email(), state.phone(),
+                state.dateOfBirth(), state.pictureSize() != null));
+    }
+
+    // Alterações feitas por outra instância: relê só essas linhas
+    @Override
+    public void invalidate(Collection<Long> contactIds) {
+        if (contactIds.isEmpty()) {
+            return;
+        }
+        Map<Long, ContactSummary> rows = primaryTransaction.execute(status -> jdbcTemplate.query(
+                        ROWS_SQL + " AND id IN (" + contactIds.stream().map(id -> "?").collect(Collectors.joining(",")) + ")",
+                        ROW_MAPPER, contactIds.toArray())).stream()
+                .collect(Collectors.toMap(ContactSummary::id, row -> row));
+        for (Long id : contactIds) {
+            apply(id, rows.get(id));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        writer.execute(this::refreshScheduled);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+        synchronized (journalLock) {
+            closeJournal();
+        }
+    }
+
+    void apply(long id, ContactSummary row) {
+        synchronized (journalLock) {
+            changes.put(id, new Change(sequence.incrementAndGet(), row));
+            appendToJournal(id, row);
+        }
+    }
+
+    private void refreshScheduled() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao regravar o snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void replayJournal() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+            while (true) {
+                byte operation = in.readByte();
+                long id = in.readLong();
+                ContactSummary row = operation == UPSERT ? readRow(in, id) : null;
+                changes.put(id, new Change(sequence.incrementAndGet(), row));
+                replayed++;
+            }
+        } catch (EOFException e) {
+            // Fim do diário, ou um registro incompleto de uma parada no meio da escrita
+        }
+        log.info("Diário do snapshot reaplicado: {} alterações", replayed);
+    }
+
+    private void openJournal() throws IOException {
+        journal = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    private void rewriteJournal() throws IOException {
+        closeJournal();
+        Path temporary = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            for (Map.Entry<Long, Change> entry : changes.entrySet()) {
+                writeRecord(out, entry.getKey(), entry.getValue().row());
+            }
+        }
+        Files.move(temporary, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        openJournal();
+    }
+
+    // O diário é só uma aceleração do restart: se falhar, a próxima regravação recupera tudo do banco
+    private void appendToJournal(long id, ContactSummary row) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            writeRecord(journal, id, row);
+            journal.flush();
+        } catch (IOException e) {
+            log.warn("Falha ao gravar o diário do snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o diário do snapshot: {}", e.getMessage());
+        }
+        journal = null;
+    }
+
+    private static void writeRecord(DataOutputStream out, long id, ContactSummary row) throws IOException {
+        out.writeByte(row != null ? UPSERT : DELETE);
+        out.writeLong(id);
+        if (row == null) {
+            return;
+        }
+        out.writeUTF(row.name());
+        out.writeUTF(row.email());
+        out.writeUTF(row.phone());
+        out.writeLong(row.dateOfBirth() != null ? row.dateOfBirth().toEpochDay() : Long.MIN_VALUE);
+        out.writeBoolean(Boolean.TRUE.equals(row.hasProfilePicture()));
+    }
+
+    private static ContactSummary readRow(DataInputStream in, long id) throws IOException {
+        String name = in.readUTF();
+        String email = in.readUTF();
+        String phone = in.readUTF();
+        long epochDay = in.readLong();
+        boolean hasPicture = in.readBoolean();
+        return new ContactSummary(id, name, email, phone,
+                epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay), hasPicture);
+    }
+
+    private record Change(long sequence, ContactSummary row) {
+    }
+
+    public record SnapshotPage(List<ContactSummary> rows, long totalElements) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.aquora.contacts.snapshot;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Arquivo do snapshot; o diário de alterações fica ao lado, com a extensão {@code .journal}.
+     */
+    private String path = "./data/contacts.snapshot";
+
+    /**
+     * Intervalo da regravação completa a partir do banco. Entre regravações, as escritas
+     * confirmadas são aplicadas de forma incremental.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(10);
+
+    /**
+     * Depois de uma falha de conexão com o banco, por quanto tempo as leituras vão direto ao
+     * snapshot antes de tentar o banco de novo.
+     */
+    private Duration outageRetryInterval = Duration.ofSeconds(5);
+
+    private int fetchSize = 1_000;
+}
@@ -0,0 +1,310 @@
+package com.aquora.contacts.stats;
+
+import com.aquora.contacts.cache.InvalidatableCache;
+import com.aquora.contacts.dto.ContactStatsDTO;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.event.ContactState;
+import com.aquora.contacts.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Blob;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Estatísticas da agenda mantidas em memória com {@link LongAdder}s, atualizadas pelos eventos de
+ * escrita confirmada: a consulta não faz agregação no banco nem toca a coluna da foto. A idade é
+ * calculada na leitura a partir das contagens por data de nascimento. Uma reconciliação periódica
+ * recalcula tudo a partir do banco (sem a foto, usando profile_picture_size) e corrige desvios.
+ * Os contadores são separados por agenda (tenant) e a consulta devolve os da agenda atual.
+ * Escritas de outras instâncias não geram eventos aqui: a invalidação entre instâncias antecipa a
+ * reconciliação para {@code remote-reconcile-delay} depois da primeira alteração remota.
+ */
+@Component
+@EnableConfigurationProperties(StatsProperties.class)
+@Slf4j
+public class ContactStatistics implements InvalidatableCache {
+
+    static final String UNKNOWN_DOMAIN = "desconhecido";
+
+    private static final int[] AGE_BUCKET_LIMITS = {18, 25, 35, 45, 55, 65};
+    private static final String[] AGE_BUCKETS = {"0-17", "18-24", "25-34", "35-44", "45-54", "55-64", "65+"};
+
+    private static final String SNAPSHOT_SQL =
+            "SELECT tenant_id, email, date_of_birth, profile_picture_size FROM contacts";
+    private static final String MISSING_PICTURE_SIZE_SQL =
+            "SELECT id, profile_picture FROM contacts WHERE profile_picture IS NOT NULL AND profile_picture_size IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final StatsProperties properties;
+    private final ScheduledExecutorService reconciler;
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean remoteReconcileScheduled = new AtomicBoolean();
+
+    private volatile Map<String, Counters> counters = new ConcurrentHashMap<>();
+    // Alterações confirmadas durante uma reconciliação, reaplicadas nos contadores novos
+    private List<ContactChangedEvent> pending;
+    private volatile String reconciledAt;
+
+    @Autowired
+    public ContactStatistics(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             StatsProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("contact-stats-"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        backfillPictureSizes();
+        reconcile();
+        long intervalMillis = properties.getReconcileInterval().toMillis();
+        reconciler.scheduleWithFixedDelay(this::reconcileScheduled, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContactChanged(ContactChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            countersOf(counters, event.tenantId()).apply(event);
+            synchronized (this) {
+                if (pending != null) {
+                    pending.add(event);
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public ContactStatsDTO snapshot() {
+        Counters current = counters.get(TenantContext.currentTenantId());
+        if (current == null) {
+            current = new Counters();
+        }
+        long total = current.total.sum();
+        long withPicture = current.withPicture.sum();
+
+        List<Map.Entry<String, Long>> domains = new ArrayList<>();
+        current.domains.forEach((domain, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                domains.add(Map.entry(domain, sum));
+            }
+        });
+        domains.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> topDomains = new LinkedHashMap<>();
+        long otherDomains = 0;
+        for (Map.Entry<String, Long> domain : domains) {
+            if (topDomains.size() < properties.getTopDomains()) {
+                topDomains.put(domain.getKey(), domain.getValue());
+            } else {
+                otherDomains += domain.getValue();
+            }
+        }
+
+        return ContactStatsDTO.builder()
+                .totalContacts(total)
+                .contactsWithPicture(withPicture)
+                .pictureShare(total == 0 ? 0 : (double) withPicture / total)
+                .totalPictureBytes(current.pictureBytes.sum())
+                .emailDomains(topDomains)
+                .otherDomains(otherDomains)
+                .ageDistribution(ageDistribution(current, LocalDate.now()))
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    /**
+     * Recalcula os contadores a partir do banco. As escritas confirmadas durante a leitura são
+     * reaplicadas nos contadores novos antes da troca. A leitura não é readOnly de propósito: numa
+     * réplica atrasada, escritas confirmadas antes do início (e que não estão em {@code pending})
+     * sumiriam dos contadores até a reconciliação seguinte.
+     */
+    public void reconcile() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        Map<String, Counters> fresh = new ConcurrentHashMap<>();
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement statement = connection.prepareStatement(SNAPSHOT_SQL);
+                        statement.setFetchSize(properties.getFetchSize());
+                        return statement;
+                    },
+                    (RowCallbackHandler) row -> countersOf(fresh, row.getString("tenant_id")).add(
+                            row.getString("email"), row.getObject("date_of_birth", LocalDate.class),
+                            row.getObject("profile_picture_size", Long.class), 1)));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        long drift;
+        swapLock.writeLock().lock();
+        try {
+            synchronized (this) {
+                pending.forEach(event -> countersOf(fresh, event.tenantId()).apply(event));
+                pending = null;
+            }
+            drift = total(counters) - total(fresh);
+            counters = fresh;
+            reconciledAt = OffsetDateTime.now().toString();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        if (drift != 0) {
+            log.warn("Reconciliação das estatísticas corrigiu um desvio de {} contatos", drift);
+        }
+    }
+
+    // A mensagem remota não traz os valores anteriores nem a agenda: só uma nova leitura corrige os contadores
+    @Override
+    public void invalidate(Collection<Long> contactIds) {
+        invalidateAll();
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (remoteReconcileScheduled.compareAndSet(false, true)) {
+            reconciler.schedule(() -> {
+                remoteReconcileScheduled.set(false);
+                reconcileScheduled();
+            }, properties.getRemoteReconcileDelay().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    private void reconcileScheduled() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Erro na reconciliação das estatísticas", e);
+        }
+    }
+
+    // Linhas gravadas antes da coluna profile_picture_size existir; lê só o tamanho do LOB
+    private void backfillPictureSizes() {
+        Integer updated = transaction.execute(status -> {
+            List<Object[]> sizes = new ArrayList<>();
+            jdbcTemplate.query(MISSING_PICTURE_SIZE_SQL, (RowCallbackHandler) row -> {
+                Blob picture = row.getBlob("profile_picture");
+                sizes.add(new Object[] {picture.length(), row.getLong("id")});
+                picture.free();
+            });
+            if (!sizes.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE contacts SET profile_picture_size = ? WHERE id = ?", sizes);
+            }
+            return sizes.size();
+        });
+        if (updated != null && updated > 0) {
+            log.info("Tamanho da foto preenchido para {} contatos existentes", updated);
+        }
+    }
+
+    private static Counters countersOf(Map<String, Counters> counters, String tenantId) {
+        return counters.computeIfAbsent(tenantId, ignored -> new Counters());
+    }
+
+    private static long total(Map<String, Counters> counters) {
+        return counters.values().stream().mapToLong(tenantCounters -> tenantCounters.total.sum()).sum();
+    }
+
+    private static Map<String, Long> ageDistribution(Counters current, LocalDate today) {
+        long[] buckets = new long[AGE_BUCKETS.length];
+        current.birthDates.forEach((dateOfBirth, count) ->
+                buckets[bucketOf(Period.between(dateOfBirth, today).getYears())] += count.sum());
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < AGE_BUCKETS.length; i++) {
+            distribution.put(AGE_BUCKETS[i], buckets[i]);
+        }
+        return distribution;
+    }
+
+    private static int bucketOf(int age) {
+        int bucket = 0;
+        while (bucket < AGE_BUCKET_LIMITS.length && age >= AGE_BUCKET_LIMITS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    static String domainOf(String email) {
+        int at = email == null ? -1 : email.lastIndexOf('@');
+        if (at < 0 || at == email.length() - 1) {
+            return UNKNOWN_DOMAIN;
+        }
+        return email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder withPicture = new LongAdder();
+        private final LongAdder pictureBytes = new LongAdder();
+        private final Map<String, LongAdder> domains = new ConcurrentHashMap<>();
+        private final Map<LocalDate, LongAdder> birthDates = new ConcurrentHashMap<>();
+
+        void apply(ContactChangedEvent event) {
+            if (event.previous() != null) {
+                add(event.previous(), -1);
+            }
+            if (event.current() != null) {
+                add(event.current(), 1);
+            }
+        }
+
+        private void add(ContactState state, int delta) {
+            add(state.email(), state.dateOfBirth(), state.pictureSize(), delta);
+        }
+
+        void add(String email, LocalDate dateOfBirth, Long pictureSize, int delta) {
+            total.add(delta);
+            if (pictureSize != null) {
+                withPicture.add(delta);
+                pictureBytes.add(delta * pictureSize);
+            }
+            domains.computeIfAbsent(domainOf(email), ignored -> new LongAdder()).add(delta);
+            if (dateOfBirth != null) {
+                birthDates.computeIfAbsent(dateOfBirth, ignored -> new LongAdder()).add(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.aquora.contacts.stats;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.stats")
+public class StatsProperties {
+
+    /**
+     * Intervalo da reconciliação, que recalcula os contadores a partir do banco e corrige desvios.
+     */
+    private Duration reconcileInterval = Duration.ofHours(1);
+
+    /**
+     * Espera entre a primeira alteração vinda de outra instância e a reconciliação antecipada; as
+     * alterações remotas desse intervalo entram na mesma leitura.
+     */
+    private Duration remoteReconcileDelay = Duration.ofSeconds(30);
+
+    /**
+     * Domínios de email listados individualmente; os demais são somados em {@code otherDomains}.
+     */
+    private int topDomains = 20;
+
+    private int fetchSize = 1_000;
+}
@@ -0,0 +1,51 @@
+package com.aquora.contacts.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * Agenda (tenant) da thread atual. Fora de uma requisição, ou sem o header {@value TenantFilter#TENANT_HEADER},
+ * vale a agenda padrão, onde ficam os contatos anteriores à separação por tenant.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String currentTenantId() {
+        String tenantId = CURRENT_TENANT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static boolean isDefaultTenant() {
+        return DEFAULT_TENANT.equals(currentTenantId());
+    }
+
+    /**
+     * Executa {@code action} como {@code tenantId}, para trabalho feito fora da thread da requisição.
+     */
+    public static <T> T callAs(String tenantId, Supplier<T> action) {
+        String previous = CURRENT_TENANT.get();
+        CURRENT_TENANT.set(tenantId);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_TENANT.set(previous);
+            } else {
+                CURRENT_TENANT.remove();
+            }
+        }
+    }
+
+    static void setCurrentTenantId(String tenantId) {
+        CURRENT_TENANT.set(tenantId);
+    }
+
+    static void clear() {
+        CURRENT_TENANT.remove();
+    }
+}
@@ -0,0 +1,64 @@
+package com.aquora.contacts.tenant;
+
+import com.aquora.contacts.exception.ErrorDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+/**
+ * Lê a agenda da requisição do header {@value #TENANT_HEADER}. Sem o header, a requisição usa a
+ * agenda padrão; um valor fora do formato é rejeitado com 400 antes de chegar ao controller. Toda
+ * resposta leva {@code Vary: X-Tenant-Id}, para que caches HTTP não sirvam a página de uma agenda a outra.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private static final Pattern TENANT_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final ObjectMapper objectMapper;
+
+    public TenantFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, TENANT_HEADER);
+        String tenantId = request.getHeader(TENANT_HEADER);
+        if (tenantId == null || tenantId.isBlank()) {
+            tenantId = TenantContext.DEFAULT_TENANT;
+        } else if (!TENANT_ID_PATTERN.matcher(tenantId.trim()).matches()) {
+            reject(request, response);
+            return;
+        }
+        TenantContext.setCurrentTenantId(tenantId.trim());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorDetails errorDetails = new ErrorDetails(
+                LocalDateTime.now(),
+                "Header " + TENANT_HEADER + " inválido: use até 64 letras, números, '-' ou '_'",
+                "uri=" + request.getRequestURI());
+
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+}
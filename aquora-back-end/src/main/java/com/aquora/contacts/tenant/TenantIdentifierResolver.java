@@ -0,0 +1,20 @@
+package com.aquora.contacts.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Informa ao Hibernate a agenda da sessão: toda consulta HQL/JPQL sobre {@code Contact} ganha o
+ * filtro por {@code tenant_id}, e todo contato novo é gravado com ela.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.currentTenantId();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+}
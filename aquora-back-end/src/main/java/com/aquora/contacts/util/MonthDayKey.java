@@ -0,0 +1,23 @@
+package com.aquora.contacts.util;
+
+import java.time.LocalDate;
+
+public final class MonthDayKey {
+
+    public static final int FEBRUARY_28 = 228;
+    public static final int FEBRUARY_29 = 229;
+
+    private MonthDayKey() {
+    }
+
+    /**
+     * Mês e dia como inteiro MMDD, ignorando o ano ("1990-03-07" -> 307): a ordem numérica
+     * é a ordem do calendário, então aniversários de um período são um intervalo no índice.
+     */
+    public static Integer of(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+        return date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+}
@@ -0,0 +1,69 @@
+package com.aquora.contacts.util;
+
+public final class StringSimilarity {
+
+    private static final double PREFIX_SCALE = 0.1;
+    private static final int MAX_PREFIX = 4;
+
+    private StringSimilarity() {
+    }
+
+    /**
+     * Similaridade Jaro-Winkler entre 0 e 1, que favorece prefixos comuns
+     * ("jose silva" x "jose silvia" ≈ 0,98).
+     */
+    public static double jaroWinkler(String first, String second) {
+        double jaro = jaro(first, second);
+        int prefix = 0;
+        int limit = Math.min(MAX_PREFIX, Math.min(first.length(), second.length()));
+        while (prefix < limit && first.charAt(prefix) == second.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * PREFIX_SCALE * (1 - jaro);
+    }
+
+    private static double jaro(String first, String second) {
+        if (first.equals(second)) {
+            return 1;
+        }
+        if (first.isEmpty() || second.isEmpty()) {
+            return 0;
+        }
+        int window = Math.max(0, Math.max(first.length(), second.length()) / 2 - 1);
+        boolean[] firstMatched = new boolean[first.length()];
+        boolean[] secondMatched = new boolean[second.length()];
+
+        int matches = 0;
+        for (int i = 0; i < first.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(second.length(), i + window + 1);
+            for (int j = from; j < to; j++) {
+                if (!secondMatched[j] && first.charAt(i) == second.charAt(j)) {
+                    firstMatched[i] = true;
+                    secondMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0;
+        }
+
+        int transpositions = 0;
+        int j = 0;
+        for (int i = 0; i < first.length(); i++) {
+            if (firstMatched[i]) {
+                while (!secondMatched[j]) {
+                    j++;
+                }
+                if (first.charAt(i) != second.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        return (m / first.length() + m / second.length() + (m - transpositions / 2.0) / m) / 3;
+    }
+}
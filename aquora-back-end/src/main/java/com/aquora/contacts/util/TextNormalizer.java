@@ -0,0 +1,39 @@
+package com.aquora.contacts.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class TextNormalizer {
+
+    public static final char NON_LETTER_INITIAL = '#';
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Chave de ordenação por nome: sem acentos, minúscula e com espaços normalizados
+     * ("Ângela  Souza" -> "angela souza").
+     */
+    public static String sortKey(String name) {
+        if (name == null) {
+            return null;
+        }
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Inicial maiúscula de uma chave de ordenação, ou {@link #NON_LETTER_INITIAL} quando não é uma letra A-Z.
+     */
+    public static char initialOf(String sortKey) {
+        if (sortKey == null || sortKey.isEmpty()) {
+            return NON_LETTER_INITIAL;
+        }
+        char first = sortKey.charAt(0);
+        return first >= 'a' && first <= 'z' ? Character.toUpperCase(first) : NON_LETTER_INITIAL;
+    }
+}
@@ -0,0 +1,37 @@
+package com.aquora.contacts.validator;
+
+import com.aquora.contacts.exception.ContactValidationException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Erros de validação por campo, acumulados numa única passada. Guarda só o primeiro erro de cada campo.
+ */
+public final class ValidationResult {
+
+    private final Map<String, String> errors = new LinkedHashMap<>();
+
+    public void reject(String field, String message) {
+        errors.putIfAbsent(field, message);
+    }
+
+    public boolean hasError(String field) {
+        return errors.containsKey(field);
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    public Map<String, String> getErrors() {
+        return Collections.unmodifiableMap(errors);
+    }
+
+    public void throwIfInvalid() {
+        if (!errors.isEmpty()) {
+            throw new ContactValidationException(errors);
+        }
+    }
+}
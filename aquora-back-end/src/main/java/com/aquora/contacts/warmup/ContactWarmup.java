@@ -0,0 +1,220 @@
+package com.aquora.contacts.warmup;
+
+import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.ContactField;
+import com.aquora.contacts.exception.ContactValidationException;
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.service.ContactService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Aquecimento da JVM depois da subida. Quando o Spring Boot marca a aplicação como pronta, a
+ * prontidão volta para {@code REFUSING_TRAFFIC} e rodadas sintéticas passam pelo
+ * {@link ContactService} (validação, gravação, leituras, buscas e conversão para DTO), pelas
+ * consultas do repositório e pela serialização JSON, até o JIT compilar esses caminhos e o
+ * Hibernate montar os planos das consultas. Cada rodada roda numa transação marcada para rollback,
+ * então nada é gravado nem publicado. Ao terminar (ou falhar), a prontidão volta a
+ * {@code ACCEPTING_TRAFFIC}.
+ */
+@Slf4j
+public class ContactWarmup implements MeterBinder {
+
+    private static final String SYNTHETIC_NAME = "Contato Aquecimento";
+    private static final String SYNTHETIC_DOMAIN = "@warmup.invalid";
+    // DDD 00 não existe: a validação aceita (10 a 11 dígitos), mas nenhum contato real tem esse número
+    private static final String SYNTHETIC_PHONE_FORMAT = "00%09d";
+    private static final Set<ContactField> SPARSE_FIELDS = Set.of(ContactField.ID, ContactField.NAME, ContactField.EMAIL);
+
+    private final ContactService contactService;
+    private final ContactRepository contactRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WarmupProperties properties;
+    private final ExecutorService executor;
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile WarmupReport report;
+
+    public ContactWarmup(ContactService contactService, ContactRepository contactRepository, ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                         WarmupProperties properties) {
+        this.contactService = contactService;
+        this.contactRepository = contactRepository;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("contact-warmup-"));
+    }
+
+    // Listeners de @EventListener são registrados depois do ApplicationAvailabilityBean, então o
+    // REFUSING_TRAFFIC publicado aqui chega a ele depois do ACCEPTING_TRAFFIC original
+    @EventListener
+    public void onReadinessChanged(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && started.compareAndSet(false, true)) {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            executor.execute(this::warmUpAndAcceptTraffic);
+        }
+    }
+
+    /**
+     * Resultado do aquecimento, ou null enquanto ele não terminou.
+     */
+    public WarmupReport report() {
+        return report;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("contacts.warmup.duration", this, TimeUnit.NANOSECONDS,
+                        reportValue(WarmupReport::durationNanos))
+                .register(registry);
+        TimeGauge.builder("contacts.warmup.iteration.latency", this, TimeUnit.NANOSECONDS,
+                        reportValue(WarmupReport::firstIterationNanos))
+                .tag("phase", "first")
+                .register(registry);
+        TimeGauge.builder("contacts.warmup.iteration.latency", this, TimeUnit.NANOSECONDS,
+                        reportValue(WarmupReport::lastIterationsNanos))
+                .tag("phase", "last")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    WarmupReport run() {
+        int iterations = Math.max(1, properties.getIterations());
+        long[] latencies = new long[iterations];
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + properties.getMaxDuration().toNanos();
+        int completed = 0;
+        int failed = 0;
+        while (completed + failed < iterations && (completed + failed == 0 || System.nanoTime() - deadline < 0)
+                && !Thread.currentThread().isInterrupted()) {
+            long iterationStartedAt = System.nanoTime();
+            try {
+                transaction.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    exercise();
+                });
+                latencies[completed++] = System.nanoTime() - iterationStartedAt;
+            } catch (RuntimeException e) {
+                // Uma rodada com falha não encerra o aquecimento; as seguintes usam outros dados sintéticos
+                failed++;
+                log.debug("Rodada de aquecimento falhou: {}", e.getMessage());
+            }
+        }
+        if (completed == 0) {
+            throw new IllegalStateException("Nenhuma rodada de aquecimento concluída (" + failed + " falhas)");
+        }
+        // "Depois" é a média dos últimos 10% das rodadas, já com o código compilado
+        int tail = Math.max(1, completed / 10);
+        long lastIterations = Arrays.stream(latencies, completed - tail, completed).sum() / tail;
+        return new WarmupReport(completed, failed, System.nanoTime() - startedAt, latencies[0], lastIterations);
+    }
+
+    private void warmUpAndAcceptTraffic() {
+        log.info("Aquecimento iniciado: até {} rodadas ou {}", properties.getIterations(), properties.getMaxDuration());
+        try {
+            report = run();
+            log.info("Aquecimento concluído: {} rodadas ({} com falha) em {} ms; latência por rodada {} µs na primeira "
+                            + "e {} µs nas últimas",
+                    report.iterations(), report.failedIterations(), TimeUnit.NANOSECONDS.toMillis(report.durationNanos()),
+                    TimeUnit.NANOSECONDS.toMicros(report.firstIterationNanos()),
+                    TimeUnit.NANOSECONDS.toMicros(report.lastIterationsNanos()));
+        } catch (RuntimeException e) {
+            log.warn("Aquecimento interrompido, aceitando tráfego mesmo assim: {}", e.getMessage());
+        } finally {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    // Termos de busca únicos por rodada: as consultas percorrem os mesmos planos sem ler a agenda real
+    private void exercise() {
+        String suffix = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+        String email = "warmup-" + suffix + SYNTHETIC_DOMAIN;
+        String phone = String.format(SYNTHETIC_PHONE_FORMAT, ThreadLocalRandom.current().nextInt(1_000_000_000));
+        try {
+            ContactDTO created = contactService.createContact(syntheticContact(SYNTHETIC_NAME, email, phone), null);
+            Long id = created.getId();
+            serialize(contactService.getContactById(id));
+            serialize(contactService.getContactById(id, SPARSE_FIELDS));
+            contactService.getContactVersion(id);
+
+            ContactDTO updated = contactService.updateContact(id,
+                    syntheticContact(SYNTHETIC_NAME + " Atualizado", email, phone), null, created.getVersion());
+            serialize(updated);
+
+            serialize(contactService.searchContactsPaged(email, 0, 10));
+            serialize(contactService.searchContactsPaged(email, 0, 10, SPARSE_FIELDS));
+            serialize(contactService.searchContacts(email));
+            serialize(contactService.getAllContactsPaged(0, 10));
+            serialize(contactService.getContactsByName(null, 10));
+            contactRepository.findBySearchTermPaged(email, PageRequest.of(0, 10));
+            contactRepository.findExistingEmails(List.of(email));
+            contactRepository.findExistingPhones(List.of(phone));
+
+            contactService.deleteContact(id, updated.getVersion());
+
+            // Por último: a falha de validação marca a transação inteira para rollback
+            try {
+                contactService.createContact(syntheticContact("nome inválido", email, phone), null);
+            } catch (ContactValidationException expected) {
+                // Caminho de erro da validação
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ContactCreateDTO syntheticContact(String name, String email, String phone) {
+        return ContactCreateDTO.builder()
+                .name(name)
+                .email(email)
+                .phone(phone)
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+
+    private void serialize(Object value) throws JsonProcessingException {
+        objectMapper.writeValueAsBytes(value);
+    }
+
+    private static ToDoubleFunction<ContactWarmup> reportValue(ToDoubleFunction<WarmupReport> value) {
+        return warmup -> warmup.report != null ? value.applyAsDouble(warmup.report) : Double.NaN;
+    }
+
+    public record WarmupReport(int iterations, int failedIterations, long durationNanos, long firstIterationNanos,
+                               long lastIterationsNanos) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.aquora.contacts.warmup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "aquora.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Rodadas sintéticas; cada uma cria, lê, busca, atualiza e exclui um contato numa transação desfeita no fim.
+     */
+    private int iterations = 1_000;
+
+    /**
+     * Limite do aquecimento: esgotado o tempo, a aplicação passa a aceitar tráfego mesmo sem completar as rodadas.
+     */
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
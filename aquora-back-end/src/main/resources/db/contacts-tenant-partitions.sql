@@ -0,0 +1,89 @@
+-- Tabela de contatos particionada por agenda (tenant), para PostgreSQL 12+.
+--
+-- Toda consulta da aplicação filtra por tenant_id = ?, inclusive o UPDATE versionado e os DELETEs
+-- (feitos em JPQL, não pelo flush da entidade), então o planejador poda para uma única partição:
+-- índices e varreduras passam a depender do tamanho da agenda, não da base inteira.
+-- Email e telefone são únicos por agenda (as chaves únicas incluem a chave de partição, como o
+-- PostgreSQL exige). Os ids continuam vindo de uma única sequência, então seguem únicos na base.
+--
+-- Rodar uma vez com a aplicação parada. As linhas de uma tabela contacts existente vão para a
+-- agenda padrão. Depois, use spring.jpa.hibernate.ddl-auto=none: o Hibernate não gerencia
+-- tabelas particionadas.
+
+BEGIN;
+
+ALTER TABLE IF EXISTS contacts RENAME TO contacts_unpartitioned;
+
+-- O RENAME não leva junto os nomes de restrições e índices (contacts_pkey, idx_contacts_*,
+-- uk_*); sem renomeá-los, os da tabela nova colidiriam com os da antiga
+DO $$
+DECLARE
+    item RECORD;
+BEGIN
+    IF to_regclass('contacts_unpartitioned') IS NULL THEN
+        RETURN;
+    END IF;
+    FOR item IN SELECT conname FROM pg_constraint
+                WHERE conrelid = 'contacts_unpartitioned'::regclass AND conindid <> 0 LOOP
+        EXECUTE format('ALTER TABLE contacts_unpartitioned RENAME CONSTRAINT %I TO %I',
+                       item.conname, left(item.conname, 48) || '_unpartitioned');
+    END LOOP;
+    FOR item IN SELECT index_class.relname FROM pg_index
+                JOIN pg_class index_class ON index_class.oid = pg_index.indexrelid
+                WHERE pg_index.indrelid = 'contacts_unpartitioned'::regclass
+                  AND NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conindid = pg_index.indexrelid) LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', item.relname, left(item.relname, 48) || '_unpartitioned');
+    END LOOP;
+END $$;
+
+CREATE SEQUENCE contacts_tenant_id_seq;
+
+CREATE TABLE contacts (
+    id                   BIGINT       NOT NULL DEFAULT nextval('contacts_tenant_id_seq'),
+    tenant_id            VARCHAR(64)  NOT NULL DEFAULT 'default',
+    name                 VARCHAR(255) NOT NULL,
+    email                VARCHAR(255) NOT NULL,
+    phone                VARCHAR(11)  NOT NULL,
+    date_of_birth        DATE         NOT NULL,
+    profile_picture      OID,
+    profile_picture_type VARCHAR(255),
+    sort_name            VARCHAR(255),
+    birth_month_day      INTEGER,
+    profile_picture_size BIGINT,
+    version              BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT contacts_pkey PRIMARY KEY (tenant_id, id),
+    CONSTRAINT uk_contacts_tenant_email UNIQUE (tenant_id, email),
+    CONSTRAINT uk_contacts_tenant_phone UNIQUE (tenant_id, phone)
+) PARTITION BY HASH (tenant_id);
+
+ALTER SEQUENCE contacts_tenant_id_seq OWNED BY contacts.id;
+
+-- 16 partições; cada agenda fica inteira em uma delas
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE contacts_p%s PARTITION OF contacts FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       i, i);
+    END LOOP;
+END $$;
+
+-- Criados na tabela pai e replicados em cada partição
+CREATE INDEX idx_contacts_sort_name ON contacts (tenant_id, sort_name, id);
+CREATE INDEX idx_contacts_birth_month_day ON contacts (tenant_id, birth_month_day, id);
+
+DO $$
+BEGIN
+    IF to_regclass('contacts_unpartitioned') IS NOT NULL THEN
+        INSERT INTO contacts (id, tenant_id, name, email, phone, date_of_birth, profile_picture,
+                              profile_picture_type, sort_name, birth_month_day, profile_picture_size, version)
+        SELECT id, 'default', name, email, phone, date_of_birth, profile_picture,
+               profile_picture_type, sort_name, birth_month_day, profile_picture_size, COALESCE(version, 0)
+        FROM contacts_unpartitioned;
+        PERFORM setval('contacts_tenant_id_seq', COALESCE((SELECT MAX(id) FROM contacts), 0) + 1, false);
+    END IF;
+END $$;
+
+COMMIT;
+
+-- Depois de conferir a cópia:
+-- DROP TABLE contacts_unpartitioned;
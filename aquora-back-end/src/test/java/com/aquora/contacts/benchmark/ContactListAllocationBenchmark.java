@@ -0,0 +1,115 @@
+package com.aquora.contacts.benchmark;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.model.Contact;
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.service.ContactService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara os bytes alocados por página entre a listagem via entidades e via projeções.
+ * Não roda no build padrão: {@code mvn test -Dtest=ContactListAllocationBenchmark}
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.com.aquora.contacts=WARN"
+})
+class ContactListAllocationBenchmark {
+
+    private static final int CONTACTS = 2_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = CONTACTS / PAGE_SIZE;
+    private static final int PICTURE_SIZE = 16 * 1024;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private ContactService contactService;
+
+    @BeforeEach
+    void seed() {
+        if (contactRepository.count() > 0) {
+            return;
+        }
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 0; i < CONTACTS; i++) {
+            contacts.add(Contact.builder()
+                    .name("Contato Numero" + i)
+                    .email("contato" + i + "@example.com")
+                    .phone(String.format("119%08d", i))
+                    .dateOfBirth(LocalDate.of(1980, 1, 1).plusDays(i))
+                    .profilePicture(i % 3 == 0 ? new byte[PICTURE_SIZE] : null)
+                    .profilePictureType(i % 3 == 0 ? "image/png" : null)
+                    .build());
+        }
+        contactRepository.saveAll(contacts);
+    }
+
+    @Test
+    void projectionListing_ShouldAllocateLessThanEntityListing() {
+        long entityBytes = measureBytesPerPage(this::listWithEntities);
+        long projectionBytes = measureBytesPerPage(page -> contactService.getAllContactsPaged(page, PAGE_SIZE));
+
+        System.out.printf("Entidades: %,d bytes/página | Projeções: %,d bytes/página (%.1f%%)%n",
+                entityBytes, projectionBytes, 100.0 * projectionBytes / entityBytes);
+        assertTrue(projectionBytes < entityBytes);
+    }
+
+    private void listWithEntities(int page) {
+        contactRepository.findAll(PageRequest.of(page, PAGE_SIZE, Sort.by("id").ascending()))
+                .map(this::toDTO)
+                .getContent();
+    }
+
+    private ContactDTO toDTO(Contact contact) {
+        String picture = contact.getProfilePicture() == null ? null
+                : "data:" + contact.getProfilePictureType() + ";base64,"
+                + Base64.getEncoder().encodeToString(contact.getProfilePicture());
+        return ContactDTO.builder()
+                .id(contact.getId())
+                .name(contact.getName())
+                .email(contact.getEmail())
+                .phone(contact.getPhone())
+                .dateOfBirth(contact.getDateOfBirth().toString())
+                .profilePicture(picture)
+                .build();
+    }
+
+    private long measureBytesPerPage(IntConsumer listPage) {
+        runRounds(listPage, WARMUP_ROUNDS);
+        long before = allocatedBytes();
+        runRounds(listPage, MEASURED_ROUNDS);
+        return (allocatedBytes() - before) / ((long) MEASURED_ROUNDS * PAGES);
+    }
+
+    private void runRounds(IntConsumer listPage, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            for (int page = 0; page < PAGES; page++) {
+                listPage.accept(page);
+            }
+        }
+    }
+
+    private long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,182 @@
+package com.aquora.contacts.cache;
+
+import com.aquora.contacts.event.ChangeType;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.event.RemoteChangeListener;
+import com.aquora.contacts.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactInvalidationBusTest {
+
+    private InMemoryInvalidationTransport.Hub hub;
+    private InMemoryInvalidationTransport replicaTransport;
+    private SearchResultCache writerCache;
+    private RecordingCache replicaCache;
+    private RecordingListener replicaListener;
+    private ContactInvalidationBus writer;
+    private ContactInvalidationBus replica;
+
+    @BeforeEach
+    void setUp() {
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setMaxDelay(Duration.ofMillis(50));
+        hub = new InMemoryInvalidationTransport.Hub();
+        replicaTransport = new InMemoryInvalidationTransport(hub);
+        writerCache = new SearchResultCache(new SearchCacheProperties());
+        replicaCache = new RecordingCache();
+        replicaListener = new RecordingListener();
+        writer = new ContactInvalidationBus(new InMemoryInvalidationTransport(hub), List.of(writerCache), List.of(),
+                properties);
+        replica = new ContactInvalidationBus(replicaTransport, List.of(replicaCache), List.of(replicaListener),
+                properties);
+        writer.start();
+        replica.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void onContactChanged_ShouldInvalidateOtherInstancesOnly() {
+        // given
+        long generation = writerCache.currentGeneration();
+
+        // when
+        writer.onContactChanged(changed(42L));
+
+        // then
+        awaitUntil(() -> replicaCache.invalidatedIds.contains(42L));
+        assertEquals(generation, writerCache.currentGeneration());
+        assertEquals(0, replicaCache.fullFlushes.get());
+    }
+
+    @Test
+    void onContactChanged_WithWriteBurst_ShouldBatchNotifications() {
+        // when
+        LongStream.rangeClosed(1, 200).forEach(id -> writer.onContactChanged(changed(id)));
+
+        // then
+        awaitUntil(() -> replicaCache.invalidatedIds.size() == 200);
+        assertTrue(hub.sent().size() < 10, "mensagens enviadas: " + hub.sent().size());
+        Set<Long> published = hub.sent().stream()
+                .flatMap(payload -> Arrays.stream(payload.split(":")[2].split(",")))
+                .map(entry -> Long.valueOf(entry.split("/")[0]))
+                .collect(Collectors.toSet());
+        assertEquals(200, published.size());
+    }
+
+    @Test
+    void onContactChanged_ShouldDeliverTheChangeToRemoteListeners() {
+        // when
+        writer.onContactChanged(new ContactChangedEvent("agenda-2", 42L, ChangeType.UPDATED, Set.of("email"),
+                null, null));
+
+        // then
+        awaitUntil(() -> !replicaListener.changes.isEmpty());
+        assertEquals(List.of(new ContactChangedEvent("agenda-2", 42L, ChangeType.UPDATED, Set.of("email"),
+                null, null)), replicaListener.changes);
+    }
+
+    @Test
+    void onMessage_WithIdsOnlyFromOlderInstance_ShouldFlushEverything() {
+        // when
+        replica.onMessage("antiga:1:10,11");
+
+        // then
+        assertTrue(replicaCache.invalidatedIds.isEmpty());
+        assertEquals(1, replicaCache.fullFlushes.get());
+        assertEquals(1, replicaListener.losses.get());
+    }
+
+    @Test
+    void onReconnect_AfterMissedMessages_ShouldFlushEverything() {
+        // given
+        replicaTransport.disconnect();
+        writer.onContactChanged(changed(7L));
+        awaitUntil(() -> !hub.sent().isEmpty());
+
+        // when
+        replicaTransport.reconnect();
+
+        // then
+        assertEquals(1, replicaCache.fullFlushes.get());
+        assertTrue(replicaCache.invalidatedIds.isEmpty());
+    }
+
+    @Test
+    void onMessage_WithVersionGap_ShouldFlushEverything() {
+        // given
+        replica.onMessage("outra:1:10/default/UPDATED/name");
+
+        // when
+        replica.onMessage("outra:3:11/default/UPDATED/name");
+
+        // then
+        assertEquals(List.of(10L), replicaCache.invalidatedIds);
+        assertEquals(1, replicaCache.fullFlushes.get());
+        assertEquals(1, replicaListener.losses.get());
+    }
+
+    private ContactChangedEvent changed(long id) {
+        return new ContactChangedEvent(TenantContext.DEFAULT_TENANT, id, ChangeType.UPDATED, Set.of("name"),
+                null, null);
+    }
+
+    private void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condição não atingida em 5s");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static class RecordingCache implements InvalidatableCache {
+
+        private final List<Long> invalidatedIds = new CopyOnWriteArrayList<>();
+        private final AtomicInteger fullFlushes = new AtomicInteger();
+
+        @Override
+        public void invalidate(Collection<Long> contactIds) {
+            invalidatedIds.addAll(contactIds);
+        }
+
+        @Override
+        public void invalidateAll() {
+            fullFlushes.incrementAndGet();
+        }
+    }
+
+    private static class RecordingListener implements RemoteChangeListener {
+
+        private final List<ContactChangedEvent> changes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger losses = new AtomicInteger();
+
+        @Override
+        public void onRemoteChanges(List<ContactChangedEvent> remoteChanges) {
+            changes.addAll(remoteChanges);
+        }
+
+        @Override
+        public void onRemoteChangesLost() {
+            losses.incrementAndGet();
+        }
+    }
+}
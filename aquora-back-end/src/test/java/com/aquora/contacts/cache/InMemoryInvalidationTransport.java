@@ -0,0 +1,62 @@
+package com.aquora.contacts.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transporte em memória para testes: as instâncias ligadas ao mesmo {@link Hub} recebem as mensagens
+ * umas das outras, e {@link #disconnect()}/{@link #reconnect()} simulam a queda da escuta.
+ */
+class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private final Hub hub;
+    private volatile Consumer<String> onMessage;
+    private volatile Runnable onReconnect;
+    private volatile boolean connected;
+
+    InMemoryInvalidationTransport(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void send(String payload) {
+        hub.sent.add(payload);
+        hub.transports.stream()
+                .filter(transport -> transport.connected)
+                .forEach(transport -> transport.onMessage.accept(payload));
+    }
+
+    @Override
+    public void start(Consumer<String> onMessage, Runnable onReconnect) {
+        this.onMessage = onMessage;
+        this.onReconnect = onReconnect;
+        this.connected = true;
+        hub.transports.add(this);
+    }
+
+    @Override
+    public void stop() {
+        connected = false;
+        hub.transports.remove(this);
+    }
+
+    void disconnect() {
+        connected = false;
+    }
+
+    void reconnect() {
+        connected = true;
+        onReconnect.run();
+    }
+
+    static class Hub {
+
+        private final List<InMemoryInvalidationTransport> transports = new CopyOnWriteArrayList<>();
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+
+        List<String> sent() {
+            return sent;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.aquora.contacts.cache;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.event.ChangeType;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    private SearchResultCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(new SearchCacheProperties());
+    }
+
+    @Test
+    void get_WithRepeatedRequest_ShouldServeFromCache() {
+        // when
+        PagedResponse<ContactDTO> first = cache.get("silva", 0, 10, this::load);
+        PagedResponse<ContactDTO> second = cache.get("silva", 0, 10, this::load);
+
+        // then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_AfterContactChanged_ShouldReload() {
+        // given
+        cache.get("silva", 0, 10, this::load);
+
+        // when
+        cache.onContactChanged(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 1L, ChangeType.UPDATED,
+                Set.of("name"), null, null));
+        cache.get("silva", 0, 10, this::load);
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_WithConcurrentIdenticalRequests_ShouldRunSingleLoad() throws Exception {
+        // given
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<PagedResponse<ContactDTO>> leader = executor.submit(() -> cache.get("silva", 0, 10, () -> {
+            loadStarted.countDown();
+            awaitQuietly(releaseLoad);
+            return load();
+        }));
+        loadStarted.await();
+        Future<PagedResponse<ContactDTO>> follower = executor.submit(() -> cache.get("silva", 0, 10, this::load));
+
+        // when
+        TimeUnit.MILLISECONDS.sleep(100);
+        releaseLoad.countDown();
+
+        // then
+        assertSame(leader.get(), follower.get());
+        assertEquals(1, loads.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void bindTo_ShouldExposeHitRatio() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        // when
+        cache.get("silva", 0, 10, this::load);
+        cache.get("silva", 0, 10, this::load);
+
+        // then
+        assertEquals(0.5, registry.get("contacts.search.cache.hit.ratio").gauge().value());
+    }
+
+    private PagedResponse<ContactDTO> load() {
+        loads.incrementAndGet();
+        return PagedResponse.<ContactDTO>builder()
+                .content(List.of())
+                .pageSize(10)
+                .last(true)
+                .build();
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
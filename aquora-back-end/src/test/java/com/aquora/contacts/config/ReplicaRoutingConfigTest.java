@@ -0,0 +1,39 @@
+package com.aquora.contacts.config;
+
+import com.aquora.contacts.datasource.QueryTimeoutExceptionOverride;
+import com.aquora.contacts.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(ReplicaRoutingConfig.class)
+            .withPropertyValues(
+                    "aquora.datasource.routing.enabled=true",
+                    "aquora.datasource.routing.replicas[0].url=jdbc:h2:mem:routing-replica",
+                    "spring.datasource.url=jdbc:h2:mem:routing-primary",
+                    "spring.datasource.hikari.maximum-pool-size=7",
+                    "spring.datasource.hikari.exception-override-class-name="
+                            + QueryTimeoutExceptionOverride.class.getName());
+
+    @Test
+    void routingPrimaryDataSource_ShouldBindHikariProperties() {
+        contextRunner.run(context -> {
+            // when
+            HikariDataSource primary = context.getBean("routingPrimaryDataSource", HikariDataSource.class);
+
+            // then
+            assertEquals(7, primary.getMaximumPoolSize());
+            assertEquals(QueryTimeoutExceptionOverride.class.getName(), primary.getExceptionOverrideClassName());
+            assertEquals("jdbc:h2:mem:routing-primary", primary.getJdbcUrl());
+            assertNotNull(context.getBean(ReplicaRoutingDataSource.class));
+        });
+    }
+}
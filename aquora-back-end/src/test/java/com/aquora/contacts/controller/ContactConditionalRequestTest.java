@@ -0,0 +1,168 @@
+package com.aquora.contacts.controller;
+
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.tenant.TenantFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-requests;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "aquora.etag.single-instance=true"
+})
+class ContactConditionalRequestTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    private Long contactId;
+
+    @BeforeEach
+    void setUp() {
+        contactRepository.deleteAll();
+        ResponseEntity<Map> created = rest.postForEntity("/contacts", form("Maria Silva"), Map.class);
+        contactId = ((Number) created.getBody().get("id")).longValue();
+        assertEquals("W/\"0\"", created.getHeaders().getETag());
+    }
+
+    @Test
+    void getContacts_WithCurrentETag_ShouldReturn304UntilDirectoryChanges() {
+        // given
+        String eTag = get("/contacts", null).getHeaders().getETag();
+
+        // when
+        ResponseEntity<String> unchanged = get("/contacts", eTag);
+        rest.postForEntity("/contacts", form("Ana Costa", "ana@example.com", "11922222222"), Map.class);
+        ResponseEntity<String> changed = get("/contacts", eTag);
+
+        // then
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(eTag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    void getContacts_WithETagFromAnotherTenant_ShouldReturnFullPage() {
+        // given
+        ResponseEntity<String> defaultTenant = get("/contacts", null);
+
+        // when
+        ResponseEntity<String> otherTenant = get("/contacts", defaultTenant.getHeaders().getETag(), "acme");
+
+        // then
+        assertEquals(HttpStatus.OK, otherTenant.getStatusCode());
+        assertNotEquals(defaultTenant.getHeaders().getETag(), otherTenant.getHeaders().getETag());
+        assertTrue(defaultTenant.getHeaders().getVary().contains(TenantFilter.TENANT_HEADER));
+        assertTrue(defaultTenant.getHeaders().getVary().contains(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    void getContactById_WithCurrentETag_ShouldReturn304() {
+        // when
+        ResponseEntity<String> full = get("/contacts/" + contactId, null);
+        ResponseEntity<String> revalidated = get("/contacts/" + contactId, full.getHeaders().getETag());
+        ResponseEntity<String> sparse = get("/contacts/" + contactId + "?fields=name", full.getHeaders().getETag());
+
+        // then
+        assertEquals("W/\"0\"", full.getHeaders().getETag());
+        assertTrue(full.getHeaders().getVary().contains(TenantFilter.TENANT_HEADER));
+        assertTrue(full.getHeaders().getVary().contains(HttpHeaders.ACCEPT));
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals(HttpStatus.OK, sparse.getStatusCode());
+        assertEquals("W/\"0-name\"", sparse.getHeaders().getETag());
+    }
+
+    @Test
+    void updateContact_WithStaleIfMatch_ShouldReturn412() {
+        // when
+        ResponseEntity<String> first = put("W/\"0\"", "Maria Souza");
+        ResponseEntity<String> stale = put("W/\"0\"", "Maria Santos");
+
+        // then
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("W/\"1\"", first.getHeaders().getETag());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, stale.getStatusCode());
+        assertEquals("Maria Souza", contactRepository.findById(contactId).orElseThrow().getName());
+    }
+
+    @Test
+    void deleteContact_WithIfMatch_ShouldOnlyDeleteCurrentVersion() {
+        // given
+        put(null, "Maria Souza");
+
+        // when
+        ResponseEntity<String> stale = delete("W/\"0\"");
+        ResponseEntity<String> current = delete("W/\"1\"");
+
+        // then
+        assertEquals(HttpStatus.PRECONDITION_FAILED, stale.getStatusCode());
+        assertEquals(HttpStatus.NO_CONTENT, current.getStatusCode());
+        assertFalse(contactRepository.existsById(contactId));
+    }
+
+    private ResponseEntity<String> get(String path, String ifNoneMatch) {
+        return get(path, ifNoneMatch, null);
+    }
+
+    private ResponseEntity<String> get(String path, String ifNoneMatch, String tenantId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (tenantId != null) {
+            headers.set(TenantFilter.TENANT_HEADER, tenantId);
+        }
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private ResponseEntity<String> put(String ifMatch, String name) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        if (ifMatch != null) {
+            headers.setIfMatch(ifMatch);
+        }
+        return rest.exchange("/contacts/" + contactId, HttpMethod.PUT,
+                new HttpEntity<>(form(name).getBody(), headers), String.class);
+    }
+
+    private ResponseEntity<String> delete(String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(ifMatch);
+        return rest.exchange("/contacts/" + contactId, HttpMethod.DELETE, new HttpEntity<>(headers), String.class);
+    }
+
+    private HttpEntity<MultiValueMap<String, Object>> form(String name) {
+        return form(name, "maria@example.com", "11911111111");
+    }
+
+    private HttpEntity<MultiValueMap<String, Object>> form(String name, String email, String phone) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("name", name);
+        body.add("email", email);
+        body.add("phone", phone);
+        body.add("dateOfBirth", "1990-01-15");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return new HttpEntity<>(body, headers);
+    }
+}
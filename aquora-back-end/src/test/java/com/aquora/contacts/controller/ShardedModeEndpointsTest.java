@@ -0,0 +1,56 @@
+package com.aquora.contacts.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded-endpoints;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "aquora.sharding.enabled=true",
+        "aquora.sharding.shards[0].url=jdbc:h2:mem:sharded-endpoints-0;DB_CLOSE_DELAY=-1",
+        "aquora.sharding.shards[1].url=jdbc:h2:mem:sharded-endpoints-1;DB_CLOSE_DELAY=-1"
+})
+class ShardedModeEndpointsTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @ParameterizedTest
+    @CsvSource({
+            "GET, /contacts/index",
+            "GET, /contacts/birthdays",
+            "GET, /contacts/stats",
+            "GET, /contacts/duplicates",
+            "POST, /contacts/duplicates/scan",
+            "GET, /contacts/changes"
+    })
+    void derivedEndpoints_InShardedMode_ShouldBeRejected(String method, String path) {
+        // when
+        ResponseEntity<String> response = rest.exchange(path, HttpMethod.valueOf(method),
+                new HttpEntity<>(new HttpHeaders()), String.class);
+
+        // then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void getContacts_InShardedMode_ShouldReadTheShards() {
+        // when
+        ResponseEntity<String> response = rest.getForEntity("/contacts", String.class);
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+}
@@ -0,0 +1,51 @@
+package com.aquora.contacts.converter;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryPictureModuleTest {
+
+    private static final byte[] PICTURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0, 42};
+
+    @Test
+    void serialize_WithCbor_ShouldWritePictureAsNativeBytes() throws Exception {
+        // given
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory())
+                .registerModule(new BinaryPictureModule())
+                .setFilterProvider(ContactFieldFilter.serializeAll());
+        ContactDTO contact = ContactDTO.builder()
+                .id(1L)
+                .name("Maria Silva")
+                .profilePicture("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(PICTURE))
+                .build();
+
+        // when
+        JsonNode tree = cbor.readTree(cbor.writeValueAsBytes(contact));
+
+        // then
+        JsonNode picture = tree.get("profilePicture");
+        assertEquals("image/jpeg", picture.get("contentType").asText());
+        assertTrue(picture.get("data").isBinary());
+        assertArrayEquals(PICTURE, picture.get("data").binaryValue());
+    }
+
+    @Test
+    void serialize_WithoutModule_ShouldKeepDataUri() throws Exception {
+        // given
+        String dataUri = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(PICTURE);
+        ContactDTO contact = ContactDTO.builder().id(1L).profilePicture(dataUri).build();
+
+        // when
+        JsonNode tree = new ObjectMapper().readTree(new ObjectMapper().writeValueAsString(contact));
+
+        // then
+        assertEquals(dataUri, tree.get("profilePicture").asText());
+    }
+}
@@ -0,0 +1,119 @@
+package com.aquora.contacts.converter;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.dto.UpcomingBirthdayDTO;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactProtobufHttpMessageConverterTest {
+
+    private static final byte[] PICTURE = {(byte) 0x89, 'P', 'N', 'G', 0, 1, 2};
+
+    private final ContactProtobufHttpMessageConverter converter = new ContactProtobufHttpMessageConverter();
+
+    @Test
+    void write_Contact_ShouldEncodePictureAsRawBytes() throws IOException {
+        // given
+        ContactDTO contact = contact(7L, "data:image/png;base64," + Base64.getEncoder().encodeToString(PICTURE));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // when
+        converter.write(contact, ContactDTO.class, ContactProtobufHttpMessageConverter.PROTOBUF, output);
+
+        // then
+        Map<Integer, Object> fields = decode(CodedInputStream.newInstance(output.getBodyAsBytes()));
+        assertEquals(7L, fields.get(1));
+        assertEquals("Maria Silva", new String((byte[]) fields.get(2)));
+        assertArrayEquals(PICTURE, (byte[]) fields.get(6));
+        assertEquals("image/png", new String((byte[]) fields.get(7)));
+        assertEquals("aquora.contacts.Contact", output.getHeaders().getFirst("X-Protobuf-Message"));
+    }
+
+    @Test
+    void write_ContactPage_ShouldNestContactsAndOmitDefaults() throws IOException {
+        // given
+        PagedResponse<ContactDTO> page = PagedResponse.<ContactDTO>builder()
+                .content(List.of(contact(1L, null), contact(2L, null)))
+                .pageNumber(0)
+                .pageSize(10)
+                .totalElements(2)
+                .totalPages(1)
+                .last(true)
+                .build();
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // when
+        converter.write(page, PagedResponse.class, ContactProtobufHttpMessageConverter.PROTOBUF, output);
+
+        // then
+        CodedInputStream input = CodedInputStream.newInstance(output.getBodyAsBytes());
+        List<Map<Integer, Object>> contacts = new ArrayList<>();
+        Map<Integer, Object> fields = new HashMap<>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == 1) {
+                contacts.add(decode(CodedInputStream.newInstance(input.readByteArray())));
+            } else {
+                fields.put(WireFormat.getTagFieldNumber(tag), input.readInt64());
+            }
+        }
+        assertEquals(2, contacts.size());
+        assertEquals(2L, contacts.get(1).get(1));
+        assertFalse(contacts.get(0).containsKey(6));
+        assertFalse(fields.containsKey(2));
+        assertEquals(10L, fields.get(3));
+        assertEquals(1L, fields.get(6));
+    }
+
+    @Test
+    void canWrite_BirthdayPage_ShouldReturnFalse() {
+        // given
+        ParameterizedTypeReference<PagedResponse<UpcomingBirthdayDTO>> birthdays = new ParameterizedTypeReference<>() {
+        };
+        ParameterizedTypeReference<PagedResponse<ContactDTO>> contacts = new ParameterizedTypeReference<>() {
+        };
+
+        // when/then
+        assertFalse(converter.canWrite(birthdays.getType(), PagedResponse.class, ContactProtobufHttpMessageConverter.PROTOBUF));
+        assertTrue(converter.canWrite(contacts.getType(), PagedResponse.class, ContactProtobufHttpMessageConverter.PROTOBUF));
+        assertFalse(converter.canRead(ContactDTO.class, ContactProtobufHttpMessageConverter.PROTOBUF));
+    }
+
+    private ContactDTO contact(Long id, String picture) {
+        return ContactDTO.builder()
+                .id(id)
+                .name("Maria Silva")
+                .email("maria@example.com")
+                .phone("11987654321")
+                .dateOfBirth("1990-05-15")
+                .profilePicture(picture)
+                .build();
+    }
+
+    private Map<Integer, Object> decode(CodedInputStream input) throws IOException {
+        Map<Integer, Object> fields = new HashMap<>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            int field = WireFormat.getTagFieldNumber(tag);
+            if (WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_VARINT) {
+                fields.put(field, input.readInt64());
+            } else {
+                fields.put(field, input.readByteArray());
+            }
+        }
+        return fields;
+    }
+}
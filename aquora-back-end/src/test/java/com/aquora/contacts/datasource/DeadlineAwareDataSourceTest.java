@@ -0,0 +1,110 @@
+package com.aquora.contacts.datasource;
+
+import com.aquora.contacts.exception.DeadlineExceededException;
+import com.aquora.contacts.filter.RequestDeadlineFilter;
+import com.aquora.contacts.filter.RequestDeadlineProperties;
+import jakarta.servlet.ServletException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineAwareDataSourceTest {
+
+    private DeadlineAwareDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:deadline");
+        dataSource = new DeadlineAwareDataSource(h2);
+    }
+
+    @Test
+    void prepareStatement_WithDeadline_ShouldUseRemainingBudgetAsQueryTimeout() throws Exception {
+        // when
+        int queryTimeout = withDeadline(Duration.ofMillis(2500), connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+                return statement.getQueryTimeout();
+            }
+        });
+
+        // then
+        assertEquals(3, queryTimeout);
+    }
+
+    @Test
+    void prepareStatement_WithoutDeadline_ShouldKeepDriverDefault() throws SQLException {
+        // when
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+
+            // then
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void createStatement_AfterDeadline_ShouldFailWithoutReachingDatabase() throws Exception {
+        // when
+        RuntimeException failure = withDeadline(Duration.ofMillis(1), connection -> {
+            Thread.sleep(10);
+            return assertThrows(DeadlineExceededException.class, connection::createStatement);
+        });
+
+        // then
+        assertEquals("Tempo limite da requisição esgotado (1 ms)", failure.getMessage());
+    }
+
+    @Test
+    void executeQuery_ExceedingDeadline_ShouldBeCancelledByDriver() throws Exception {
+        // given
+        String slowQuery = "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b "
+                + "WHERE a.X + b.X < 0";
+        long start = System.nanoTime();
+
+        // when
+        SQLException failure = withDeadline(Duration.ofMillis(500), connection -> {
+            try (Statement statement = connection.createStatement()) {
+                return assertThrows(SQLTimeoutException.class, () -> statement.executeQuery(slowQuery));
+            }
+        });
+
+        // then
+        assertNotNull(failure);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+
+    // Executa o trabalho dentro do filtro, que define o prazo da requisição na thread atual
+    private <T> T withDeadline(Duration budget, ConnectionWork<T> work) throws Exception {
+        RequestDeadlineProperties properties = new RequestDeadlineProperties();
+        properties.setDefaultTimeout(budget);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/contacts");
+        request.setServletPath("/contacts");
+        AtomicReference<T> result = new AtomicReference<>();
+
+        new RequestDeadlineFilter(properties).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            try (Connection connection = dataSource.getConnection()) {
+                result.set(work.apply(connection));
+            } catch (Exception e) {
+                throw new ServletException(e);
+            }
+        });
+        return result.get();
+    }
+
+    private interface ConnectionWork<T> {
+        T apply(Connection connection) throws Exception;
+    }
+}
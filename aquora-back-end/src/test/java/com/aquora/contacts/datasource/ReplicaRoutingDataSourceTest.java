@@ -0,0 +1,142 @@
+package com.aquora.contacts.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private Connection primaryKeepAlive;
+    private Connection replicaKeepAlive;
+    private ReadYourWritesTracker tracker;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaryKeepAlive = createNode("primary");
+        replicaKeepAlive = createNode("replica");
+        tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        primaryKeepAlive.close();
+        replicaKeepAlive.close();
+    }
+
+    @Test
+    void getConnection_InReadOnlyTransaction_ShouldUseReplica() throws Exception {
+        // given
+        ReplicaRoutingDataSource routing = routing(List.of(h2("replica")));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when/then
+        assertEquals("replica", nodeName(routing));
+        routing.close();
+    }
+
+    @Test
+    void getConnection_OutsideReadOnlyTransaction_ShouldUsePrimary() throws Exception {
+        // given
+        ReplicaRoutingDataSource routing = routing(List.of(h2("replica")));
+
+        // when/then
+        assertEquals("primary", nodeName(routing));
+        routing.close();
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldRouteLikeGetConnection() throws Exception {
+        // given
+        ReplicaRoutingDataSource routing = routing(List.of(h2("replica")));
+
+        // when
+        String outsideReadOnly = nodeName(routing.getConnection("", ""));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        String inReadOnly = nodeName(routing.getConnection("", ""));
+
+        // then
+        assertEquals("primary", outsideReadOnly);
+        assertEquals("replica", inReadOnly);
+        routing.close();
+    }
+
+    @Test
+    void getConnection_WithUnavailableReplica_ShouldFallBackToPrimary() throws Exception {
+        // given
+        JdbcDataSource unavailable = new JdbcDataSource();
+        unavailable.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        ReplicaRoutingDataSource routing = routing(List.of(unavailable));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // when/then
+        assertEquals("primary", nodeName(routing));
+        routing.close();
+    }
+
+    @Test
+    void requiresPrimary_AfterOwnWrite_ShouldOnlyAffectThatClient() {
+        // when
+        tracker.recordWrite("client-1");
+
+        // then
+        assertTrue(tracker.requiresPrimary("client-1"));
+        assertFalse(tracker.requiresPrimary("client-2"));
+    }
+
+    @Test
+    void requiresPrimary_WithDisabledWindow_ShouldReturnFalse() {
+        // given
+        ReadYourWritesTracker disabled = new ReadYourWritesTracker(Duration.ZERO);
+
+        // when
+        disabled.recordWrite("client-1");
+
+        // then
+        assertFalse(disabled.requiresPrimary("client-1"));
+    }
+
+    private ReplicaRoutingDataSource routing(List<DataSource> replicas) {
+        return new ReplicaRoutingDataSource(h2("primary"), replicas, tracker, Duration.ofMinutes(1));
+    }
+
+    private Connection createNode(String name) throws SQLException {
+        Connection connection = h2(name).getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE node (name VARCHAR(20))");
+            statement.execute("INSERT INTO node VALUES ('" + name + "')");
+        }
+        return connection;
+    }
+
+    private JdbcDataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name);
+        return dataSource;
+    }
+
+    private String nodeName(DataSource dataSource) throws SQLException {
+        return nodeName(dataSource.getConnection());
+    }
+
+    private String nodeName(Connection node) throws SQLException {
+        try (Connection connection = node;
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT name FROM node")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
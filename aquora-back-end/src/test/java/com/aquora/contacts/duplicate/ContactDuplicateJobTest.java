@@ -0,0 +1,55 @@
+package com.aquora.contacts.duplicate;
+
+import com.aquora.contacts.dto.DuplicateReport;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactDuplicateJobTest {
+
+    private ContactDuplicateJob job;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:duplicates-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE contacts (id BIGINT PRIMARY KEY, name VARCHAR(255), email VARCHAR(255), " +
+                "phone VARCHAR(11), tenant_id VARCHAR(64) DEFAULT 'default')");
+        jdbcTemplate.update("INSERT INTO contacts (id, name, email, phone) VALUES " +
+                "(1, 'Maria Souza', 'maria@example.com', '11911111111'), " +
+                "(2, 'Maria Sousa', 'maria.sousa@example.com', '11911111111')");
+        job = new ContactDuplicateJob(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new DuplicateDetectionProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        job.shutdown();
+    }
+
+    @Test
+    void latestReport_WithoutReport_ShouldReturnEmptyAndScanInBackground() throws Exception {
+        // when
+        Optional<DuplicateReport> first = job.latestReport();
+        Optional<DuplicateReport> report = first;
+        for (int attempt = 0; attempt < 50 && report.isEmpty(); attempt++) {
+            Thread.sleep(100);
+            report = job.latestReport();
+        }
+
+        // then
+        assertTrue(first.isEmpty());
+        assertTrue(report.isPresent());
+        assertEquals(2, report.get().getContactsScanned());
+        assertEquals(1, report.get().getClusters().size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.aquora.contacts.duplicate;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.DuplicateCluster;
+import com.aquora.contacts.util.StringSimilarity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateDetectorTest {
+
+    private DuplicateDetectionProperties properties;
+    private ForkJoinPool pool;
+    private DuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DuplicateDetectionProperties();
+        pool = new ForkJoinPool(4);
+        detector = new DuplicateDetector(properties, pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void detect_WithAccentsAndParticles_ShouldClusterSameName() {
+        // given
+        List<ContactFingerprint> contacts = List.of(
+                ContactFingerprint.of(1, "Jose da Silva", "jose@example.com", "11987654321"),
+                ContactFingerprint.of(2, "José Silva", "silva.jose@example.com", "21912345678"),
+                ContactFingerprint.of(3, "Maria Souza", "maria@example.com", "31955554444"));
+
+        // when
+        DuplicateDetector.Detection detection = detector.detect(contacts);
+
+        // then
+        assertEquals(1, detection.clusters().size());
+        assertEquals(List.of(1L, 2L), ids(detection.clusters().get(0)));
+        assertEquals(List.of("name"), detection.clusters().get(0).getPairs().get(0).getMatchedOn());
+    }
+
+    @Test
+    void detect_WithSharedPhoneAndSimilarName_ShouldJoinClustersTransitively() {
+        // given
+        List<ContactFingerprint> contacts = List.of(
+                ContactFingerprint.of(1, "Ana Paula Costa", "ana@example.com", "1187654321"),
+                ContactFingerprint.of(2, "Ana Costa", "anacosta@example.com", "11987654321"),
+                ContactFingerprint.of(3, "Anna Costa", "a.costa@example.com", "21933332222"));
+
+        // when
+        DuplicateDetector.Detection detection = detector.detect(contacts);
+
+        // then
+        assertEquals(1, detection.clusters().size());
+        assertEquals(List.of(1L, 2L, 3L), ids(detection.clusters().get(0)));
+    }
+
+    @Test
+    void detect_WithSharedPhoneButDifferentNames_ShouldNotReportPair() {
+        // given
+        List<ContactFingerprint> contacts = List.of(
+                ContactFingerprint.of(1, "Ana Costa", "ana@example.com", "11987654321"),
+                ContactFingerprint.of(2, "Pedro Lima", "pedro@example.com", "11987654321"));
+
+        // when
+        DuplicateDetector.Detection detection = detector.detect(contacts);
+
+        // then
+        assertEquals(1, detection.comparisons());
+        assertTrue(detection.clusters().isEmpty());
+    }
+
+    @Test
+    void detect_WithoutSharedKeys_ShouldNotCompareAnyPair() {
+        // given
+        List<ContactFingerprint> contacts = new ArrayList<>();
+        String[] firstNames = {"Ana", "Bruno", "Carla", "Diego", "Elisa", "Fabio", "Gabriela", "Heitor"};
+        String[] lastNames = {"Costa", "Lima", "Souza", "Rocha", "Dias", "Moura", "Pereira", "Alves"};
+        for (int i = 0; i < firstNames.length; i++) {
+            contacts.add(ContactFingerprint.of(i, firstNames[i] + " " + lastNames[i],
+                    "contato" + i + "@example.com", String.format("119%08d", i)));
+        }
+
+        // when
+        DuplicateDetector.Detection detection = detector.detect(contacts);
+
+        // then
+        assertEquals(0, detection.comparisons());
+        assertTrue(detection.clusters().isEmpty());
+    }
+
+    @Test
+    void detect_WithOversizedBlock_ShouldSkipIt() {
+        // given
+        properties.setMaxBlockSize(3);
+        List<ContactFingerprint> contacts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            contacts.add(ContactFingerprint.of(i, "Contato Silva", "contato" + i + "@example.com",
+                    String.format("119%08d", i)));
+        }
+
+        // when
+        DuplicateDetector.Detection detection = detector.detect(contacts);
+
+        // then
+        assertEquals(2, detection.skippedBlocks());
+        assertEquals(0, detection.comparisons());
+    }
+
+    @Test
+    void detect_WithManyBlocks_ShouldCompareEachPairOnce() {
+        // given
+        List<ContactFingerprint> contacts = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Pares com o mesmo nome, telefone e email: três chaves em comum, uma única comparação
+            contacts.add(ContactFingerprint.of(i, "Pessoa" + (i / 2) + " Teste", "p" + (i / 2) + "@example.com",
+                    String.format("119%08d", i / 2)));
+        }
+
+        // when
+        DuplicateDetector.Detection detection = detector.detect(contacts);
+
+        // then
+        assertEquals(1_000, detection.comparisons());
+        assertEquals(1_000, detection.clusters().size());
+    }
+
+    @Test
+    void jaroWinkler_ShouldMatchReferenceValues() {
+        // then
+        assertEquals(0.961, StringSimilarity.jaroWinkler("martha", "marhta"), 0.001);
+        assertEquals(0.840, StringSimilarity.jaroWinkler("dwayne", "duane"), 0.001);
+        assertEquals(1.0, StringSimilarity.jaroWinkler("jose silva", "jose silva"));
+        assertEquals(0.0, StringSimilarity.jaroWinkler("", "ana"));
+    }
+
+    private List<Long> ids(DuplicateCluster cluster) {
+        return cluster.getContacts().stream().map(ContactDTO::getId).toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.aquora.contacts.etag;
+
+import com.aquora.contacts.dto.ContactField;
+import com.aquora.contacts.event.ChangeType;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.exception.PreconditionFailedException;
+import com.aquora.contacts.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactETagsTest {
+
+    @Test
+    void contactTag_WithFields_ShouldDependOnSelectionButNotOnOrder() {
+        // when
+        String all = ContactETags.contactTag(3, null);
+        String sparse = ContactETags.contactTag(3, EnumSet.of(ContactField.NAME, ContactField.ID));
+
+        // then
+        assertEquals("W/\"3\"", all);
+        assertEquals("W/\"3-id.name\"", sparse);
+    }
+
+    @Test
+    void expectedVersion_ShouldAcceptWeakAndStrongTags() {
+        // when/then
+        assertEquals(3L, ContactETags.expectedVersion("W/\"3\""));
+        assertEquals(3L, ContactETags.expectedVersion("\"3-id.name\""));
+        assertNull(ContactETags.expectedVersion("*"));
+        assertNull(ContactETags.expectedVersion(null));
+    }
+
+    @Test
+    void expectedVersion_WithForeignTag_ShouldFailPrecondition() {
+        // when/then
+        assertThrows(PreconditionFailedException.class, () -> ContactETags.expectedVersion("W/\"abc.1\""));
+        assertThrows(PreconditionFailedException.class, () -> ContactETags.expectedVersion("3"));
+    }
+
+    @Test
+    void hasDirectoryTags_ShouldRequireInvalidationOrSingleInstance() {
+        // when/then
+        assertFalse(new ContactETags(false, false).hasDirectoryTags());
+        assertTrue(new ContactETags(true, false).hasDirectoryTags());
+        assertTrue(new ContactETags(false, true).hasDirectoryTags());
+    }
+
+    @Test
+    void directoryTag_AfterChangeOrRemoteInvalidation_ShouldChange() {
+        // given
+        ContactETags eTags = new ContactETags(false, true);
+        String initial = eTags.directoryTag();
+
+        // when
+        eTags.onContactChanged(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 1L, ChangeType.UPDATED,
+                Set.of("name"), null, null));
+        String afterLocalWrite = eTags.directoryTag();
+        eTags.invalidate(List.of(2L));
+
+        // then
+        assertNotEquals(initial, afterLocalWrite);
+        assertNotEquals(afterLocalWrite, eTags.directoryTag());
+        assertTrue(initial.startsWith("W/\""));
+    }
+
+    @Test
+    void directoryTag_ShouldBeScopedToTheCurrentTenant() {
+        // given
+        ContactETags eTags = new ContactETags(false, true);
+        String acme = TenantContext.callAs("acme", eTags::directoryTag);
+        String initial = eTags.directoryTag();
+
+        // when
+        eTags.onContactChanged(new ContactChangedEvent("acme", 1L, ChangeType.UPDATED, Set.of("name"), null, null));
+
+        // then
+        assertNotEquals(initial, acme);
+        assertEquals(initial, eTags.directoryTag());
+        assertNotEquals(acme, TenantContext.callAs("acme", eTags::directoryTag));
+    }
+}
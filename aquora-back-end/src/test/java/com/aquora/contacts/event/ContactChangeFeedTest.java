@@ -0,0 +1,193 @@
+package com.aquora.contacts.event;
+
+import com.aquora.contacts.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactChangeFeedTest {
+
+    private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+    private final CountDownLatch releaseSends = new CountDownLatch(1);
+    private volatile boolean blockSends;
+    private ContactChangeFeed feed;
+
+    @AfterEach
+    void tearDown() {
+        releaseSends.countDown();
+        feed.shutdown();
+    }
+
+    @Test
+    void subscribe_ShouldReceiveCommittedChanges() throws Exception {
+        // given
+        feed = feed(new ChangeFeedProperties());
+        feed.subscribe(null);
+
+        // when
+        feed.onContactChanged(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 7L, ChangeType.UPDATED,
+                Set.of("email"), null, null));
+
+        // then
+        String event = nextEvent();
+        assertTrue(event.contains("id:" + feed.eventId(1)));
+        assertTrue(event.contains("event:UPDATED"));
+        assertTrue(event.contains("ContactChange[version=1, id=7, operation=UPDATED, changedFields=[email]]"));
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayMissedChanges() throws Exception {
+        // given
+        feed = feed(new ChangeFeedProperties());
+        publish(3);
+
+        // when
+        feed.subscribe(feed.eventId(1));
+
+        // then
+        assertTrue(nextEvent().contains("id:" + feed.eventId(2)));
+        assertTrue(nextEvent().contains("id:" + feed.eventId(3)));
+        assertNull(sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void subscribe_WithEvictedLastEventId_ShouldSendReset() throws Exception {
+        // given
+        ChangeFeedProperties properties = new ChangeFeedProperties();
+        properties.setBufferSize(2);
+        feed = feed(properties);
+        publish(5);
+
+        // when
+        feed.subscribe(feed.eventId(1));
+
+        // then
+        String event = nextEvent();
+        assertTrue(event.contains("event:reset"));
+        assertTrue(event.contains("id:" + feed.eventId(5)));
+    }
+
+    @Test
+    void subscribe_WithLastEventIdFromAnotherInstance_ShouldSendReset() throws Exception {
+        // given
+        feed = feed(new ChangeFeedProperties());
+        ContactChangeFeed otherInstance = feed(new ChangeFeedProperties());
+        publish(3);
+
+        // when
+        feed.subscribe(otherInstance.eventId(1));
+
+        // then
+        String event = nextEvent();
+        assertTrue(event.contains("event:reset"));
+        assertTrue(event.contains("id:" + feed.eventId(3)));
+        assertNull(sent.poll(100, TimeUnit.MILLISECONDS));
+        otherInstance.shutdown();
+    }
+
+    @Test
+    void onRemoteChanges_ShouldReachSubscribersOfTheSameTenant() throws Exception {
+        // given
+        feed = feed(new ChangeFeedProperties());
+        feed.subscribe(null);
+
+        // when
+        feed.onRemoteChanges(List.of(
+                new ContactChangedEvent("outra", 8L, ChangeType.CREATED, Set.of("name"), null, null),
+                new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 9L, ChangeType.DELETED, Set.of(), null, null)));
+
+        // then
+        String event = nextEvent();
+        assertTrue(event.contains("id:" + feed.eventId(2)));
+        assertTrue(event.contains("ContactChange[version=2, id=9, operation=DELETED, changedFields=[]]"));
+        assertNull(sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void onRemoteChangesLost_ShouldSendResetToSubscribers() throws Exception {
+        // given
+        feed = feed(new ChangeFeedProperties());
+        feed.subscribe(null);
+
+        // when
+        feed.onRemoteChangesLost();
+
+        // then
+        assertTrue(nextEvent().contains("event:reset"));
+    }
+
+    @Test
+    void onContactChanged_WithSlowSubscriber_ShouldDropItWithoutBlocking() throws Exception {
+        // given
+        ChangeFeedProperties properties = new ChangeFeedProperties();
+        properties.setSubscriberQueueCapacity(2);
+        feed = feed(properties);
+        feed.subscribe(null);
+        blockSends = true;
+
+        // when
+        long start = System.nanoTime();
+        publish(10);
+        long elapsed = System.nanoTime() - start;
+
+        // then
+        assertEquals(0, feed.subscriberCount());
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(10, feed.currentVersion());
+    }
+
+    private void publish(int count) {
+        for (long id = 1; id <= count; id++) {
+            feed.onContactChanged(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, id, ChangeType.CREATED,
+                    Set.of("name"), null, null));
+        }
+    }
+
+    private String nextEvent() throws InterruptedException {
+        String event;
+        do {
+            event = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "nenhum evento enviado");
+        } while (event.startsWith(":"));
+        return event;
+    }
+
+    private ContactChangeFeed feed(ChangeFeedProperties properties) {
+        return new ContactChangeFeed(properties) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blockSends) {
+                try {
+                    releaseSends.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            List<String> parts = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.toList());
+            sent.add(String.join("", parts));
+        }
+    }
+}
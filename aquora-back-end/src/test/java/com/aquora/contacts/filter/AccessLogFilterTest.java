@@ -0,0 +1,115 @@
+package com.aquora.contacts.filter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private AccessLogProperties properties;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccessLogProperties();
+        properties.setSlowThreshold(Duration.ofMinutes(1));
+        appender = new ListAppender<>();
+        appender.start();
+        accessLogger().addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger().detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_ShouldLogOneStructuredEventWithRedactedQuery() throws Exception {
+        // given
+        properties.setSuccessSampleRate(1);
+        MockHttpServletRequest request = request("GET", "/api/contacts");
+        request.setQueryString("search=maria@example.com&page=2&size=10");
+
+        // when
+        new AccessLogFilter(properties).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            AccessLogFilter.recordResultCount(10);
+            RequestContextHolder.resetRequestAttributes();
+            res.getOutputStream().write(new byte[42]);
+        });
+
+        // then
+        assertEquals(1, appender.list.size());
+        Map<String, Object> event = keyValues(appender.list.get(0));
+        assertEquals("GET", event.get("method"));
+        assertEquals("/api/contacts", event.get("path"));
+        assertEquals("search=***&page=2&size=10", event.get("query"));
+        assertEquals(200, event.get("status"));
+        assertEquals(42L, event.get("bytes"));
+        assertEquals(10, event.get("results"));
+        assertEquals(1.0, event.get("sampleRate"));
+    }
+
+    @Test
+    void doFilter_WithZeroSampleRate_ShouldSkipSuccessfulReadsOnly() throws Exception {
+        // given
+        properties.setSuccessSampleRate(0);
+        AccessLogFilter filter = new AccessLogFilter(properties);
+
+        // when
+        filter.doFilter(request("GET", "/api/contacts"), new MockHttpServletResponse(), (req, res) -> {
+        });
+        filter.doFilter(request("GET", "/api/contacts/99"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(404));
+        filter.doFilter(request("POST", "/api/contacts"), new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(201));
+
+        // then
+        assertEquals(2, appender.list.size());
+        assertEquals(404, keyValues(appender.list.get(0)).get("status"));
+        assertEquals("POST", keyValues(appender.list.get(1)).get("method"));
+        assertNull(keyValues(appender.list.get(1)).get("sampleRate"));
+    }
+
+    @Test
+    void doFilter_WithSlowRead_ShouldAlwaysLog() throws Exception {
+        // given
+        properties.setSuccessSampleRate(0);
+        properties.setSlowThreshold(Duration.ZERO);
+
+        // when
+        new AccessLogFilter(properties).doFilter(request("GET", "/api/contacts"), new MockHttpServletResponse(),
+                (req, res) -> {
+                });
+
+        // then
+        assertEquals(1, appender.list.size());
+    }
+
+    private Logger accessLogger() {
+        return (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private Map<String, Object> keyValues(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream().collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+}
@@ -0,0 +1,134 @@
+package com.aquora.contacts.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private AdmissionControlProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionControlProperties();
+        properties.setUploads(new AdmissionControlProperties.BulkheadSettings(1, 0, Duration.ZERO));
+        ClientContext.setCurrentClientId("client-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ClientContext.clear();
+    }
+
+    @Test
+    void doFilter_WhenRateLimitExceeded_ShouldReturn429WithRetryAfter() throws Exception {
+        // given
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setRequestsPerSecond(0.5);
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, objectMapper);
+
+        // when
+        MockHttpServletResponse first = execute(filter, read(), new MockFilterChain());
+        MockHttpServletResponse second = execute(filter, read(), new MockFilterChain());
+
+        // then
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals("2", second.getHeader("Retry-After"));
+    }
+
+    @Test
+    void doFilter_WithNewClientIdPerRequest_ShouldStillLimitByAddress() throws Exception {
+        // given
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().setBurst(1);
+        properties.getRateLimit().setRequestsPerSecond(0.5);
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, objectMapper);
+
+        // when
+        MockHttpServletResponse first = execute(filter, read(), new MockFilterChain());
+        ClientContext.setCurrentClientId("client-2");
+        MockHttpServletResponse second = execute(filter, read(), new MockFilterChain());
+        MockHttpServletRequest otherAddress = read();
+        otherAddress.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse third = execute(filter, otherAddress, new MockFilterChain());
+
+        // then
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals(200, third.getStatus());
+    }
+
+    @Test
+    void doFilter_WhenUploadBulkheadIsFull_ShouldRejectUploadButAdmitRead() throws Exception {
+        // given
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, objectMapper);
+        CountDownLatch uploadStarted = new CountDownLatch(1);
+        CountDownLatch releaseUpload = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<MockHttpServletResponse> runningUpload = executor.submit(() -> execute(filter, upload(),
+                (request, response) -> {
+                    uploadStarted.countDown();
+                    awaitQuietly(releaseUpload);
+                }));
+        uploadStarted.await();
+
+        // when
+        MockHttpServletResponse rejectedUpload = execute(filter, upload(), new MockFilterChain());
+        MockHttpServletResponse admittedRead = execute(filter, read(), new MockFilterChain());
+        releaseUpload.countDown();
+
+        // then
+        assertEquals(429, rejectedUpload.getStatus());
+        assertNotNull(rejectedUpload.getHeader("Retry-After"));
+        assertEquals(200, admittedRead.getStatus());
+        assertEquals(200, runningUpload.get().getStatus());
+        executor.shutdown();
+    }
+
+    private MockHttpServletResponse execute(AdmissionControlFilter filter, MockHttpServletRequest request,
+                                            FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletRequest read() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/contacts");
+        request.setServletPath("/contacts");
+        return request;
+    }
+
+    private MockHttpServletRequest upload() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/contacts");
+        request.setServletPath("/contacts");
+        request.setContentType("multipart/form-data; boundary=x");
+        request.setContent(new byte[128 * 1024]);
+        return request;
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
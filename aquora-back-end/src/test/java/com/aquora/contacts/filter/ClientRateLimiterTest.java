@@ -0,0 +1,30 @@
+package com.aquora.contacts.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    @Test
+    void acquire_WithMoreClientsThanTracked_ShouldEvictLeastRecentlyUsed() {
+        // given
+        AdmissionControlProperties.RateLimit settings = new AdmissionControlProperties.RateLimit();
+        settings.setBurst(1);
+        settings.setRequestsPerSecond(0.001);
+        settings.setMaxTrackedClients(2);
+        ClientRateLimiter limiter = new ClientRateLimiter(settings);
+        limiter.acquire("10.0.0.1");
+        limiter.acquire("10.0.0.2");
+
+        // when
+        long throttled = limiter.acquire("10.0.0.1");
+        limiter.acquire("10.0.0.3");
+
+        // then
+        assertTrue(throttled > 0);
+        assertEquals(2, limiter.trackedClients());
+        assertTrue(limiter.acquire("10.0.0.1") > 0);
+        assertEquals(0, limiter.acquire("10.0.0.2"));
+    }
+}
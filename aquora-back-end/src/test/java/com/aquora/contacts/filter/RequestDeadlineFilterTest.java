@@ -0,0 +1,123 @@
+package com.aquora.contacts.filter;
+
+import com.aquora.contacts.exception.DeadlineExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineFilterTest {
+
+    private RequestDeadlineProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RequestDeadlineProperties();
+        properties.setDefaultTimeout(Duration.ofSeconds(10));
+        properties.setMaxTimeout(Duration.ofSeconds(30));
+        properties.getEndpoints().put("/contacts/duplicates/**", Duration.ofMinutes(2));
+    }
+
+    @Test
+    void doFilter_WithTimeoutHeader_ShouldUseRequestedBudget() throws Exception {
+        // given
+        MockHttpServletRequest request = request("/contacts");
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "1500");
+
+        // when
+        RequestDeadline deadline = deadlineSeenBy(request);
+
+        // then
+        assertEquals(Duration.ofMillis(1500), deadline.budget());
+        assertNull(RequestDeadline.current());
+    }
+
+    @Test
+    void doFilter_WithTimeoutHeaderAboveMax_ShouldClampToMaxTimeout() throws Exception {
+        // given
+        MockHttpServletRequest request = request("/contacts");
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "600000");
+
+        // when/then
+        assertEquals(Duration.ofSeconds(30), deadlineSeenBy(request).budget());
+    }
+
+    @Test
+    void doFilter_WithoutHeader_ShouldUseEndpointDefault() throws Exception {
+        // when/then
+        assertEquals(Duration.ofMinutes(2), deadlineSeenBy(request("/contacts/duplicates/scan")).budget());
+        assertEquals(Duration.ofSeconds(10), deadlineSeenBy(request("/contacts/42")).budget());
+    }
+
+    @Test
+    void doFilter_WithInvalidHeader_ShouldUseDefault() throws Exception {
+        // given
+        MockHttpServletRequest request = request("/contacts");
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "-5");
+
+        // when/then
+        assertEquals(Duration.ofSeconds(10), deadlineSeenBy(request).budget());
+    }
+
+    @Test
+    void check_AfterBudgetIsSpent_ShouldThrowDeadlineExceeded() throws Exception {
+        // given
+        MockHttpServletRequest request = request("/contacts");
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "1");
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        // when
+        new RequestDeadlineFilter(properties).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestDeadline.check();
+            sleep(10);
+            failure.set(assertThrows(DeadlineExceededException.class, RequestDeadline::check));
+        });
+
+        // then
+        assertEquals("Tempo limite da requisição esgotado (1 ms)", failure.get().getMessage());
+    }
+
+    @Test
+    void propagate_ShouldCarryDeadlineToOtherThread() throws Exception {
+        // given
+        MockHttpServletRequest request = request("/contacts");
+        AtomicReference<RequestDeadline> seenByRequest = new AtomicReference<>();
+        AtomicReference<RequestDeadline> seenByWorker = new AtomicReference<>();
+
+        // when
+        new RequestDeadlineFilter(properties).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            seenByRequest.set(RequestDeadline.current());
+            seenByWorker.set(CompletableFuture.supplyAsync(RequestDeadline.propagate(RequestDeadline::current)).join());
+        });
+
+        // then
+        assertSame(seenByRequest.get(), seenByWorker.get());
+    }
+
+    private RequestDeadline deadlineSeenBy(MockHttpServletRequest request) throws Exception {
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+        new RequestDeadlineFilter(properties).doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen.set(RequestDeadline.current()));
+        return seen.get();
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
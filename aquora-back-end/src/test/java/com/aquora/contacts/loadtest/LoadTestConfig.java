@@ -0,0 +1,68 @@
+package com.aquora.contacts.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do driver de carga, no formato {@code --chave=valor}. Argumentos {@code --app.*} são
+ * repassados (sem o prefixo) à aplicação embarcada, para comparar configurações.
+ */
+record LoadTestConfig(
+        String baseUrl,
+        boolean embedded,
+        int contacts,
+        double pictureRatio,
+        int pictureSize,
+        int threads,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        long seed,
+        Map<String, String> appProperties) {
+
+    private static final String DEFAULT_MIX = "list=40,search=25,get=20,create=5,update=5,delete=5";
+
+    static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido (use --chave=valor): " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.startsWith("app.")) {
+                appProperties.put(key.substring("app.".length()), value);
+            } else {
+                options.put(key, value);
+            }
+        }
+
+        return new LoadTestConfig(
+                options.getOrDefault("base-url", "http://localhost:8080/api"),
+                Boolean.parseBoolean(options.getOrDefault("embedded", "false")),
+                Integer.parseInt(options.getOrDefault("contacts", "1000")),
+                Double.parseDouble(options.getOrDefault("picture-ratio", "0.3")),
+                Integer.parseInt(options.getOrDefault("picture-size", "20000")),
+                Integer.parseInt(options.getOrDefault("threads", "16")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(System.nanoTime()))),
+                appProperties);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("O mix precisa de pelo menos uma operação com peso positivo");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,338 @@
+package com.aquora.contacts.loadtest;
+
+import com.aquora.contacts.ContactsApplication;
+import com.aquora.contacts.loadtest.SyntheticContacts.SyntheticContact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Driver de carga HTTP: semeia contatos sintéticos e reproduz um mix de listagem, busca, consulta,
+ * criação, atualização e exclusão contra {@code /api/contacts}, reportando vazão e percentis de
+ * latência (HdrHistogram) por endpoint.
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.aquora.contacts.loadtest.LoadTestDriver \
+ *     -Dexec.args="--embedded=true --contacts=2000 --duration=60"
+ * </pre>
+ *
+ * Sem {@code --embedded}, usa a aplicação já em execução em {@code --base-url} (H2 ou Postgres local).
+ */
+public class LoadTestDriver {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int PAGE_SIZE = 10;
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final ExecutorService httpExecutor;
+    private final HttpClient client;
+    private final SyntheticContacts contacts;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Long> knownIds = new ArrayList<>();
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final Operation[] weightedOperations;
+
+    LoadTestDriver(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.httpExecutor = Executors.newFixedThreadPool(config.threads());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(httpExecutor)
+                .build();
+        this.contacts = new SyntheticContacts(config.seed(), config.pictureRatio(), config.pictureSize());
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+        this.weightedOperations = expandMix(config.mix());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        ConfigurableApplicationContext application = config.embedded() ? startEmbedded(config) : null;
+        try {
+            String baseUrl = application != null
+                    ? "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort() + "/api"
+                    : config.baseUrl();
+            new LoadTestDriver(config, baseUrl).run();
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    void run() throws InterruptedException {
+        System.out.printf("Alvo: %s | threads: %d | mix: %s | seed: %d%n",
+                baseUrl, config.threads(), config.mix(), config.seed());
+
+        long seedStart = System.nanoTime();
+        runWorkers(config.contacts(), Duration.ofDays(1), this::seedOne);
+        System.out.printf("Semeados %,d contatos em %.1fs%n", knownIds.size(), seconds(System.nanoTime() - seedStart));
+
+        if (!config.warmup().isZero()) {
+            runWorkers(Long.MAX_VALUE, config.warmup(), this::executeRandom);
+            latencies.values().forEach(Histogram::reset);
+            errors.values().forEach(counter -> counter.set(0));
+        }
+
+        long start = System.nanoTime();
+        runWorkers(Long.MAX_VALUE, config.duration(), this::executeRandom);
+        report(System.nanoTime() - start);
+        httpExecutor.shutdown();
+    }
+
+    private void runWorkers(long totalOperations, Duration duration, Runnable operation) throws InterruptedException {
+        AtomicLong remaining = new AtomicLong(totalOperations);
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(config.threads());
+        for (int i = 0; i < config.threads(); i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && remaining.getAndDecrement() > 0) {
+                    operation.run();
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    private void seedOne() {
+        create(contacts.next(), this::addId);
+    }
+
+    private void executeRandom() {
+        Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+        long start = System.nanoTime();
+        boolean success = switch (operation) {
+            case LIST -> send(get("/contacts?page=" + randomPage() + "&size=" + PAGE_SIZE));
+            case SEARCH -> send(get("/contacts?search=" + encode(contacts.searchTerm()) + "&size=" + PAGE_SIZE));
+            case GET -> withRandomId(id -> send(get("/contacts/" + id)));
+            case CREATE -> create(contacts.next(), this::addId) != null;
+            case UPDATE -> withRandomId(id -> send(multipart("PUT", "/contacts/" + id, contacts.next())));
+            case DELETE -> withRandomId(id -> {
+                removeId(id);
+                return send(HttpRequest.newBuilder(uri("/contacts/" + id)).DELETE().build());
+            });
+        };
+        latencies.get(operation).recordValue(
+                Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), MAX_LATENCY_MICROS));
+        if (!success) {
+            errors.get(operation).incrementAndGet();
+        }
+    }
+
+    private Long create(SyntheticContact contact, LongConsumer onCreated) {
+        HttpResponse<String> response = exchange(multipart("POST", "/contacts", contact));
+        if (response == null || response.statusCode() != 201) {
+            return null;
+        }
+        try {
+            long id = objectMapper.readTree(response.body()).get("id").asLong();
+            onCreated.accept(id);
+            return id;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean withRandomId(LongPredicate action) {
+        Long id = randomId();
+        return id != null && action.test(id);
+    }
+
+    private boolean send(HttpRequest request) {
+        HttpResponse<String> response = exchange(request);
+        return response != null && response.statusCode() < 400;
+    }
+
+    private HttpResponse<String> exchange(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().header("Accept", "application/json").build();
+    }
+
+    private HttpRequest multipart(String method, String path, SyntheticContact contact) {
+        String boundary = "----aquora" + UUID.randomUUID();
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("name", contact.name());
+        fields.put("email", contact.email());
+        fields.put("phone", contact.phone());
+        fields.put("dateOfBirth", contact.dateOfBirth());
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        fields.forEach((name, value) -> writePart(body, boundary,
+                "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n",
+                value.getBytes(StandardCharsets.UTF_8)));
+        if (contact.picture() != null) {
+            writePart(body, boundary,
+                    "Content-Disposition: form-data; name=\"profilePicture\"; filename=\"foto.png\"\r\n" +
+                            "Content-Type: image/png\r\n\r\n",
+                    contact.picture());
+        }
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String boundary, String headers, byte[] content) {
+        body.writeBytes(("--" + boundary + "\r\n" + headers).getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private int randomPage() {
+        int pages;
+        synchronized (knownIds) {
+            pages = Math.max(1, knownIds.size() / PAGE_SIZE);
+        }
+        return ThreadLocalRandom.current().nextInt(pages);
+    }
+
+    private void addId(long id) {
+        synchronized (knownIds) {
+            knownIds.add(id);
+        }
+    }
+
+    private Long randomId() {
+        synchronized (knownIds) {
+            return knownIds.isEmpty() ? null : knownIds.get(ThreadLocalRandom.current().nextInt(knownIds.size()));
+        }
+    }
+
+    // Remoção O(1): troca com o último elemento
+    private void removeId(long id) {
+        synchronized (knownIds) {
+            int index = knownIds.indexOf(id);
+            if (index >= 0) {
+                knownIds.set(index, knownIds.get(knownIds.size() - 1));
+                knownIds.remove(knownIds.size() - 1);
+            }
+        }
+    }
+
+    private void report(long elapsedNanos) {
+        double elapsedSeconds = seconds(elapsedNanos);
+        System.out.printf("%nResultados (%.1fs medidos, latências em ms)%n", elapsedSeconds);
+        System.out.printf("%-8s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                "Endpoint", "Reqs", "Erros", "Req/s", "p50", "p90", "p99", "p99.9", "max");
+
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errors.get(operation).get();
+            printRow(operation.key(), histogram, errors.get(operation).get(), elapsedSeconds);
+        }
+        printRow("total", total, totalErrors, elapsedSeconds);
+    }
+
+    private static void printRow(String label, Histogram histogram, long errorCount, double elapsedSeconds) {
+        System.out.printf("%-8s %,9d %,7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f%n",
+                label,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getTotalCount() / elapsedSeconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static Operation[] expandMix(Map<Operation, Integer> mix) {
+        List<Operation> expanded = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                expanded.add(operation);
+            }
+        });
+        return expanded.toArray(Operation[]::new);
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(LoadTestConfig config) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.com.aquora.contacts", "WARN");
+        properties.put("logging.level.org.hibernate", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.putAll(config.appProperties());
+        // Como argumentos de linha de comando, têm precedência sobre os application.properties
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(ContactsApplication.class).run(args);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,29 @@
+package com.aquora.contacts.loadtest;
+
+enum Operation {
+    LIST("list"),
+    SEARCH("search"),
+    GET("get"),
+    CREATE("create"),
+    UPDATE("update"),
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida no mix: " + key);
+    }
+}
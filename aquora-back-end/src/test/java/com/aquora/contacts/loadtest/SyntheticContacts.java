@@ -0,0 +1,121 @@
+package com.aquora.contacts.loadtest;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera contatos sintéticos que passam nas validações da API: nomes brasileiros (com as preposições
+ * aceitas pelo {@code NameValidator}), telefones de 10/11 dígitos com DDD válido e fotos PNG opcionais.
+ * Emails e telefones são únicos na execução e derivam de um id de rodada, para reaproveitar o mesmo banco.
+ */
+class SyntheticContacts {
+
+    private static final List<String> FIRST_NAMES = List.of(
+            "Ana", "Maria", "Francisca", "Antônia", "Adriana", "Juliana", "Márcia", "Fernanda", "Patrícia",
+            "Aline", "Beatriz", "Camila", "Larissa", "Letícia", "Gabriela", "Luana", "Vitória", "Helena",
+            "José", "João", "Antônio", "Francisco", "Carlos", "Paulo", "Pedro", "Lucas", "Luiz", "Marcos",
+            "Luís", "Gabriel", "Rafael", "Daniel", "Marcelo", "Bruno", "Eduardo", "Felipe", "Raimundo",
+            "Rodrigo", "Thiago", "Matheus", "Gustavo", "Heitor", "Davi", "Arthur", "Bernardo", "Enzo");
+
+    private static final List<String> SURNAMES = List.of(
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima",
+            "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes",
+            "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques",
+            "Machado", "Mendes", "Freitas", "Cardoso", "Ramos", "Gonçalves", "Santana", "Teixeira", "Araújo");
+
+    private static final List<String> PREPOSITIONS = List.of("da", "de", "do");
+
+    private static final List<String> AREA_CODES = List.of(
+            "11", "12", "13", "15", "19", "21", "24", "27", "31", "34", "41", "43", "47", "48", "51", "54",
+            "61", "62", "65", "67", "71", "73", "79", "81", "82", "83", "84", "85", "86", "91", "92", "98");
+
+    private static final int PICTURE_VARIANTS = 8;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final long runId;
+    private final double pictureRatio;
+    private final byte[][] pictures;
+
+    SyntheticContacts(long seed, double pictureRatio, int pictureSize) {
+        Random random = new Random(seed);
+        this.runId = Math.floorMod(random.nextLong(), 1_000_000L);
+        this.pictureRatio = pictureRatio;
+        this.pictures = new byte[PICTURE_VARIANTS][];
+        for (int i = 0; i < PICTURE_VARIANTS; i++) {
+            pictures[i] = png(random, pictureSize);
+        }
+    }
+
+    SyntheticContact next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = sequence.incrementAndGet();
+
+        String firstName = pick(random, FIRST_NAMES);
+        String surname = pick(random, SURNAMES);
+        String name = random.nextInt(4) == 0
+                ? firstName + " " + pick(random, PREPOSITIONS) + " " + surname
+                : firstName + " " + pick(random, SURNAMES) + " " + surname;
+
+        String email = ascii(firstName + "." + surname) + "." + runId + "." + id + "@example.com";
+        LocalDate dateOfBirth = LocalDate.of(1940, 1, 1).plusDays(random.nextInt(365 * 67));
+        byte[] picture = random.nextDouble() < pictureRatio ? pictures[random.nextInt(PICTURE_VARIANTS)] : null;
+
+        return new SyntheticContact(name, email, phone(random, id), dateOfBirth.toString(), picture);
+    }
+
+    String searchTerm() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String term = random.nextBoolean() ? pick(random, SURNAMES) : pick(random, FIRST_NAMES);
+        return term.substring(0, Math.min(term.length(), 3 + random.nextInt(3))).toLowerCase(Locale.ROOT);
+    }
+
+    // Celular (DDD + 9 + 8 dígitos) ou fixo (DDD + [2-5] + 7 dígitos); o sufixo deriva do id e da execução
+    private String phone(ThreadLocalRandom random, long id) {
+        long unique = (runId * 1_000_003L + id) % 10_000_000L;
+        String areaCode = pick(random, AREA_CODES);
+        if (random.nextInt(5) == 0) {
+            return areaCode + (2 + random.nextInt(4)) + String.format("%07d", unique);
+        }
+        return areaCode + "9" + random.nextInt(10) + String.format("%07d", unique);
+    }
+
+    private static String ascii(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> T pick(ThreadLocalRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    // Ruído aleatório não comprime, então o tamanho final fica próximo do pedido
+    private static byte[] png(Random random, int approximateSize) {
+        int side = Math.max(8, (int) Math.sqrt(approximateSize / 3.0));
+        BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record SyntheticContact(String name, String email, String phone, String dateOfBirth, byte[] picture) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.aquora.contacts.loadtest;
+
+import com.aquora.contacts.loadtest.SyntheticContacts.SyntheticContact;
+import com.aquora.contacts.validator.NameValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticContactsTest {
+
+    @Test
+    void next_ShouldGenerateContactsAcceptedByTheApi() {
+        // given
+        SyntheticContacts contacts = new SyntheticContacts(42L, 0.5, 2_000);
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+
+        // when/then
+        for (int i = 0; i < 5_000; i++) {
+            SyntheticContact contact = contacts.next();
+            assertTrue(NameValidator.isValid(contact.name()), contact.name());
+            assertTrue(contact.phone().matches("\\d{10,11}"), contact.phone());
+            assertTrue(emails.add(contact.email()), contact.email());
+            assertTrue(phones.add(contact.phone()), contact.phone());
+        }
+    }
+
+    @Test
+    void next_WithPictureRatio_ShouldAttachPngPictures() {
+        // given
+        SyntheticContacts contacts = new SyntheticContacts(42L, 1.0, 2_000);
+
+        // when
+        byte[] picture = contacts.next().picture();
+
+        // then
+        assertNotNull(picture);
+        assertEquals((byte) 0x89, picture[0]);
+        assertEquals('P', picture[1]);
+    }
+}
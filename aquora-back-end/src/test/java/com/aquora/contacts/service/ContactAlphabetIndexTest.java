@@ -0,0 +1,140 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.AlphabetIndexEntry;
+import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.CursorPagedResponse;
+import com.aquora.contacts.model.Contact;
+import com.aquora.contacts.repository.ContactRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:alphabet-index;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN"
+})
+class ContactAlphabetIndexTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactAlphabetIndex alphabetIndex;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        contactRepository.findAll().forEach(contact -> contactService.deleteContact(contact.getId()));
+    }
+
+    @Test
+    void entries_ShouldCountFoldedInitialsIncrementally() throws IOException {
+        // given
+        create("Ângela Souza");
+        create("Ana Costa");
+        ContactDTO bruno = create("Bruno Lima");
+        ContactDTO erica = create("Érica Dias");
+
+        // when
+        contactService.updateContact(bruno.getId(), dto("Mário Lima", bruno.getEmail(), bruno.getPhone()), null);
+        contactService.deleteContact(erica.getId());
+
+        // then
+        assertEquals(Map.of("A", 2L, "M", 1L), counts());
+    }
+
+    @Test
+    void getContactsByName_ShouldPageAlphabeticallyAndJumpToLetter() throws IOException {
+        // given
+        for (String name : List.of("Zélia Moura", "Ângela Souza", "Mário Lima", "Ana Costa", "Marta Rocha", "Bruno Dias")) {
+            create(name);
+        }
+
+        // when
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        CursorPagedResponse<ContactDTO> page;
+        do {
+            page = contactService.getContactsByName(cursor, 4);
+            page.getContent().forEach(contact -> names.add(contact.getName()));
+            cursor = page.getNextCursor();
+        } while (!page.isLast());
+        CursorPagedResponse<ContactDTO> fromM = contactService.getContactsByName(cursorFor("M"), 10);
+
+        // then
+        assertEquals(List.of("Ana Costa", "Ângela Souza", "Bruno Dias", "Mário Lima", "Marta Rocha", "Zélia Moura"),
+                names);
+        assertEquals(List.of("Mário Lima", "Marta Rocha", "Zélia Moura"),
+                fromM.getContent().stream().map(ContactDTO::getName).collect(Collectors.toList()));
+        assertTrue(fromM.isLast());
+    }
+
+    @Test
+    void invalidate_AfterWriteFromAnotherInstance_ShouldReloadCountsInBackground() throws Exception {
+        // given
+        create("Ana Costa");
+        counts();
+        contactRepository.save(Contact.builder()
+                .name("Carla Dias")
+                .email("carla@example.com")
+                .phone("11988887777")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .build());
+
+        // when
+        alphabetIndex.invalidate(List.of(1L));
+        Map<String, Long> rightAfterInvalidation = counts();
+
+        // then
+        assertEquals(Map.of("A", 1L), rightAfterInvalidation);
+        long deadline = System.nanoTime() + ContactAlphabetIndex.RELOAD_DELAY.multipliedBy(5).toNanos();
+        while (!counts().containsKey("C") && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(Map.of("A", 1L, "C", 1L), counts());
+    }
+
+    private Map<String, Long> counts() {
+        return alphabetIndex.entries().stream()
+                .collect(Collectors.toMap(AlphabetIndexEntry::getLetter, AlphabetIndexEntry::getCount));
+    }
+
+    private String cursorFor(String letter) {
+        return alphabetIndex.entries().stream()
+                .filter(entry -> entry.getLetter().equals(letter))
+                .findFirst()
+                .orElseThrow()
+                .getCursor();
+    }
+
+    private ContactDTO create(String name) throws IOException {
+        sequence++;
+        return contactService.createContact(
+                dto(name, "contato" + sequence + "@example.com", String.format("119%08d", sequence)), null);
+    }
+
+    private ContactCreateDTO dto(String name, String email, String phone) {
+        return ContactCreateDTO.builder()
+                .name(name)
+                .email(email)
+                .phone(phone)
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+}
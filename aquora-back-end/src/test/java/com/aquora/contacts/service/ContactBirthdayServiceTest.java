@@ -0,0 +1,141 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.dto.UpcomingBirthdayDTO;
+import com.aquora.contacts.exception.BadRequestException;
+import com.aquora.contacts.model.Contact;
+import com.aquora.contacts.repository.ContactRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:birthdays;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN"
+})
+class ContactBirthdayServiceTest {
+
+    @Autowired
+    private ContactBirthdayService birthdayService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        contactRepository.deleteAll();
+    }
+
+    @Test
+    void getUpcomingBirthdays_AcrossYearEnd_ShouldReturnChronologicalOrder() {
+        // given
+        save("Ana Costa", LocalDate.of(1990, 1, 2));
+        save("Bruno Lima", LocalDate.of(1985, 12, 30));
+        save("Carla Dias", LocalDate.of(2000, 1, 5));
+        save("Diego Rocha", LocalDate.of(1970, 12, 27));
+        save("Elisa Moura", LocalDate.of(1995, 12, 28));
+
+        // when
+        PagedResponse<UpcomingBirthdayDTO> result =
+                birthdayService.getUpcomingBirthdays(LocalDate.of(2026, 12, 28), 7, 0, 10);
+
+        // then
+        assertEquals(List.of("Elisa Moura", "Bruno Lima", "Ana Costa"), names(result));
+        assertEquals(List.of("2026-12-28", "2026-12-30", "2027-01-02"), birthdays(result));
+        assertEquals(List.of(31, 41, 37), result.getContent().stream()
+                .map(UpcomingBirthdayDTO::getAge).collect(Collectors.toList()));
+    }
+
+    @Test
+    void getUpcomingBirthdays_WithFebruary29InNonLeapYear_ShouldCelebrateOnFebruary28() {
+        // given
+        save("Ana Costa", LocalDate.of(2000, 2, 29));
+        save("Bruno Lima", LocalDate.of(1990, 3, 1));
+
+        // when
+        PagedResponse<UpcomingBirthdayDTO> endingOn28 =
+                birthdayService.getUpcomingBirthdays(LocalDate.of(2027, 2, 22), 7, 0, 10);
+        PagedResponse<UpcomingBirthdayDTO> startingOnMarch =
+                birthdayService.getUpcomingBirthdays(LocalDate.of(2027, 3, 1), 7, 0, 10);
+
+        // then
+        assertEquals(List.of("2027-02-28"), birthdays(endingOn28));
+        assertEquals(27, endingOn28.getContent().get(0).getAge());
+        assertEquals(List.of("Bruno Lima"), names(startingOnMarch));
+    }
+
+    @Test
+    void getUpcomingBirthdays_WithPagination_ShouldKeepOrderAcrossPages() {
+        // given
+        save("Ana Costa", LocalDate.of(1990, 1, 2));
+        save("Bruno Lima", LocalDate.of(1985, 12, 30));
+        save("Elisa Moura", LocalDate.of(1995, 12, 28));
+
+        // when
+        PagedResponse<UpcomingBirthdayDTO> first =
+                birthdayService.getUpcomingBirthdays(LocalDate.of(2026, 12, 28), 7, 0, 2);
+        PagedResponse<UpcomingBirthdayDTO> second =
+                birthdayService.getUpcomingBirthdays(LocalDate.of(2026, 12, 28), 7, 1, 2);
+
+        // then
+        assertEquals(List.of("Elisa Moura", "Bruno Lima"), names(first));
+        assertEquals(List.of("Ana Costa"), names(second));
+        assertEquals(3, first.getTotalElements());
+        assertTrue(second.isLast());
+    }
+
+    @Test
+    void backfillBirthMonthDays_ShouldFillRowsWithoutKey() {
+        // given
+        Contact contact = save("Ana Costa", LocalDate.of(1990, 6, 15));
+        jdbcTemplate.update("UPDATE contacts SET birth_month_day = NULL WHERE id = ?", contact.getId());
+
+        // when
+        birthdayService.backfillBirthMonthDays();
+
+        // then
+        assertEquals(615, jdbcTemplate.queryForObject(
+                "SELECT birth_month_day FROM contacts WHERE id = ?", Integer.class, contact.getId()));
+    }
+
+    @Test
+    void getUpcomingBirthdays_WithInvalidPeriod_ShouldThrowBadRequest() {
+        // when/then
+        assertThrows(BadRequestException.class,
+                () -> birthdayService.getUpcomingBirthdays(LocalDate.of(2026, 1, 1), 367, 0, 10));
+        assertThrows(BadRequestException.class,
+                () -> birthdayService.getUpcomingBirthdays(LocalDate.of(2026, 1, 1), 0, 0, 10));
+    }
+
+    private List<String> names(PagedResponse<UpcomingBirthdayDTO> result) {
+        return result.getContent().stream().map(UpcomingBirthdayDTO::getName).collect(Collectors.toList());
+    }
+
+    private List<String> birthdays(PagedResponse<UpcomingBirthdayDTO> result) {
+        return result.getContent().stream().map(UpcomingBirthdayDTO::getBirthday).collect(Collectors.toList());
+    }
+
+    private Contact save(String name, LocalDate dateOfBirth) {
+        sequence++;
+        return contactRepository.save(Contact.builder()
+                .name(name)
+                .email("aniversario" + sequence + "@example.com")
+                .phone(String.format("119%08d", sequence))
+                .dateOfBirth(dateOfBirth)
+                .build());
+    }
+}
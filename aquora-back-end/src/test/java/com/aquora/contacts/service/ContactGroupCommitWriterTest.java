@@ -0,0 +1,153 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.exception.DeadlineExceededException;
+import com.aquora.contacts.filter.RequestDeadlineFilter;
+import com.aquora.contacts.filter.RequestDeadlineProperties;
+import com.aquora.contacts.repository.ContactRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:group-commit;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "aquora.contacts.group-commit.enabled=true",
+        "aquora.contacts.group-commit.max-delay=200ms"
+})
+class ContactGroupCommitWriterTest {
+
+    @Autowired
+    private ContactGroupCommitWriter writer;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @BeforeEach
+    void setUp() {
+        contactRepository.deleteAll();
+    }
+
+    @Test
+    void createContact_WithConcurrentRequests_ShouldGiveEachCallerItsOwnResult() throws Exception {
+        // given
+        contactService.createContact(contact("Ana Costa", "ana@example.com", "11900000000"), null);
+        List<ContactCreateDTO> requests = List.of(
+                contact("João Silva", "joao@example.com", "11911111111"),
+                contact("Maria Souza", "maria@example.com", "11922222222"),
+                contact("Pedro Lima", "joao@example.com", "11933333333"),
+                contact("Carla Dias", "carla@example.com", "11900000000"),
+                contact("Bruno Alves", "bruno@example.com", "11944444444"));
+
+        // when
+        List<Future<ContactDTO>> results = createConcurrently(requests);
+
+        // then
+        assertNotNull(results.get(1).get().getId());
+        assertNotNull(results.get(4).get().getId());
+        assertEquals("Telefone já está em uso", failureMessage(results.get(3)));
+        // João e Pedro disputam o mesmo email: vence quem entrar primeiro na fila, não quem foi submetido primeiro
+        Future<ContactDTO> winner = succeeded(results.get(0)) ? results.get(0) : results.get(2);
+        Future<ContactDTO> loser = winner == results.get(0) ? results.get(2) : results.get(0);
+        assertNotNull(winner.get().getId());
+        assertEquals("Email já está em uso", failureMessage(loser));
+        assertEquals(4, contactRepository.count());
+        assertEquals("11944444444", contactRepository.findById(results.get(4).get().getId()).orElseThrow().getPhone());
+    }
+
+    @Test
+    void createContact_WithPicture_ShouldStoreItInBatch() throws Exception {
+        // given
+        MockMultipartFile picture = new MockMultipartFile("profilePicture", "a.png", "image/png", new byte[] {1, 2, 3});
+
+        // when
+        ContactDTO created = writer.createContact(contact("João Silva", "joao@example.com", "11911111111"), picture);
+
+        // then
+        assertEquals("data:image/png;base64,AQID", created.getProfilePicture());
+        assertEquals("data:image/png;base64,AQID", contactService.getContactById(created.getId()).getProfilePicture());
+    }
+
+    @Test
+    void createContact_WithInvalidData_ShouldFailBeforeQueueing() {
+        // when/then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> writer.createContact(contact("João Silva", "joao@example.com", "123"), null));
+        assertEquals("O telefone deve conter entre 10 e 11 dígitos", exception.getMessage());
+    }
+
+    @Test
+    void createContact_WhenDeadlineExpiresInQueue_ShouldFailAndSkipTheContact() throws Exception {
+        // given
+        RequestDeadlineFilter deadlineFilter = new RequestDeadlineFilter(new RequestDeadlineProperties());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/contacts");
+        request.setServletPath("/contacts");
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "50");
+        List<RuntimeException> failures = new ArrayList<>();
+
+        // when
+        deadlineFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> failures.add(
+                assertThrows(DeadlineExceededException.class,
+                        () -> writer.createContact(contact("João Silva", "joao@example.com", "11911111111"), null))));
+        Thread.sleep(400);
+
+        // then
+        assertEquals(1, failures.size());
+        assertEquals(0, contactRepository.count());
+    }
+
+    private List<Future<ContactDTO>> createConcurrently(List<ContactCreateDTO> requests) {
+        ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        try {
+            List<Future<ContactDTO>> results = new ArrayList<>();
+            for (ContactCreateDTO request : requests) {
+                results.add(executor.submit(() -> writer.createContact(request, null)));
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private boolean succeeded(Future<ContactDTO> result) throws InterruptedException {
+        try {
+            result.get();
+            return true;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    private String failureMessage(Future<ContactDTO> result) {
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        return exception.getCause().getMessage();
+    }
+
+    private ContactCreateDTO contact(String name, String email, String phone) {
+        return ContactCreateDTO.builder()
+                .name(name)
+                .email(email)
+                .phone(phone)
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+}
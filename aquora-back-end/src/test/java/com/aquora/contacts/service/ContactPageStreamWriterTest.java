@@ -0,0 +1,121 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.exception.StreamAbortedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactPageStreamWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+    private ContactPageStreamWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:stream-writer;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS contacts");
+        jdbcTemplate.execute("CREATE TABLE contacts (id BIGINT PRIMARY KEY, name VARCHAR(255), email VARCHAR(255), " +
+                "phone VARCHAR(11), date_of_birth DATE, profile_picture BLOB, profile_picture_type VARCHAR(255), " +
+                "tenant_id VARCHAR(64))");
+        jdbcTemplate.update("INSERT INTO contacts VALUES (1, 'João Silva', 'joao@example.com', '11987654321', " +
+                "DATE '1990-01-01', ?, 'image/png', 'default')", (Object) "imagem".getBytes());
+        jdbcTemplate.update("INSERT INTO contacts VALUES (2, 'Maria \"Mari\" Souza', 'maria@example.com', " +
+                "'11912345678', DATE '1985-05-20', NULL, NULL, 'default')");
+        jdbcTemplate.update("INSERT INTO contacts VALUES (3, 'Ana Costa', 'ana@example.com', '1133334444', " +
+                "DATE '2000-12-31', NULL, NULL, 'default')");
+        // Outra agenda: nunca aparece nas páginas da agenda padrão
+        jdbcTemplate.update("INSERT INTO contacts VALUES (4, 'Bruno Costa', 'bruno@example.com', '11955556666', " +
+                "DATE '1995-03-10', NULL, NULL, 'acme')");
+
+        writer = new ContactPageStreamWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource), objectMapper);
+    }
+
+    @Test
+    void writePage_ShouldProduceSameJsonAsPagedResponse() throws Exception {
+        // given
+        PagedResponse<ContactDTO> expected = PagedResponse.<ContactDTO>builder()
+                .content(List.of(
+                        new ContactDTO(1L, "João Silva", "joao@example.com", "11987654321", "1990-01-01",
+                                "data:image/png;base64,aW1hZ2Vt"),
+                        new ContactDTO(2L, "Maria \"Mari\" Souza", "maria@example.com", "11912345678",
+                                "1985-05-20", null)))
+                .pageNumber(0)
+                .pageSize(2)
+                .totalElements(3)
+                .totalPages(2)
+                .last(false)
+                .build();
+
+        // when
+        String json = writePage(null, 0, 2);
+
+        // then
+        assertEquals(objectMapper.writeValueAsString(expected), json);
+    }
+
+    @Test
+    void writePage_WithSearchTerm_ShouldFilterAndCount() throws Exception {
+        // when
+        String json = writePage("costa", 0, 10);
+
+        // then
+        JsonNode response = objectMapper.readTree(json);
+        assertEquals(1, response.get("totalElements").asLong());
+        assertTrue(response.get("last").asBoolean());
+        assertTrue(json.contains("\"name\":\"Ana Costa\""));
+    }
+
+    @Test
+    void writePage_WhenQueryFailsBeforeFirstRow_ShouldRethrowWithoutWriting() {
+        // given
+        jdbcTemplate.execute("DROP TABLE contacts");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when/then
+        assertThrows(BadSqlGrammarException.class, () -> writer.writePage(null, 0, 10, out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void writePage_WhenRowFailsMidStream_ShouldEndWithSentinelAndAbort() {
+        // given
+        jdbcTemplate.execute("ALTER TABLE contacts ALTER COLUMN date_of_birth VARCHAR(20)");
+        jdbcTemplate.update("UPDATE contacts SET date_of_birth = 'inválida' WHERE id = 2");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        StreamAbortedException exception = assertThrows(StreamAbortedException.class,
+                () -> writer.writePage(null, 0, 10, out));
+
+        // then
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("{\"content\":[{\"id\":1,"));
+        assertTrue(body.endsWith(ContactPageStreamWriter.ERROR_SENTINEL));
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readTree(body));
+        assertInstanceOf(DataAccessException.class, exception.getCause());
+    }
+
+    private String writePage(String searchTerm, int page, int size) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writePage(searchTerm, page, size, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -2,9 +2,17 @@ package com.aquora.contacts.service;
 
 import com.aquora.contacts.dto.ContactCreateDTO;
 import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.event.ChangeType;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.event.ContactState;
+import com.aquora.contacts.exception.ContactValidationException;
 import com.aquora.contacts.exception.ResourceNotFoundException;
 import com.aquora.contacts.model.Contact;
+import com.aquora.contacts.repository.ContactPicture;
 import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.repository.ContactSummary;
+import com.aquora.contacts.tenant.TenantContext;
 import com.aquora.contacts.validator.NameValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +20,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,6 +33,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -32,6 +45,9 @@ class ContactServiceTest {
     @Mock
     private ContactRepository contactRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ContactService contactService;
 
@@ -116,6 +132,46 @@ class ContactServiceTest {
         verify(contactRepository, never()).findBySearchTerm(anyString());
     }
 
+    @Test
+    void getAllContactsPaged_ShouldMapSummariesAndLoadOnlyExistingPictures() {
+        // given
+        ContactSummary withPicture = new ContactSummary(1L, "João Silva", "joao.silva@example.com",
+                "11987654321", LocalDate.of(1990, 1, 1), true);
+        ContactSummary withoutPicture = new ContactSummary(2L, "Maria Souza", "maria.souza@example.com",
+                "11912345678", LocalDate.of(1985, 5, 20), false);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(contactRepository.findAllSummaries(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(withPicture, withoutPicture), pageable, 2));
+        when(contactRepository.findPicturesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new ContactPicture(1L, "img".getBytes(), "image/png")));
+
+        // when
+        PagedResponse<ContactDTO> response = contactService.getAllContactsPaged(0, 10);
+
+        // then
+        assertEquals(2, response.getTotalElements());
+        assertEquals("data:image/png;base64,aW1n", response.getContent().get(0).getProfilePicture());
+        assertNull(response.getContent().get(1).getProfilePicture());
+        assertEquals("1985-05-20", response.getContent().get(1).getDateOfBirth());
+        verify(contactRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void searchContactsPaged_WithoutPictures_ShouldSkipPictureQuery() {
+        // given
+        ContactSummary summary = new ContactSummary(1L, "João Silva", "joao.silva@example.com",
+                "11987654321", LocalDate.of(1990, 1, 1), false);
+        when(contactRepository.findSummariesBySearchTerm(eq("Silva"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 10), 1));
+
+        // when
+        PagedResponse<ContactDTO> response = contactService.searchContactsPaged("Silva", 0, 10);
+
+        // then
+        assertEquals(1, response.getContent().size());
+        verify(contactRepository, never()).findPicturesByIdIn(anyCollection());
+    }
+
     @Test
     void createContact_ShouldCreateContact() throws IOException {
         // given
@@ -175,6 +231,47 @@ class ContactServiceTest {
         verify(contactRepository, never()).save(any(Contact.class));
     }
 
+    @Test
+    void createContact_WithSeveralInvalidFields_ShouldReportAllErrorsWithoutQueryingDatabase() {
+        // given
+        ContactCreateDTO invalidDTO = ContactCreateDTO.builder()
+                .name("joão")
+                .email("")
+                .phone("123")
+                .dateOfBirth("01/01/1990")
+                .build();
+
+        // when
+        ContactValidationException exception = assertThrows(ContactValidationException.class, () ->
+            contactService.createContact(invalidDTO, null)
+        );
+
+        // then
+        assertEquals(List.of("name", "email", "phone", "dateOfBirth"), List.copyOf(exception.getErrors().keySet()));
+        assertEquals("Formato de data inválido. Use o formato YYYY-MM-DD", exception.getErrors().get("dateOfBirth"));
+        assertEquals(0, exception.getStackTrace().length);
+        verifyNoInteractions(contactRepository);
+    }
+
+    @Test
+    void updateContact_WithDuplicateEmailAndPhone_ShouldReportBoth() {
+        // given
+        when(contactRepository.findById(1L)).thenReturn(Optional.of(contact));
+        when(contactRepository.existsByEmailAndIdNot(anyString(), anyLong())).thenReturn(true);
+        when(contactRepository.existsByPhoneAndIdNot(anyString(), anyLong())).thenReturn(true);
+
+        // when
+        ContactValidationException exception = assertThrows(ContactValidationException.class, () ->
+            contactService.updateContact(1L, contactCreateDTO, null)
+        );
+
+        // then
+        assertEquals("Email já está em uso", exception.getErrors().get("email"));
+        assertEquals("Telefone já está em uso", exception.getErrors().get("phone"));
+        assertEquals("Email já está em uso; Telefone já está em uso", exception.getMessage());
+        verify(contactRepository, never()).updateVersioned(any(Contact.class));
+    }
+
     @Test
     void getContactById_ShouldReturnContact() {
         // given
@@ -220,15 +317,7 @@ class ContactServiceTest {
                 .dateOfBirth("1990-01-01")
                 .build();
         
-        Contact updatedContact = Contact.builder()
-                .id(1L)
-                .name("João Carlos Silva")
-                .email("joao.silva@example.com")
-                .phone("11987654321")
-                .dateOfBirth(LocalDate.of(1990, 1, 1))
-                .build();
-        
-        when(contactRepository.save(any(Contact.class))).thenReturn(updatedContact);
+        when(contactRepository.updateVersioned(any(Contact.class))).thenReturn(1);
 
         // when
         ContactDTO result = contactService.updateContact(1L, updateDTO, null);
@@ -237,7 +326,11 @@ class ContactServiceTest {
         assertNotNull(result);
         assertEquals("João Carlos Silva", result.getName());
         verify(contactRepository).findById(1L);
-        verify(contactRepository).save(any(Contact.class));
+        verify(contactRepository).updateVersioned(any(Contact.class));
+        verify(eventPublisher).publishEvent(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 1L,
+                ChangeType.UPDATED, Set.of("name"),
+                new ContactState("João Silva", "joao.silva@example.com", "11987654321", LocalDate.of(1990, 1, 1), null),
+                new ContactState("João Carlos Silva", "joao.silva@example.com", "11987654321", LocalDate.of(1990, 1, 1), null)));
     }
     
     @Test
@@ -251,27 +344,30 @@ class ContactServiceTest {
         );
         
         assertTrue(exception.getMessage().contains("não encontrado com id: 999"));
-        verify(contactRepository, never()).save(any(Contact.class));
+        verify(contactRepository, never()).updateVersioned(any(Contact.class));
     }
     
     @Test
     void deleteContact_ShouldDeleteContact() {
         // given
-        when(contactRepository.existsById(1L)).thenReturn(true);
+        ContactState state = new ContactState("João Silva", "joao.silva@example.com", "11987654321", LocalDate.of(1990, 1, 1), null);
+        when(contactRepository.findStateById(1L)).thenReturn(Optional.of(state));
         doNothing().when(contactRepository).deleteById(1L);
 
         // when
         contactService.deleteContact(1L);
 
         // then
-        verify(contactRepository).existsById(1L);
+        verify(contactRepository).findStateById(1L);
         verify(contactRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(
+                new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 1L, ChangeType.DELETED, Set.of(), state, null));
     }
     
     @Test
     void deleteContact_WithNonExistingId_ShouldThrowException() {
         // given
-        when(contactRepository.existsById(999L)).thenReturn(false);
+        when(contactRepository.findStateById(999L)).thenReturn(Optional.empty());
 
         // when/then
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> 
@@ -0,0 +1,104 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.ContactField;
+import com.aquora.contacts.dto.CursorPagedResponse;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.exception.BadRequestException;
+import com.aquora.contacts.repository.ContactRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:sparse-fields;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN"
+})
+class ContactSparseFieldsTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    private ContactDTO withPicture;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        contactRepository.deleteAll();
+        MockMultipartFile picture = new MockMultipartFile("profilePicture", "a.png", "image/png", new byte[] {1, 2, 3});
+        withPicture = contactService.createContact(dto("Maria Silva", "maria@example.com", "11911111111"), picture);
+        contactService.createContact(dto("Ana Costa", "ana@example.com", "11922222222"), null);
+    }
+
+    @Test
+    void searchContactsPaged_WithNameAndPhone_ShouldLeaveOtherFieldsEmpty() {
+        // when
+        PagedResponse<ContactDTO> page = contactService.searchContactsPaged(null, 0, 10,
+                EnumSet.of(ContactField.NAME, ContactField.PHONE));
+
+        // then
+        assertEquals(2, page.getTotalElements());
+        ContactDTO first = page.getContent().get(0);
+        assertEquals("Maria Silva", first.getName());
+        assertEquals("11911111111", first.getPhone());
+        assertNull(first.getId());
+        assertNull(first.getEmail());
+        assertNull(first.getDateOfBirth());
+        assertNull(first.getProfilePicture());
+    }
+
+    @Test
+    void getContactById_WithPictureField_ShouldLoadOnlyThePicture() {
+        // when
+        ContactDTO contact = contactService.getContactById(withPicture.getId(), EnumSet.of(ContactField.PROFILE_PICTURE));
+
+        // then
+        assertEquals("data:image/png;base64,AQID", contact.getProfilePicture());
+        assertNull(contact.getName());
+    }
+
+    @Test
+    void getContactsByName_WithoutNameField_ShouldStillBuildCursor() {
+        // when
+        CursorPagedResponse<ContactDTO> page = contactService.getContactsByName(null, 1, EnumSet.of(ContactField.EMAIL));
+
+        // then
+        assertEquals("ana@example.com", page.getContent().get(0).getEmail());
+        assertNull(page.getContent().get(0).getName());
+        assertNotNull(page.getNextCursor());
+        CursorPagedResponse<ContactDTO> next = contactService.getContactsByName(page.getNextCursor(), 1,
+                EnumSet.of(ContactField.EMAIL));
+        assertEquals("maria@example.com", next.getContent().get(0).getEmail());
+    }
+
+    @Test
+    void parse_WithUnknownField_ShouldThrowBadRequest() {
+        // when/then
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> ContactField.parse("name,password"));
+        assertTrue(exception.getMessage().contains("'password'"));
+        assertEquals(Set.of(ContactField.ID, ContactField.DATE_OF_BIRTH), ContactField.parse(" id , dateOfBirth "));
+        assertNull(ContactField.parse(""));
+    }
+
+    private ContactCreateDTO dto(String name, String email, String phone) {
+        return ContactCreateDTO.builder()
+                .name(name)
+                .email(email)
+                .phone(phone)
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+}
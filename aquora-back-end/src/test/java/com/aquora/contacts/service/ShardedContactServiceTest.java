@@ -0,0 +1,187 @@
+package com.aquora.contacts.service;
+
+import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.exception.ContactValidationException;
+import com.aquora.contacts.exception.ResourceNotFoundException;
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.shard.ContactShard;
+import com.aquora.contacts.shard.GlobalContactKeys;
+import com.aquora.contacts.shard.ShardedId;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ShardedContactServiceTest {
+
+    private static final int SHARDS = 3;
+
+    private ShardedContactService service;
+    private JdbcTemplate lookupJdbc;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        List<ContactShard> shards = new ArrayList<>();
+        for (int index = 0; index < SHARDS; index++) {
+            ContactShard shard = new ContactShard(index, h2("shard-" + index + "-" + run));
+            shard.initializeSchema();
+            shards.add(shard);
+        }
+        JdbcDataSource lookup = h2("lookup-" + run);
+        lookupJdbc = new JdbcTemplate(lookup);
+        GlobalContactKeys globalKeys = new GlobalContactKeys(lookupJdbc,
+                new TransactionTemplate(new DataSourceTransactionManager(lookup)), Duration.ofMinutes(10));
+        globalKeys.initializeSchema();
+
+        ContactService contactService = new ContactService(mock(ContactRepository.class),
+                mock(ApplicationEventPublisher.class));
+        service = new ShardedContactService(shards, globalKeys, contactService, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void createContact_ShouldSpreadAcrossShardsAndRouteReadsById() throws IOException {
+        // given
+        MockMultipartFile picture = new MockMultipartFile("profilePicture", "a.png", "image/png", new byte[] {1, 2, 3});
+
+        // when
+        List<ContactDTO> created = createMany(12);
+        ContactDTO withPicture = service.createContact(dto("Carla Dias", "carla@example.com", "11999999999"), picture);
+
+        // then
+        Set<Integer> usedShards = new HashSet<>();
+        created.forEach(contact -> usedShards.add(ShardedId.shardOf(contact.getId())));
+        assertEquals(SHARDS, usedShards.size());
+        assertEquals(created.get(5).getEmail(), service.getContactById(created.get(5).getId(), null).getEmail());
+        assertEquals("data:image/png;base64,AQID", service.getContactById(withPicture.getId(), null).getProfilePicture());
+    }
+
+    @Test
+    void searchContactsPaged_ShouldMergeShardsInIdOrder() throws IOException {
+        // given
+        List<Long> ids = createMany(10).stream().map(ContactDTO::getId).sorted().toList();
+
+        // when
+        PagedResponse<ContactDTO> first = service.searchContactsPaged(null, 0, 4, null);
+        PagedResponse<ContactDTO> third = service.searchContactsPaged(null, 2, 4, null);
+
+        // then
+        assertEquals(10, first.getTotalElements());
+        assertEquals(3, first.getTotalPages());
+        assertEquals(ids.subList(0, 4), first.getContent().stream().map(ContactDTO::getId).toList());
+        assertEquals(ids.subList(8, 10), third.getContent().stream().map(ContactDTO::getId).toList());
+        assertTrue(third.isLast());
+        assertEquals(1, service.searchContactsPaged("contato7@", 0, 10, null).getTotalElements());
+    }
+
+    @Test
+    void createContact_WithPhoneFromAnotherShard_ShouldBeRejected() throws IOException {
+        // given
+        ContactDTO existing = service.createContact(dto("Ana Costa", "ana@example.com", "11900000000"), null);
+        String otherShardEmail = emailOutsideShard(ShardedId.shardOf(existing.getId()));
+
+        // when
+        ContactValidationException exception = assertThrows(ContactValidationException.class,
+                () -> service.createContact(dto("Bruno Lima", otherShardEmail, "11900000000"), null));
+
+        // then
+        assertEquals("Telefone já está em uso", exception.getErrors().get("phone"));
+        service.deleteContact(existing.getId());
+        assertNotNull(service.createContact(dto("Bruno Lima", otherShardEmail, "11900000000"), null).getId());
+    }
+
+    @Test
+    void updateContact_ShouldReleasePreviousEmail() throws IOException {
+        // given
+        ContactDTO ana = service.createContact(dto("Ana Costa", "ana@example.com", "11900000000"), null);
+
+        // when
+        service.updateContact(ana.getId(), dto("Ana Costa", "ana.costa@example.com", "11900000000"), null);
+
+        // then
+        assertEquals("ana.costa@example.com", service.getContactById(ana.getId(), null).getEmail());
+        assertNotNull(service.createContact(dto("Bruno Lima", "ana@example.com", "11911111111"), null).getId());
+        assertThrows(ResourceNotFoundException.class, () -> service.getContactById(ana.getId() + SHARDS * 1000L, null));
+    }
+
+    @Test
+    void createContact_WithAbandonedReservation_ShouldTakeItOverOnlyAfterTimeout() throws IOException {
+        // given
+        reserveWithoutOwner(GlobalContactKeys.emailKey("ana@example.com"), Instant.now().minus(Duration.ofHours(1)));
+        reserveWithoutOwner(GlobalContactKeys.phoneKey("11922222222"), Instant.now());
+
+        // when
+        ContactDTO ana = service.createContact(dto("Ana Costa", "ana@example.com", "11900000000"), null);
+        ContactValidationException exception = assertThrows(ContactValidationException.class,
+                () -> service.createContact(dto("Bruno Lima", "bruno@example.com", "11922222222"), null));
+
+        // then
+        assertEquals(ana.getId(), lookupJdbc.queryForObject(
+                "SELECT contact_id FROM contact_unique_keys WHERE unique_key = ?", Long.class,
+                GlobalContactKeys.emailKey("ana@example.com")));
+        assertEquals("Telefone já está em uso", exception.getErrors().get("phone"));
+    }
+
+    private void reserveWithoutOwner(String key, Instant reservedAt) {
+        lookupJdbc.update("INSERT INTO contact_unique_keys (unique_key, contact_id, reserved_at) VALUES (?, NULL, ?)",
+                key, Timestamp.from(reservedAt));
+    }
+
+    private List<ContactDTO> createMany(int count) throws IOException {
+        List<ContactDTO> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            created.add(service.createContact(dto("Contato Numero", "contato" + i + "@example.com",
+                    String.format("119%08d", i)), null));
+        }
+        return created;
+    }
+
+    private String emailOutsideShard(int shard) {
+        for (int i = 0; ; i++) {
+            String email = "outro" + i + "@example.com";
+            if (service.shardFor(email) != shard) {
+                return email;
+            }
+        }
+    }
+
+    private ContactCreateDTO dto(String name, String email, String phone) {
+        return ContactCreateDTO.builder()
+                .name(name)
+                .email(email)
+                .phone(phone)
+                .dateOfBirth("1990-01-01")
+                .build();
+    }
+
+    private JdbcDataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
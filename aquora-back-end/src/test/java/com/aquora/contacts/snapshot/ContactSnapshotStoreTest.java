@@ -0,0 +1,204 @@
+package com.aquora.contacts.snapshot;
+
+import com.aquora.contacts.datasource.ReadYourWritesTracker;
+import com.aquora.contacts.datasource.ReplicaRoutingDataSource;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.PagedResponse;
+import com.aquora.contacts.event.ChangeType;
+import com.aquora.contacts.event.ContactChangedEvent;
+import com.aquora.contacts.event.ContactState;
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.repository.ContactSummary;
+import com.aquora.contacts.service.ContactService;
+import com.aquora.contacts.service.ContactSnapshotFallback;
+import com.aquora.contacts.tenant.TenantContext;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ContactSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ContactSnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:snapshot-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE contacts (id BIGINT PRIMARY KEY, name VARCHAR(100), email VARCHAR(100), " +
+                "phone VARCHAR(20), date_of_birth DATE, profile_picture BLOB, tenant_id VARCHAR(64) DEFAULT 'default')");
+        insert(1, "Maria Souza", "maria@example.com", "11911111111", new byte[]{1});
+        insert(2, "João Silva", "joao@example.com", "11922222222", null);
+        insert(3, "Ana Lima", "ana@example.com", "11933333333", null);
+        jdbcTemplate.update("INSERT INTO contacts (id, name, email, phone, date_of_birth, tenant_id) " +
+                "VALUES (4, 'Carla Dias', 'carla@example.com', '11944444444', DATE '1990-01-01', 'acme')");
+        store = createStore(jdbcTemplate);
+        store.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void findPage_AfterRefresh_ShouldPageInIdOrder() {
+        // when
+        ContactSnapshotStore.SnapshotPage page = store.findPage(null, 1, 2);
+
+        // then
+        assertEquals(3, page.totalElements());
+        assertEquals(List.of(3L), ids(page));
+        assertEquals("Ana Lima", page.rows().get(0).name());
+    }
+
+    @Test
+    void findPage_WithSearchTerm_ShouldMatchNameIgnoringCaseEmailAndPhone() {
+        // when/then
+        assertEquals(List.of(2L), ids(store.findPage("JOÃO", 0, 10)));
+        assertEquals(List.of(3L), ids(store.findPage("ana@", 0, 10)));
+        assertEquals(List.of(1L), ids(store.findPage("9111", 0, 10)));
+        assertEquals(0, store.findPage("inexistente", 0, 10).totalElements());
+    }
+
+    @Test
+    void findById_ShouldUseBinarySearchAndKeepScalarFields() {
+        // when
+        ContactSummary maria = store.findById(1).orElseThrow();
+
+        // then
+        assertEquals("maria@example.com", maria.email());
+        assertEquals(LocalDate.of(1990, 1, 1), maria.dateOfBirth());
+        assertTrue(maria.hasProfilePicture());
+        assertFalse(store.findById(2).orElseThrow().hasProfilePicture());
+        assertTrue(store.findById(4).isEmpty());
+    }
+
+    @Test
+    void onContactChanged_ShouldOverrideSnapshotUntilNextRefresh() {
+        // when
+        store.onContactChanged(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 2L, ChangeType.UPDATED,
+                Set.of("name"), null, state("João Carlos Silva")));
+        store.onContactChanged(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 3L, ChangeType.DELETED,
+                Set.of(), state("Ana Lima"), null));
+        store.onContactChanged(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 5L, ChangeType.CREATED,
+                Set.of("name"), null, state("Bruno Costa")));
+        store.onContactChanged(new ContactChangedEvent("acme", 6L, ChangeType.CREATED,
+                Set.of("name"), null, state("Davi Rocha")));
+
+        // then
+        assertEquals("João Carlos Silva", store.findById(2).orElseThrow().name());
+        assertTrue(store.findById(3).isEmpty());
+        assertEquals(List.of(1L, 2L, 5L), ids(store.findPage(null, 0, 10)));
+        assertEquals(List.of(5L), ids(store.findPage("bruno", 0, 10)));
+    }
+
+    @Test
+    void refresh_WithLaggingReplica_ShouldReadFromPrimaryAndKeepRecentWrites() throws Exception {
+        // given
+        JdbcDataSource replica = new JdbcDataSource();
+        replica.setURL("jdbc:h2:mem:snapshot-replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(replica).execute("CREATE TABLE contacts (id BIGINT PRIMARY KEY, name VARCHAR(100), " +
+                "email VARCHAR(100), phone VARCHAR(20), date_of_birth DATE, profile_picture BLOB, " +
+                "tenant_id VARCHAR(64) DEFAULT 'default')");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(dataSource, List.of(replica),
+                new ReadYourWritesTracker(Duration.ofMinutes(1)), Duration.ofHours(1));
+        store.shutdown();
+        store = createStore(new JdbcTemplate(new LazyConnectionDataSourceProxy(routing)));
+        insert(5, "Bruno Costa", "bruno@example.com", "11955555555", null);
+        store.onContactChanged(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 5L, ChangeType.CREATED,
+                Set.of("name"), null, state("Bruno Costa")));
+
+        // when
+        store.refresh();
+
+        // then
+        assertEquals(4, store.findPage(null, 0, 10).totalElements());
+        assertEquals("Bruno Costa", store.findById(5).orElseThrow().name());
+        routing.close();
+    }
+
+    @Test
+    void start_WithDatabaseDown_ShouldServeSnapshotAndReplayedJournal() {
+        // given
+        store.onContactChanged(new ContactChangedEvent(TenantContext.DEFAULT_TENANT, 5L, ChangeType.CREATED,
+                Set.of("name"), null, state("Bruno Costa")));
+        store.shutdown();
+        JdbcDataSource unavailable = new JdbcDataSource();
+        unavailable.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+
+        // when
+        store = createStore(new JdbcTemplate(unavailable));
+        store.start();
+
+        // then
+        assertTrue(store.isAvailable());
+        assertEquals(4, store.findPage(null, 0, 10).totalElements());
+        assertEquals("Bruno Costa", store.findById(5).orElseThrow().name());
+    }
+
+    @Test
+    void fallback_OnConnectionFailure_ShouldServeSnapshotWithoutPictures() {
+        // given
+        ContactService contactService = new ContactService(mock(ContactRepository.class),
+                mock(ApplicationEventPublisher.class));
+        ContactSnapshotFallback fallback = new ContactSnapshotFallback(store, contactService, Duration.ofMinutes(1));
+
+        // when
+        boolean served = fallback.canServe(new CannotCreateTransactionException("Connection refused"));
+        PagedResponse<ContactDTO> page = fallback.searchContactsPaged("maria", 0, 10, null);
+
+        // then
+        assertTrue(served);
+        assertTrue(fallback.isDatabaseDown());
+        assertFalse(fallback.canServe(new IllegalStateException("erro de negócio")));
+        assertEquals(1, page.getTotalElements());
+        assertEquals("1990-01-01", page.getContent().get(0).getDateOfBirth());
+        assertNull(page.getContent().get(0).getProfilePicture());
+    }
+
+    private ContactSnapshotStore createStore(JdbcTemplate template) {
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setPath(directory.resolve("contacts.snapshot").toString());
+        properties.setRefreshInterval(Duration.ofHours(1));
+        return new ContactSnapshotStore(template, new DataSourceTransactionManager(template.getDataSource()),
+                properties);
+    }
+
+    private void insert(long id, String name, String email, String phone, byte[] picture) {
+        jdbcTemplate.update("INSERT INTO contacts (id, name, email, phone, date_of_birth, profile_picture) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                id, name, email, phone, LocalDate.of(1990, 1, 1), picture);
+    }
+
+    private ContactState state(String name) {
+        return new ContactState(name, name.toLowerCase().replace(' ', '.') + "@example.com", "11900000000",
+                LocalDate.of(1990, 1, 1), null);
+    }
+
+    private List<Long> ids(ContactSnapshotStore.SnapshotPage page) {
+        return page.rows().stream().map(ContactSummary::id).toList();
+    }
+}
@@ -0,0 +1,177 @@
+package com.aquora.contacts.stats;
+
+import com.aquora.contacts.datasource.ReadYourWritesTracker;
+import com.aquora.contacts.datasource.ReplicaRoutingDataSource;
+import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.dto.ContactStatsDTO;
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.service.ContactService;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stats;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "aquora.stats.remote-reconcile-delay=100ms"
+})
+class ContactStatisticsTest {
+
+    @Autowired
+    private ContactStatistics statistics;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        contactRepository.deleteAll();
+        statistics.reconcile();
+    }
+
+    @Test
+    void snapshot_ShouldFollowCreateUpdateAndDelete() throws IOException {
+        // given
+        ContactDTO ana = create("Ana Costa", "ana@gmail.com", LocalDate.now().minusYears(30), new byte[100]);
+        create("Bruno Lima", "bruno@empresa.com.br", LocalDate.now().minusYears(10), null);
+        ContactDTO carla = create("Carla Dias", "carla@gmail.com", LocalDate.now().minusYears(70), new byte[50]);
+
+        // when
+        contactService.updateContact(ana.getId(), dto("Ana Costa", "ana@Empresa.com.br", ana.getPhone(),
+                LocalDate.now().minusYears(40)), null);
+        contactService.deleteContact(carla.getId());
+
+        // then
+        ContactStatsDTO stats = statistics.snapshot();
+        assertEquals(2, stats.getTotalContacts());
+        assertEquals(1, stats.getContactsWithPicture());
+        assertEquals(0.5, stats.getPictureShare());
+        assertEquals(100, stats.getTotalPictureBytes());
+        assertEquals(Map.of("empresa.com.br", 2L), stats.getEmailDomains());
+        assertEquals(1L, stats.getAgeDistribution().get("0-17"));
+        assertEquals(1L, stats.getAgeDistribution().get("35-44"));
+        assertEquals(0L, stats.getAgeDistribution().get("65+"));
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDriftFromWritesOutsideTheService() throws IOException {
+        // given
+        create("Ana Costa", "ana@gmail.com", LocalDate.of(1990, 1, 1), new byte[10]);
+        jdbcTemplate.update("INSERT INTO contacts (name, email, phone, date_of_birth, profile_picture_size) " +
+                "VALUES ('Bruno Lima', 'bruno@gmail.com', '11900000000', DATE '1990-01-01', 30)");
+        assertEquals(1, statistics.snapshot().getTotalContacts());
+
+        // when
+        statistics.reconcile();
+
+        // then
+        ContactStatsDTO stats = statistics.snapshot();
+        assertEquals(2, stats.getTotalContacts());
+        assertEquals(2, stats.getContactsWithPicture());
+        assertEquals(40, stats.getTotalPictureBytes());
+        assertEquals(Map.of("gmail.com", 2L), stats.getEmailDomains());
+        assertNotNull(stats.getReconciledAt());
+    }
+
+    @Test
+    void reconcile_WithLaggingReplica_ShouldReadFromPrimary() throws IOException {
+        // given
+        create("Ana Costa", "ana@gmail.com", LocalDate.of(1990, 1, 1), null);
+        JdbcDataSource replica = new JdbcDataSource();
+        replica.setURL("jdbc:h2:mem:stats-replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(replica).execute("CREATE TABLE contacts (tenant_id VARCHAR(64), email VARCHAR(100), " +
+                "date_of_birth DATE, profile_picture_size BIGINT)");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(dataSource, List.of(replica),
+                new ReadYourWritesTracker(Duration.ofMinutes(1)), Duration.ofHours(1));
+        LazyConnectionDataSourceProxy routed = new LazyConnectionDataSourceProxy(routing);
+        ContactStatistics lagging = new ContactStatistics(new JdbcTemplate(routed),
+                new DataSourceTransactionManager(routed), new StatsProperties());
+
+        // when
+        lagging.reconcile();
+
+        // then
+        assertEquals(1, lagging.snapshot().getTotalContacts());
+        lagging.shutdown();
+    }
+
+    @Test
+    void invalidate_ShouldReconcileWritesFromAnotherInstance() throws Exception {
+        // given
+        create("Ana Costa", "ana@gmail.com", LocalDate.of(1990, 1, 1), null);
+        jdbcTemplate.update("INSERT INTO contacts (name, email, phone, date_of_birth) " +
+                "VALUES ('Bruno Lima', 'bruno@gmail.com', '11900000000', DATE '1990-01-01')");
+
+        // when
+        statistics.invalidate(List.of(2L));
+
+        // then
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (statistics.snapshot().getTotalContacts() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(2, statistics.snapshot().getTotalContacts());
+    }
+
+    @Test
+    void snapshot_WithMoreDomainsThanLimit_ShouldGroupTheRest() throws IOException {
+        // given
+        for (int i = 0; i < 22; i++) {
+            create("Pessoa Teste", "pessoa" + i + "@dominio" + i + ".com", LocalDate.of(1990, 1, 1), null);
+        }
+        create("Ana Costa", "ana@dominio0.com", LocalDate.of(1990, 1, 1), null);
+
+        // when
+        ContactStatsDTO stats = statistics.snapshot();
+
+        // then
+        assertEquals(20, stats.getEmailDomains().size());
+        assertEquals(2L, stats.getEmailDomains().values().iterator().next());
+        assertEquals(2, stats.getOtherDomains());
+    }
+
+    private ContactDTO create(String name, String email, LocalDate dateOfBirth, byte[] picture) throws IOException {
+        sequence++;
+        MockMultipartFile file = picture == null ? null
+                : new MockMultipartFile("profilePicture", "foto.png", "image/png", picture);
+        return contactService.createContact(dto(name, email, String.format("119%08d", sequence), dateOfBirth), file);
+    }
+
+    private ContactCreateDTO dto(String name, String email, String phone, LocalDate dateOfBirth) {
+        return ContactCreateDTO.builder()
+                .name(name)
+                .email(email)
+                .phone(phone)
+                .dateOfBirth(dateOfBirth.toString())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.aquora.contacts.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantFilterTest {
+
+    private final TenantFilter filter = new TenantFilter(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void doFilter_ShouldExposeHeaderTenantOnlyDuringTheRequest() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/contacts");
+        request.addHeader(TenantFilter.TENANT_HEADER, "acme");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> seen = new ArrayList<>();
+
+        // when
+        filter.doFilter(request, response, (req, res) -> seen.add(TenantContext.currentTenantId()));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/contacts"), new MockHttpServletResponse(),
+                (req, res) -> seen.add(TenantContext.currentTenantId()));
+
+        // then
+        assertEquals(List.of("acme", TenantContext.DEFAULT_TENANT), seen);
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.currentTenantId());
+        assertEquals(TenantFilter.TENANT_HEADER, response.getHeader("Vary"));
+    }
+
+    @Test
+    void doFilter_WithInvalidTenant_ShouldRejectWithBadRequest() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/contacts");
+        request.addHeader(TenantFilter.TENANT_HEADER, "acme/../globex");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, (req, res) -> fail("A requisição não deveria seguir"));
+
+        // then
+        assertEquals(400, response.getStatus());
+        assertTrue(response.getContentAsString().contains(TenantFilter.TENANT_HEADER));
+    }
+}
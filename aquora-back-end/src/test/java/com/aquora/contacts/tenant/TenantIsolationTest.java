@@ -0,0 +1,143 @@
+package com.aquora.contacts.tenant;
+
+import com.aquora.contacts.dto.ContactCreateDTO;
+import com.aquora.contacts.dto.ContactDTO;
+import com.aquora.contacts.exception.ContactValidationException;
+import com.aquora.contacts.exception.ResourceNotFoundException;
+import com.aquora.contacts.repository.ContactRepository;
+import com.aquora.contacts.service.ContactService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:tenants;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.aquora.contacts.tenant.TenantIsolationTest$RecordingStatementInspector"
+})
+class TenantIsolationTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @BeforeEach
+    void setUp() {
+        List.of(TenantContext.DEFAULT_TENANT, "acme", "globex").forEach(tenant ->
+                TenantContext.callAs(tenant, () -> {
+                    contactRepository.deleteAllInBatch();
+                    return null;
+                }));
+    }
+
+    @Test
+    void createContact_WithSameEmailAndPhoneInAnotherTenant_ShouldBeUniqueOnlyPerTenant() {
+        // given
+        create("acme", "Maria Souza");
+
+        // when
+        ContactDTO other = create("globex", "Maria Souza");
+
+        // then
+        assertNotNull(other.getId());
+        assertThrows(ContactValidationException.class, () -> create("acme", "Maria Lima"));
+    }
+
+    @Test
+    void reads_ShouldOnlySeeContactsOfCurrentTenant() {
+        // given
+        ContactDTO acme = create("acme", "Maria Souza");
+        create("globex", "João Silva");
+
+        // when/then
+        assertEquals(1, TenantContext.callAs("acme",
+                () -> contactService.searchContactsPaged("", 0, 10).getTotalElements()));
+        assertEquals(0, TenantContext.callAs("globex",
+                () -> contactService.searchContacts("souza")).size());
+        assertEquals(0, TenantContext.callAs(TenantContext.DEFAULT_TENANT,
+                () -> contactService.getAllContactsPaged(0, 10).getTotalElements()));
+        assertThrows(ResourceNotFoundException.class, () -> TenantContext.callAs("globex",
+                () -> contactService.getContactById(acme.getId())));
+        assertThrows(ResourceNotFoundException.class, () -> TenantContext.callAs("globex", () -> {
+            contactService.deleteContact(acme.getId());
+            return null;
+        }));
+        assertEquals("Maria Souza", TenantContext.callAs("acme",
+                () -> contactService.getContactById(acme.getId())).getName());
+    }
+
+    @Test
+    void writes_ShouldFilterUpdatesAndDeletesByTenant() throws IOException {
+        // given
+        ContactDTO first = create("acme", "Maria Souza");
+        ContactDTO second = TenantContext.callAs("acme", () -> createUnchecked(ContactCreateDTO.builder()
+                .name("João Silva").email("joao@example.com").phone("11912345678").dateOfBirth("1990-01-01").build()));
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        // when
+        TenantContext.callAs("acme", () -> {
+            try {
+                contactService.updateContact(first.getId(), ContactCreateDTO.builder()
+                        .name("Maria Lima").email("maria@example.com").phone("11987654321")
+                        .dateOfBirth("1990-01-01").build(), null, first.getVersion());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            contactService.deleteContact(first.getId(), first.getVersion() + 1);
+            contactService.deleteContact(second.getId());
+            return null;
+        });
+
+        // then
+        List<String> writes = RecordingStatementInspector.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("update contacts") || sql.startsWith("delete from contacts"))
+                .toList();
+        assertEquals(3, writes.size());
+        writes.forEach(sql -> assertTrue(sql.contains("tenant_id"), sql));
+    }
+
+    private ContactDTO create(String tenant, String name) {
+        ContactCreateDTO dto = ContactCreateDTO.builder()
+                .name(name)
+                .email("maria@example.com")
+                .phone("11987654321")
+                .dateOfBirth("1990-01-01")
+                .build();
+        return TenantContext.callAs(tenant, () -> createUnchecked(dto));
+    }
+
+    private ContactDTO createUnchecked(ContactCreateDTO dto) {
+        try {
+            return contactService.createContact(dto, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Guarda o SQL gerado pelo Hibernate, para conferir o WHERE dos UPDATEs e DELETEs
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
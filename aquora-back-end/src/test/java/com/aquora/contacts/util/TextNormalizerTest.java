@@ -0,0 +1,39 @@
+package com.aquora.contacts.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextNormalizerTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "Ângela  Souza, angela souza",
+        "João da Silva, joao da silva",
+        "Érica Conceição, erica conceicao",
+        "'  Zélia Öz ', zelia oz"
+    })
+    void sortKey_ShouldFoldAccentsCaseAndSpaces(String name, String expected) {
+        // when
+        String result = TextNormalizer.sortKey(name);
+
+        // then
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "angela souza, A",
+        "zelia oz, Z",
+        "1 contato, #",
+        "'', #"
+    })
+    void initialOf_ShouldReturnUppercaseLetterOrHash(String sortKey, char expected) {
+        // when
+        char result = TextNormalizer.initialOf(sortKey);
+
+        // then
+        assertEquals(expected, result);
+    }
+}
@@ -0,0 +1,52 @@
+package com.aquora.contacts.warmup;
+
+import com.aquora.contacts.repository.ContactRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate=WARN",
+        "aquora.warmup.enabled=true",
+        "aquora.warmup.iterations=5"
+})
+class ContactWarmupTest {
+
+    @Autowired
+    private ContactWarmup warmup;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Test
+    void run_AfterStartup_ShouldAcceptTrafficOnlyWhenFinishedAndLeaveNoData() throws InterruptedException {
+        // given
+        ReadinessState duringWarmup = availability.getReadinessState();
+        assertNull(warmup.report());
+
+        // when
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // then
+        ContactWarmup.WarmupReport report = warmup.report();
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, duringWarmup);
+        assertNotNull(report);
+        assertEquals(5, report.iterations());
+        assertEquals(0, report.failedIterations());
+        assertTrue(report.firstIterationNanos() > 0);
+        assertEquals(0, contactRepository.count());
+    }
+}
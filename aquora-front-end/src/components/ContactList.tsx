@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import ContactCard from './ContactCard';
 import ContactModal from './ContactModal';
 import NotificationModal, { ModalType } from './NotificationModal';
@@ -6,8 +6,8 @@ import SearchBar from './SearchBar';
 import ContactListHeader from './ContactListHeader';
 import { LoadingState, ErrorState, EmptyState } from './ContactListStates';
 import Pagination from './Pagination';
-import { Contact, PagedResponse } from '../types';
-import { fetchContacts, createContact, updateContact, deleteContact } from '../services/api';
+import { Contact, ContactChange, PagedResponse } from '../types';
+import { fetchContacts, getContact, createContact, updateContact, deleteContact, subscribeToContactChanges } from '../services/api';
 
 const ContactList: React.FC = () => {
   const [contactsResponse, setContactsResponse] = useState<PagedResponse<Contact>>({
@@ -47,6 +47,48 @@ const ContactList: React.FC = () => {
     loadContacts();
   }, [currentPage]);
 
+  // Handlers mais recentes em uma ref: a assinatura do feed é aberta uma única vez
+  const feedHandlersRef = useRef<{ onChange: (change: ContactChange) => void; onReset: () => void }>({
+    onChange: () => {},
+    onReset: () => {}
+  });
+
+  useEffect(() => {
+    return subscribeToContactChanges(
+      (change) => feedHandlersRef.current.onChange(change),
+      () => feedHandlersRef.current.onReset()
+    );
+  }, []);
+
+  feedHandlersRef.current = {
+    onChange: (change: ContactChange) => {
+      // Atualizações recarregam só o contato, e apenas se ele estiver na página atual
+      if (change.operation === 'UPDATED') {
+        if (contactsResponse.content.some((contact) => contact.id === change.id)) {
+          refreshContact(change.id);
+        }
+        return;
+      }
+      loadContacts();
+    },
+    onReset: () => loadContacts()
+  };
+
+  const refreshContact = async (id: number) => {
+    try {
+      replaceContact(await getContact(id));
+    } catch {
+      loadContacts();
+    }
+  };
+
+  const replaceContact = (updated: Contact) => {
+    setContactsResponse((current) => ({
+      ...current,
+      content: current.content.map((contact) => (contact.id === updated.id ? updated : contact))
+    }));
+  };
+
   useEffect(() => {
     if (currentPage !== 0) {
       setCurrentPage(0);
@@ -201,7 +243,7 @@ const ContactList: React.FC = () => {
     const { id, formData } = notificationModal.contactToUpdate;
     
     try {
-      await updateContact(id, formData);
+      const updatedContact = await updateContact(id, formData);
       
       setIsModalOpen(false);
       
@@ -211,7 +253,7 @@ const ContactList: React.FC = () => {
         message: 'O contato foi atualizado com sucesso.'
       });
       
-      loadContacts();
+      replaceContact(updatedContact);
       
     } catch (err) {
       setNotificationModal({
@@ -1,4 +1,4 @@
-import { Contact, PagedResponse } from '../types';
+import { Contact, ContactChange, ContactChangeOperation, PagedResponse } from '../types';
 
 // Serviço de API para gerenciamento de contatos
 const API_URL = import.meta.env.VITE_API_URL || 'http://localhost:8080/api';
@@ -111,4 +111,22 @@ export const deleteContact = async (id: number): Promise<void> => {
   } catch (e) {
     throw new Error(e instanceof Error ? e.message : 'Falha ao excluir contato');
   }
+};
+
+// Feed SSE de alterações: o EventSource reconecta sozinho enviando o Last-Event-ID
+export const subscribeToContactChanges = (
+  onChange: (change: ContactChange) => void,
+  onReset: () => void
+): (() => void) => {
+  const source = new EventSource(`${API_URL}/contacts/changes`);
+  const operations: ContactChangeOperation[] = ['CREATED', 'UPDATED', 'DELETED'];
+
+  operations.forEach((operation) => {
+    source.addEventListener(operation, (event) => {
+      onChange(JSON.parse((event as MessageEvent).data));
+    });
+  });
+  source.addEventListener('reset', onReset);
+
+  return () => source.close();
 };
\ No newline at end of file
@@ -22,4 +22,13 @@ export interface PagedResponse<T> {
   totalElements: number;
   totalPages: number;
   last: boolean;
-}
\ No newline at end of file
+}
+
+export type ContactChangeOperation = 'CREATED' | 'UPDATED' | 'DELETED';
+
+export interface ContactChange {
+  version: number;
+  id: number;
+  operation: ContactChangeOperation;
+  changedFields: string[];
+}